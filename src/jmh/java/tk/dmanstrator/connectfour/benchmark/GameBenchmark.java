@@ -0,0 +1,127 @@
+package tk.dmanstrator.connectfour.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tk.dmanstrator.connectfour.Connect4;
+import tk.dmanstrator.connectfour.DefaultConnect4;
+import tk.dmanstrator.connectfour.MoveStatus;
+import tk.dmanstrator.connectfour.board.BitBoard;
+import tk.dmanstrator.connectfour.board.Board;
+
+/**
+ * Benchmarks for the core game loop of a {@link DefaultConnect4} game.
+ * @author DManstrator
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+
+    /**
+     * Moves of a game which ends in a draw with a completely filled field.
+     */
+    static final String DRAW_MOVES = "326457326432225776652647731137115443551461";
+
+    private static final int GAMES = 1024;
+
+    private int[][] randomGames;
+    private int nextGame;
+
+    private Connect4 drawnGame;
+    private Board drawnBoard;
+
+    /**
+     * Creates random games and a completely filled field without a winner.
+     */
+    @Setup
+    public void setup()  {
+        final Random random = new Random(42);
+        randomGames = new int[GAMES][];
+        for (int g = 0; g < GAMES; g++)  {
+            final DefaultConnect4 game = new DefaultConnect4("Player1", "Player2");
+            final int[] moves = new int[BitBoard.WIDTH * BitBoard.HEIGHT];
+            int size = 0;
+            while (!game.isGameOver())  {
+                final int column = random.nextInt(BitBoard.WIDTH) + 1;
+                if (game.play(column).isValid())  {
+                    moves[size++] = column;
+                }
+            }
+            randomGames[g] = Arrays.copyOf(moves, size);
+        }
+
+        drawnGame = new DefaultConnect4("Player1", "Player2");
+        for (final char move : DRAW_MOVES.toCharArray())  {
+            drawnGame.play(move - '0');
+        }
+        drawnBoard = drawnGame.getBoard();
+    }
+
+    /**
+     * Plays a whole random game through {@link DefaultConnect4#play(int)}.
+     * @return The finished game
+     */
+    @Benchmark
+    public Connect4 playRandomGame()  {
+        final int[] moves = randomGames[nextGame];
+        nextGame = (nextGame + 1) % GAMES;
+        final DefaultConnect4 game = new DefaultConnect4("Player1", "Player2");
+        for (final int move : moves)  {
+            game.play(move);
+        }
+        return game;
+    }
+
+    /**
+     * Plays a whole random game through {@link DefaultConnect4#playFast(int)}.
+     * @return The status of the last move
+     */
+    @Benchmark
+    public int playRandomGameFast()  {
+        final int[] moves = randomGames[nextGame];
+        nextGame = (nextGame + 1) % GAMES;
+        final DefaultConnect4 game = new DefaultConnect4("Player1", "Player2");
+        int status = MoveStatus.OK;
+        for (final int move : moves)  {
+            status = game.playFast(move);
+        }
+        return status;
+    }
+
+    /**
+     * Checks for a winner on a full field without one, which is the worst case
+     * since every direction has to be checked for both players.
+     * @return {@code true} if a player has won
+     */
+    @Benchmark
+    public boolean checkGameOverWorstCase()  {
+        return drawnBoard.hasWon(0) | drawnBoard.hasWon(1);
+    }
+
+    /**
+     * Renders a full field with column and row numbers.
+     * @return The rendered field
+     */
+    @Benchmark
+    public String getCurrentField()  {
+        return drawnGame.getCurrentField(true);
+    }
+
+}
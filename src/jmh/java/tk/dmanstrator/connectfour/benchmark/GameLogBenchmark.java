@@ -0,0 +1,96 @@
+package tk.dmanstrator.connectfour.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tk.dmanstrator.connectfour.log.GameLog;
+import tk.dmanstrator.connectfour.log.GameLogEntry;
+import tk.dmanstrator.connectfour.log.GameLogEntry.RoundTitle;
+
+/**
+ * Benchmarks for the {@link GameLog} with long logs.
+ * The time per entry of adding and looking up entries should stay the same for all sizes.
+ * @author DManstrator
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameLogBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    private GameLogEntry[] entries;
+    private GameLog filledLog;
+
+    /**
+     * Creates the entries and a filled log. Every tenth entry is an invalid one.
+     */
+    @Setup
+    public void setup()  {
+        entries = new GameLogEntry[size];
+        for (int i = 0; i < size; i++)  {
+            entries[i] = i % 10 == 9
+                    ? new GameLogEntry("Chosen position (8, 6) is not in range!", -1, 1, false, RoundTitle.INVALID)
+                    : new GameLogEntry("Position (1, 6) belongs now to player Player1", i + 1, 1, true, RoundTitle.DEFAULT);
+        }
+        filledLog = new GameLog();
+        for (final GameLogEntry entry : entries)  {
+            filledLog.addEntry(entry);
+        }
+    }
+
+    /**
+     * Adds all entries to a new log.
+     * @return The filled log
+     */
+    @Benchmark
+    public GameLog addEntries()  {
+        final GameLog log = new GameLog();
+        for (final GameLogEntry entry : entries)  {
+            log.addEntry(entry);
+        }
+        return log;
+    }
+
+    /**
+     * Looks up every round of a filled log.
+     * @return The amount of found entries
+     */
+    @Benchmark
+    public int getEntryFromRound()  {
+        int found = 0;
+        for (int round = 1; round <= size; round++)  {
+            if (filledLog.getEntryFromRound(round).isPresent())  {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Collects all valid entries of a filled log.
+     * @return The valid entries
+     */
+    @Benchmark
+    public List<GameLogEntry> getValidEntries()  {
+        return filledLog.getValidEntries();
+    }
+
+}
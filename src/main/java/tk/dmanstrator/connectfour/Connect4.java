@@ -1,13 +1,20 @@
 package tk.dmanstrator.connectfour;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 
+import tk.dmanstrator.connectfour.board.BitBoard;
+import tk.dmanstrator.connectfour.board.Board;
+import tk.dmanstrator.connectfour.board.BoardLayout;
+import tk.dmanstrator.connectfour.eval.PositionEvaluator;
+import tk.dmanstrator.connectfour.event.MoveEvent;
+import tk.dmanstrator.connectfour.event.MoveListener;
 import tk.dmanstrator.connectfour.log.GameLog;
-import tk.dmanstrator.connectfour.log.GameLogEntry;
 import tk.dmanstrator.connectfour.log.GameLogEntry.RoundTitle;
-import tk.dmanstrator.connectfour.log.GameLogEntryBuilder;
+import tk.dmanstrator.connectfour.log.MessageTemplate;
+import tk.dmanstrator.connectfour.metrics.GameMetrics;
+import tk.dmanstrator.connectfour.render.FieldRenderer;
+import tk.dmanstrator.connectfour.render.RenderFormat;
 
 /**
  * Main class containing the logic for the Connect4 game.
@@ -16,60 +23,121 @@ import tk.dmanstrator.connectfour.log.GameLogEntryBuilder;
  */
 public abstract class Connect4 {
 
-    protected static final int WIDTH = 7;
-    protected static final int HEIGHT = 6;
-    protected static final int MIN_ROUNDS = 6;
-    protected static final int MAX_ROUNDS = WIDTH * HEIGHT;
-
-    protected static final int WIN_AMOUNT = 4;
-
-    protected static final int[][] ROW_INDICES = {{-3, 0}, {-2, 0}, {-1, 0},
-                                                  { 0, 0},
-                                                  { 1, 0}, { 2, 0}, { 3, 0}};
-
-    protected static final int[][] COL_INDICES = {{0, -3}, {0, -2}, {0, -1},
-                                                  {0,  0},
-                                                  {0,  1}, {0,  2}, {0,  3}};
-
-    protected static final int[][] DIA1_INDICES = {{-3, -3}, {-2, -2}, {-1, -1},
-                                                   { 0,  0},
-                                                   { 1,  1}, { 2,  2}, { 3,  3}};
-
-    protected static final int[][] DIA2_INDICES = {{-3,  3}, {-2,  2}, {-1,  1},
-                                                   { 0,  0},
-                                                   { 1, -1}, { 2, -2}, { 3, -3}};
-
-    protected static final int[][][] ALL_MATRICES = {ROW_INDICES, COL_INDICES,
-                                                     DIA1_INDICES, DIA2_INDICES};
+    protected static final int WIDTH = BitBoard.WIDTH;  // default values
+    protected static final int HEIGHT = BitBoard.HEIGHT;
+    protected static final int WIN_AMOUNT = BitBoard.WIN_AMOUNT;
 
     protected static final char EMPTY_CHAR = ' ';
     protected static final char PLAYER_ONE_COLOR = 'r';
     protected static final char PLAYER_TWO_COLOR = 'y';
 
-    protected final char[][] field = createNewField();
+    protected final BoardLayout layout;
+    protected final Board board;
+    protected final int width;
+    protected final int height;
+    protected final int minRounds;
+    protected final int maxRounds;
 
     private final String firstPlayerName;
     private final String secondPlayerName;
-    private final GameLog gameLog = new GameLog();
-    private final Map<Integer, Integer> entriesPerColumn = new HashMap<>();
+    private final GameLog gameLog;
+    private static final int LOGGED_FLAG = 1 << 31;  // marks rounds which were logged in the move history
+
+    private final int[] columnHeights;
+    private int[] moveHistory;  // cell index x * height + row of every valid round
+    private int[] logSizes;  // size of the game log before every valid round
+    private int sharedHistory = 0;  // rounds of both arrays still used by forks, copied before being overwritten
 
-    private String currentPlayerName;
+    private int currentPlayer = 0;
     private int playedRounds = 0;
+    private int historySize = 0;  // valid rounds including the undone ones which can be redone
     private boolean draw = false;
     private boolean gameOver = false;
+    private PositionEvaluator evaluator;  // only created and updated once it was requested
+    private FieldRenderer[] renderers;  // same as above
+    private MoveListener moveListener;
+    private GameMetrics metrics = GameMetrics.noOp();
 
     /**
-     * Constructor for creating a Connect4 game with two players.
+     * Constructor for creating a Connect4 game with two players on the default field.
      * 
      * @param firstPlayerName Name of the first player
      * @param secondPlayerName Name of the second player
      */
     public Connect4(final String firstPlayerName, final String secondPlayerName)  {
+        this(firstPlayerName, secondPlayerName, BoardLayout.DEFAULT);
+    }
+
+    /**
+     * Constructor for creating a Connect4 game with two players on a field with the given layout.
+     * 
+     * @param firstPlayerName Name of the first player
+     * @param secondPlayerName Name of the second player
+     * @param layout Layout of the field
+     * @see BoardLayout#of(int, int, int)
+     */
+    public Connect4(final String firstPlayerName, final String secondPlayerName, final BoardLayout layout)  {
+        this.layout = layout;
+        this.board = Board.create(layout);
+        this.width = layout.getWidth();
+        this.height = layout.getHeight();
+        this.minRounds = 2 * (layout.getWinAmount() - 1);  // a win needs at least one more round
+        this.maxRounds = layout.getSize();
+        this.columnHeights = new int[width];
+        this.moveHistory = new int[maxRounds];
+        this.logSizes = new int[maxRounds];
+        this.gameLog = new GameLog();
+
         this.firstPlayerName = firstPlayerName;
         this.secondPlayerName = secondPlayerName;
-        this.currentPlayerName = firstPlayerName;
     }
 
+    /**
+     * Constructor for a fork of another game, see {@link Connect4#fork()}.
+     * Has to be called by the thread using the other game.
+     * 
+     * @param other Game to fork
+     */
+    protected Connect4(final Connect4 other)  {
+        this.layout = other.layout;
+        this.board = other.board.copy();
+        this.width = other.width;
+        this.height = other.height;
+        this.minRounds = other.minRounds;
+        this.maxRounds = other.maxRounds;
+        this.columnHeights = other.columnHeights.clone();
+        this.moveHistory = other.moveHistory;
+        this.logSizes = other.logSizes;
+        this.sharedHistory = Integer.MAX_VALUE;  // the other game keeps writing to both arrays
+        other.sharedHistory = Math.max(other.sharedHistory, other.historySize);
+        this.gameLog = other.gameLog.fork();
+
+        this.firstPlayerName = other.firstPlayerName;
+        this.secondPlayerName = other.secondPlayerName;
+        this.currentPlayer = other.currentPlayer;
+        this.playedRounds = other.playedRounds;
+        this.historySize = other.historySize;
+        this.draw = other.draw;
+        this.gameOver = other.gameOver;
+    }
+
+    /**
+     * Creates an independent game at the current state, e.g. for trying out rounds without changing this game.<br><br>
+     * 
+     * The fork copies the field and the column heights and shares the rounds and the {@link GameLog}
+     * with this game. Forking a game on the default field allocates about 250 bytes, independent of the
+     * amount of played rounds. The fork copies the shared rounds on its first round (about 400 bytes more)
+     * and the log entries once it is logged to, while this game keeps its storage and only copies it
+     * if it overwrites rounds the fork still uses. Rounds taken back can be redone in the fork as well.
+     * The fork has no move listener, records no metrics and creates its own evaluation and renderings.<br><br>
+     * 
+     * This game and the fork can be used from different threads, but each of them must only be used
+     * by a single thread at a time and the fork has to be created by the thread using this game.
+     * 
+     * @return The fork of this game
+     */
+    public abstract Connect4 fork();
+
     /**
      * Returns the name of the first player.
      * @return The name of the first player
@@ -91,7 +159,39 @@ public abstract class Connect4 {
      * @return The name of the current player
      */
     public String getCurrentPlayerName() {
-        return currentPlayerName;
+        return getPlayerName(currentPlayer);
+    }
+
+    /**
+     * Returns the layout of the field.
+     * @return The layout of the field
+     */
+    public BoardLayout getLayout()  {
+        return layout;
+    }
+
+    /**
+     * Returns the amount of columns of the field.
+     * @return The amount of columns of the field
+     */
+    public int getWidth()  {
+        return width;
+    }
+
+    /**
+     * Returns the amount of rows of the field.
+     * @return The amount of rows of the field
+     */
+    public int getHeight()  {
+        return height;
+    }
+
+    /**
+     * Returns the amount of pieces in a row needed to win.
+     * @return The amount of pieces in a row needed to win
+     */
+    public int getWinAmount()  {
+        return layout.getWinAmount();
     }
 
     /**
@@ -102,6 +202,31 @@ public abstract class Connect4 {
         return playedRounds;
     }
 
+    /**
+     * Returns the column of a valid round.
+     * 
+     * @param round Index of the valid round, starting with {@code 0}
+     * @return The column of the round, starting with {@code 1} on the left
+     * @throws IndexOutOfBoundsException if the round was not played yet
+     */
+    public int getColumnOfRound(final int round)  {
+        if (round < 0 || round >= playedRounds)  {
+            throw new IndexOutOfBoundsException("Round " + round + " was not played yet!");
+        }
+        return getMoveCell(round) / height + 1;
+    }
+
+    /**
+     * Returns the position of a valid round as a cell index {@code x * height + row},
+     * with the row counted from the bottom.
+     * 
+     * @param round Index of the valid round, starting with {@code 0}
+     * @return The cell index of the round
+     */
+    int getMoveCell(final int round)  {
+        return moveHistory[round] & ~LOGGED_FLAG;
+    }
+
     /**
      * Tells if the game has ended and if nobody won.
      * @return {@code true} if the game ended in a draw, else {@code false}
@@ -118,6 +243,85 @@ public abstract class Connect4 {
         return gameOver;
     }
 
+    /**
+     * Returns a copy of the {@link Board} of this game.
+     * It is a {@link BitBoard} if the field {@link BoardLayout#fitsInLong() fits into a long}.
+     * Changes to the copy don't affect the game.
+     * @return A copy of the Board of this game
+     */
+    public Board getBoard()  {
+        return board.copy();
+    }
+
+    /**
+     * Returns the 64 bit Zobrist hash of the current position.
+     * The hash is updated incrementally with every valid round.
+     * @return The hash of the current position
+     * @see tk.dmanstrator.connectfour.board.Zobrist
+     */
+    public long getPositionHash()  {
+        return board.getHash();
+    }
+
+    /**
+     * Returns the canonical hash of the current position, which is the same for the position
+     * and its left-right mirror. It is updated incrementally with every valid round as well.
+     * @return The canonical hash of the current position
+     * @see Connect4#isPositionMirrored()
+     */
+    public long getCanonicalHash()  {
+        return board.getCanonicalHash();
+    }
+
+    /**
+     * Tells if the canonical hash belongs to the mirrored position.
+     * Columns stored for the canonical hash have to be mirrored in this case, {@code 1} becomes the width.
+     * @return {@code true} if the canonical hash is the hash of the mirrored position, else {@code false}
+     * @see Connect4#getCanonicalHash()
+     */
+    public boolean isPositionMirrored()  {
+        return board.isMirrored();
+    }
+
+    /**
+     * Returns the incremental evaluation of the current position.
+     * It is created from the current position with the first call
+     * and is updated with every valid round, undo and reset afterwards.
+     * @return The evaluation of the current position, the first player has the index {@code 0}
+     */
+    public PositionEvaluator getEvaluator()  {
+        if (evaluator == null)  {
+            final PositionEvaluator created = new PositionEvaluator(layout);
+            for (int round = 0; round < playedRounds; round++)  {
+                final int cell = getMoveCell(round);
+                created.add(round & 1, cell / height, cell % height);
+            }
+            evaluator = created;
+        }
+        return evaluator;
+    }
+
+    /**
+     * Sets the listener which is called with a {@link MoveEvent} for every valid round, including redone rounds.
+     * The listener is called synchronously within the round, so slow listeners should be decoupled
+     * with a {@link tk.dmanstrator.connectfour.event.MoveEventDispatcher}.
+     * Events are only created if a listener is set.
+     * @param moveListener Possibly null listener, {@code null} removes the current listener
+     */
+    public void setMoveListener(final MoveListener moveListener)  {
+        this.moveListener = moveListener;
+    }
+
+    /**
+     * Sets the metrics recording every round played with {@code play}, e.g. a
+     * {@link tk.dmanstrator.connectfour.metrics.StripedGameMetrics} shared by all games.
+     * Rounds played with {@code playFast} are not recorded.
+     * @param metrics Metrics to record to, {@link GameMetrics#noOp()} to record nothing
+     */
+    public void setMetrics(final GameMetrics metrics)  {
+        this.metrics = metrics;
+    }
+
     /**
      * Returns the {@link GameLog} for this game.
      * @return The GameLog for this game
@@ -126,78 +330,224 @@ public abstract class Connect4 {
         return gameLog;
     }
 
+    /**
+     * Tells if a piece can be dropped into the given column of a {@link DefaultConnect4} game.
+     * 
+     * @param column Column which has to be between 1 and the width (7 by default)
+     * @return {@code true} if the game is not over and the column has a free position, else {@code false}
+     */
+    public boolean canPlay(final int column)  {
+        return !gameOver && column >= 1 && column <= width && columnHeights[column - 1] < height;
+    }
+
+    /**
+     * Resets the game to its initial state, so that the game can be reused without new allocations.
+     * The field, the rounds, the game log and the rounds to redo are cleared.
+     */
+    public void reset()  {
+        board.clear();
+        Arrays.fill(columnHeights, 0);
+        if (evaluator != null)  {
+            evaluator.clear();
+        }
+        if (renderers != null)  {
+            for (final FieldRenderer renderer : renderers)  {
+                if (renderer != null)  {
+                    renderer.clear();
+                }
+            }
+        }
+        gameLog.truncate(0);
+        currentPlayer = 0;
+        playedRounds = 0;
+        historySize = 0;
+        draw = false;
+        gameOver = false;
+    }
+
     /**
      * Used to play a round of a {@link DefaultConnect4} game.
      * 
-     * @param x X coordinate which has to be between 1 and 7
+     * @param x X coordinate which has to be between 1 and the width (7 by default)
      * @return A {@link RoundResult} containing a message and
      * a boolean telling if the round was valid
      * @throws UnsupportedOperationException if this is a {@link FreePositionedConnect4} game.
+     * @see Connect4#playFast(int)
      */
     public RoundResult play(final int x) {
-        return play(x, getNextAvailablePosition(x));
+        final long start = startMeasurement();
+        final int y = getLandingY(x);
+        final int playerIndex = currentPlayer;
+        final int status = playFast(x);
+        final RoundResult result = toRoundResult(status, x, y, playerIndex);
+        recordMetrics(status, start);
+        return result;
+    }
+
+    /**
+     * Plays a whole sequence of rounds of a {@link DefaultConnect4} game in one pass, e.g. {@code "4453221"}.
+     * Every character is a column starting with {@code 1} on the left, columns beyond 9 are written
+     * as letters starting with {@code 'a'}. The replay stops at the first invalid round,
+     * including rounds after the game is over.<br><br>
+     *
+     * Without logging, the rounds are played like with {@link Connect4#playFast(int)},
+     * so neither round results nor log entries are created.
+     * 
+     * @param moves Columns of the rounds to play
+     * @param logged {@code true} to log every round like {@link Connect4#play(int)}, else {@code false}
+     * @return A {@link ReplayResult} containing the outcome and the first invalid round
+     * @throws UnsupportedOperationException if this is a {@link FreePositionedConnect4} game.
+     */
+    public ReplayResult playAll(final CharSequence moves, final boolean logged)  {
+        int status = MoveStatus.OK;
+        for (int i = 0; i < moves.length(); i++)  {
+            final int column = toColumn(moves.charAt(i));
+            if (logged)  {
+                final int y = getLandingY(column);
+                final int playerIndex = currentPlayer;
+                status = playFast(column);
+                toRoundResult(status, column, y, playerIndex);
+            }  else  {
+                status = playFast(column);
+            }
+            if (!MoveStatus.isValid(status))  {
+                return new ReplayResult(status, i + 1, playedRounds);
+            }
+        }
+        return new ReplayResult(status, 0, playedRounds);
+    }
+
+    /**
+     * Parses a column of a move sequence, only ASCII digits and lowercase letters are accepted.
+     * 
+     * @param move Character of the move
+     * @return The column starting with {@code 1} on the left, {@code -1} if the character is no column
+     */
+    private static int toColumn(final char move)  {
+        return move >= '1' && move <= '9'
+                ? move - '0'
+                : move >= 'a' && move <= 'z'
+                    ? move - 'a' + 10
+                    : -1;
     }
 
     /**
      * Used to play a round of a {@link FreePositionedConnect4} game.
      * 
-     * @param x X coordinate which has to be between 1 and 7
-     * @param y Y coordinate which has to be between 1 and 6
+     * @param x X coordinate which has to be between 1 and the width (7 by default)
+     * @param y Y coordinate which has to be between 1 and the height (6 by default)
      * @return A {@link RoundResult} containing a message and
      * a boolean telling if the round was valid
      * @throws UnsupportedOperationException if this is a {@link DefaultConnect4} game.
+     * @see Connect4#playFast(int, int)
      */
     public RoundResult play(final int x, final int y)  {
-        final boolean alreadyOver = isGameOver();
-        if (alreadyOver)  {
-            return new RoundResult("Game is already over!", false);
-        }
+        final long start = startMeasurement();
+        final int playerIndex = currentPlayer;
+        final int status = playFast(x, y);
+        final RoundResult result = toRoundResult(status, x, y, playerIndex);
+        recordMetrics(status, start);
+        return result;
+    }
 
-        final String currentPlayer = this.currentPlayerName;
+    /**
+     * Plays a round of a {@link DefaultConnect4} game without creating a {@link RoundResult} or a log entry.
+     * Nothing is allocated, so this is meant for simulations which play a huge amount of moves.
+     * 
+     * @param column Column which has to be between 1 and the width (7 by default)
+     * @return The {@link MoveStatus} of the move
+     * @throws UnsupportedOperationException if this is a {@link FreePositionedConnect4} game.
+     */
+    public int playFast(final int column)  {
+        if (gameOver)  {
+            return MoveStatus.GAME_OVER;
+        }
+        final int x = column - 1;
+        if (x < 0 || x >= width)  {
+            return MoveStatus.INVALID_RANGE;
+        }
+        if (columnHeights[x] == height)  {
+            return MoveStatus.COLUMN_FULL;
+        }
+        return place(x, columnHeights[x]);
+    }
 
+    /**
+     * Plays a round of a {@link FreePositionedConnect4} game without creating a {@link RoundResult} or a log entry.
+     * Nothing is allocated, so this is meant for simulations which play a huge amount of moves.
+     * 
+     * @param x X coordinate which has to be between 1 and the width (7 by default)
+     * @param y Y coordinate which has to be between 1 and the height (6 by default)
+     * @return The {@link MoveStatus} of the move
+     * @throws UnsupportedOperationException if this is a {@link DefaultConnect4} game.
+     */
+    public int playFast(final int x, final int y)  {
+        if (gameOver)  {
+            return MoveStatus.GAME_OVER;
+        }
         final int internalX = x - 1;
         final int internalY = y - 1;
-
-        final boolean inRange = isInRange(internalX, internalY);
-        if (!inRange)  {
-            final String message = String.format("Chosen position (%d, %d) is not in range!",
-                    x, y);
-            return returnAndLog(
-                    new RoundResult(currentPlayer, message, false), RoundTitle.INVALID);
+        if (!isInRange(internalX, internalY))  {
+            return MoveStatus.INVALID_RANGE;
         }
-
-        final char charAtPos = getCharAtPosition(internalX, internalY);
-        if (charAtPos != EMPTY_CHAR) {
-            final String message = String.format("Chosen position (%d, %d) is already taken!",
-                    x, y);
-            return returnAndLog(new RoundResult(currentPlayer, message, false), RoundTitle.INVALID);
+        final int row = toRow(internalY);
+        if (board.isOccupied(internalX, row))  {
+            return MoveStatus.POSITION_TAKEN;
         }
+        return place(internalX, row);
+    }
 
-        setField(internalX, internalY);
-        updateRoundsCount();
-
-        final String defaultReturnMsg = String.format("Position (%d, %d) belongs now to player %s",
-                x, y, currentPlayer);
-        final RoundResult defaultResult = returnAndLog(
-                new RoundResult(currentPlayer, defaultReturnMsg, true));
-
-        if (playedRounds > MIN_ROUNDS)  {
-            final boolean gameOver = checkGameOver(internalX, internalY);
-            if (gameOver)  {
-                final String message = String.format("Player %s has won the game!", currentPlayer);
-                this.gameOver = true;
-                return returnAndLog(new RoundResult(currentPlayer, message, true), RoundTitle.GAME_OVER);
-            }
+    /**
+     * Takes back the last valid round. The field, the current player, the amount of played rounds,
+     * the game over state and the log entries written since the round are rolled back in constant time.
+     * The round can be played again with {@link Connect4#redo()} until a new round is played.
+     * 
+     * @return {@code true} if a round was taken back, else {@code false} since no round was played yet
+     */
+    public boolean undo()  {
+        if (playedRounds == 0)  {
+            return false;
         }
-
-        if (playedRounds == MAX_ROUNDS)  {
-            this.draw = true;
-            this.gameOver = true;
-            return returnAndLog(new RoundResult("Draw, nobody won!", true), RoundTitle.DRAW);
+        if (!gameOver)  {  // the player only changes if the game continues
+            currentPlayer ^= 1;
         }
+        gameOver = false;
+        draw = false;
+
+        final int cell = moveHistory[--playedRounds] & ~LOGGED_FLAG;
+        final int x = cell / height;
+        board.unset(currentPlayer, x, cell % height);
+        if (evaluator != null)  {
+            evaluator.remove(currentPlayer, x, cell % height);
+        }
+        updateRenderers(Board.EMPTY, x, cell % height);
+        columnHeights[x]--;
+        gameLog.truncate(logSizes[playedRounds]);
+        return true;
+    }
 
-        updatePlayer();
-        return defaultResult;
+    /**
+     * Plays the last round taken back with {@link Connect4#undo()} again.
+     * The round is logged again if it was logged before.
+     * 
+     * @return {@code true} if a round was played again, else {@code false} since there is no round to redo
+     */
+    public boolean redo()  {
+        if (playedRounds == historySize)  {
+            return false;
+        }
+        final int limit = historySize;
+        final int move = moveHistory[playedRounds];
+        final int cell = move & ~LOGGED_FLAG;
+        final int x = cell / height;
+        final int row = cell % height;
+        final int playerIndex = currentPlayer;
+        final int status = place(x, row);
+        historySize = limit;
+        if ((move & LOGGED_FLAG) != 0)  {
+            toRoundResult(status, x + 1, height - row, playerIndex);
+        }
+        return true;
     }
 
     /**
@@ -237,33 +587,31 @@ public abstract class Connect4 {
      * @see Connect4#getCurrentField()
      */
     public String getCurrentField(final boolean fullDetails)  {
-        final StringBuilder builder = new StringBuilder();
-        if (fullDetails) {
-            builder.append("  ");  // spaces for first line
-            for (int c = 1; c <= WIDTH; c++)  {
-                builder.append(c);
-            }
-            builder.append(System.lineSeparator());
-        }
+        return getRenderer(fullDetails ? RenderFormat.TEXT : RenderFormat.PLAIN).toString();
+    }
 
-        for (int c = 1; c <= HEIGHT; c++)  {
-            char[] row = field[c - 1];
-            if (fullDetails)  {
-                builder
-                    .append(c);
-            }
-            builder
-                .append('[')
-                .append(row)
-                .append(']');
-
-            if (c != HEIGHT)  {
-                builder
-                    .append(System.lineSeparator());
-            }
+    /**
+     * Returns the current field encoded in UTF-8, e.g. to send it to many clients.
+     * The field is kept encoded once it was requested and only the changed position
+     * is updated with every valid round, undo and reset afterwards.
+     * 
+     * @param format Format to encode the field in
+     * @return The encoded field which is never changed afterwards, must not be modified
+     * @see FieldRenderer
+     */
+    public byte[] getRenderedField(final RenderFormat format)  {
+        return getRenderer(format).getBytes();
+    }
 
-        }
-        return builder.toString();
+    /**
+     * Returns the current field encoded in UTF-8 as read-only buffer.
+     * 
+     * @param format Format to encode the field in
+     * @return A new read-only buffer of the encoded field which is never changed afterwards
+     * @see Connect4#getRenderedField(RenderFormat)
+     */
+    public ByteBuffer getRenderedFieldBuffer(final RenderFormat format)  {
+        return getRenderer(format).getBuffer();
     }
 
     /**
@@ -278,215 +626,250 @@ public abstract class Connect4 {
     }
 
     /**
-     * Creates a new field for the game with spaces as the default value (default value would be null terminal).
-     * @return A new field for the game
+     * Checks if the given point is in range of the field.
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @return {@code true} if in range, else {@code false}
      */
-    private char[][] createNewField()  {
-        final char[][] field = new char[HEIGHT][WIDTH];
-        for (final char[] arr : field)  {
-            // Default value is null terminal (\0) which can break when copy paste
-            Arrays.fill(arr, ' ');
-         }
-        return field;
+    private boolean isInRange(final int x, final int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
     }
 
     /**
-     * Calculates the next possible y coordinate for a given x coordinate.
-     * This is used for the {@link DefaultConnect4} game.
-     * @param x X coordinate to calculate the y coordinate from
-     * @return The next possible y coordinate for a given x coordinate
+     * Returns the renderer of a format, creating it from the current field with the first call.
+     * @param format Format of the renderer
+     * @return The renderer of the format
      */
-    private int getNextAvailablePosition(int x) {
-        int entriesInColumn = entriesPerColumn.computeIfAbsent(x, (y) -> 0);
-        entriesPerColumn.compute(x, (__, y) -> y + 1);  // update map
-        return HEIGHT - entriesInColumn;
+    private FieldRenderer getRenderer(final RenderFormat format)  {
+        if (renderers == null)  {
+            renderers = new FieldRenderer[RenderFormat.values().length];
+        }
+        FieldRenderer renderer = renderers[format.ordinal()];
+        if (renderer == null)  {
+            renderer = new FieldRenderer(layout, format);
+            for (int round = 0; round < playedRounds; round++)  {
+                final int cell = getMoveCell(round);
+                renderer.set(round & 1, cell / height, cell % height);
+            }
+            renderers[format.ordinal()] = renderer;
+        }
+        return renderer;
     }
 
     /**
-     * Checks if the given point is in range of the field.
+     * Updates a position in all renderers which were requested so far.
+     * 
+     * @param player Index of the player or {@link Board#EMPTY}
      * @param x X coordinate
-     * @param y Y coordinate
-     * @return {@code true} if in range, else {@code false}
+     * @param row Row index on the {@link Board}, counted from the bottom
      */
-    private boolean isInRange(final int x, final int y) {
-        return x >= 0 && x < WIDTH && y >= 0 && y < HEIGHT;
+    private void updateRenderers(final int player, final int x, final int row)  {
+        if (renderers == null)  {
+            return;
+        }
+        for (final FieldRenderer renderer : renderers)  {
+            if (renderer != null)  {
+                renderer.set(player, x, row);
+            }
+        }
     }
 
     /**
-     * Returns the character / color of a player at a given position.
+     * Assigns the given position to the current player and publishes the round to the move listener.
+     * 
      * @param x X coordinate
-     * @param y Y coordinate
-     * @return The character / color of a player at a given position
+     * @param row Row index on the {@link Board}, counted from the bottom
+     * @return The {@link MoveStatus} of the valid move
      */
-    private char getCharAtPosition(int x, int y) {
-        return field[y][x];  // not how it is supposed to be
+    private int place(final int x, final int row)  {
+        final int playerIndex = currentPlayer;
+        final int status = placePiece(x, row);
+        if (moveListener != null)  {
+            final MoveEvent.Type type = status == MoveStatus.WIN
+                    ? MoveEvent.Type.WIN
+                    : status == MoveStatus.DRAW
+                            ? MoveEvent.Type.DRAW
+                            : MoveEvent.Type.MOVE;
+            moveListener.onMove(new MoveEvent(this, type, playedRounds, playerIndex + 1,
+                    getPlayerName(playerIndex), x + 1, height - row, board.getHash(), System.currentTimeMillis()));
+        }
+        return status;
     }
 
     /**
-     * Assigns the given position to the current player.
+     * Assigns the given position to the current player and checks if the game is over.
+     * The player only changes if the game continues.
+     * 
      * @param x X coordinate
-     * @param y Y coordinate
+     * @param row Row index on the {@link Board}, counted from the bottom
+     * @return The {@link MoveStatus} of the valid move
      */
-    private void setField(int x, int y) {
-        field[y][x] = getCurrentPlayerColor();
+    private int placePiece(final int x, final int row)  {
+        board.set(currentPlayer, x, row);
+        if (evaluator != null)  {
+            evaluator.add(currentPlayer, x, row);
+        }
+        updateRenderers(currentPlayer, x, row);
+        columnHeights[x]++;
+        if (playedRounds < sharedHistory)  {
+            moveHistory = moveHistory.clone();
+            logSizes = logSizes.clone();
+            sharedHistory = 0;
+        }
+        logSizes[playedRounds] = gameLog.size();
+        moveHistory[playedRounds++] = x * height + row;
+        historySize = playedRounds;
+
+        if (playedRounds > minRounds && checkGameOver(x, row))  {
+            this.gameOver = true;
+            return MoveStatus.WIN;
+        }
+
+        if (playedRounds == maxRounds)  {
+            this.draw = true;
+            this.gameOver = true;
+            return MoveStatus.DRAW;
+        }
+
+        currentPlayer ^= 1;
+        return MoveStatus.OK;
     }
 
     /**
-     * Returns the player number for the current player.
-     * This is used for the {@link GameLog}.
-     * @return {@code 1} for the first player or {@code 2} for the second player
+     * Creates the {@link RoundResult} for the status of a move and logs it.
+     * A won or drawn game logs the round itself and the end of the game.
+     * 
+     * @param status {@link MoveStatus} of the move
+     * @param x X coordinate of the move
+     * @param y Y coordinate of the move
+     * @param playerIndex Index of the player who made the move
+     * @return The {@link RoundResult} for the move
      */
-    private int getCurrentPlayerNumber()  {
-        return currentPlayerName.equals(firstPlayerName)
-                ? 1
-                : 2;
+    private RoundResult toRoundResult(final int status, final int x, final int y, final int playerIndex)  {
+        final String playerName = getPlayerName(playerIndex);
+        final int playerNumber = playerIndex + 1;
+        switch (status)  {
+            case MoveStatus.GAME_OVER:
+                return new RoundResult(null, MessageTemplate.GAME_ALREADY_OVER, x, y, false);
+            case MoveStatus.INVALID_RANGE:
+            case MoveStatus.COLUMN_FULL:
+                return returnAndLog(new RoundResult(playerName, MessageTemplate.NOT_IN_RANGE, x, y, false),
+                        RoundTitle.INVALID, -1, playerNumber);
+            case MoveStatus.POSITION_TAKEN:
+                return returnAndLog(new RoundResult(playerName, MessageTemplate.POSITION_TAKEN, x, y, false),
+                        RoundTitle.INVALID, -1, playerNumber);
+            default:
+                break;
+        }
+
+        moveHistory[playedRounds - 1] |= LOGGED_FLAG;
+        final RoundResult defaultResult = returnAndLog(
+                new RoundResult(playerName, MessageTemplate.POSITION_ASSIGNED, x, y, true),
+                RoundTitle.DEFAULT, playedRounds, playerNumber);
+        if (status == MoveStatus.WIN)  {
+            return returnAndLog(new RoundResult(playerName, MessageTemplate.PLAYER_WON, x, y, true),
+                    RoundTitle.GAME_OVER, -1, playerNumber);
+        }
+        if (status == MoveStatus.DRAW)  {
+            return returnAndLog(new RoundResult(null, MessageTemplate.DRAW, x, y, true),
+                    RoundTitle.DRAW, -1, playerNumber);
+        }
+        return defaultResult;
     }
 
     /**
-     * Returns the color of the current player.
-     * @return {@code r} if the current player is player one, else {@code y}
+     * Starts measuring the time of a round if metrics are recorded.
+     * @return The current time in nanoseconds, {@code 0} if nothing is recorded
      */
-    private char getCurrentPlayerColor()  {
-        return currentPlayerName.equals(firstPlayerName)
-                ? PLAYER_ONE_COLOR
-                : PLAYER_TWO_COLOR;
+    private long startMeasurement()  {
+        return metrics == GameMetrics.noOp()
+                ? 0L
+                : System.nanoTime();
     }
 
     /**
-     * Sets the current player to the other player.
+     * Records a round and, if the round ended the game, the game to the metrics.
+     * 
+     * @param status {@link MoveStatus} of the round
+     * @param start Time returned by {@link Connect4#startMeasurement()}
      */
-    private void updatePlayer()  {
-        this.currentPlayerName = currentPlayerName.equals(firstPlayerName)
-                ? secondPlayerName
-                : firstPlayerName;
+    private void recordMetrics(final int status, final long start)  {
+        if (metrics == GameMetrics.noOp())  {
+            return;
+        }
+        metrics.recordMove(status, System.nanoTime() - start);
+        if (status == MoveStatus.WIN || status == MoveStatus.DRAW)  {
+            metrics.recordGameEnd(status, playedRounds, gameLog.size());
+        }
     }
 
     /**
-     * Increases the amount of player rounds.
+     * Calculates the y coordinate a piece dropped into a column lands on.
+     * 
+     * @param x X coordinate starting with 1
+     * @return The y coordinate, the height if the column is out of range
      */
-    private void updateRoundsCount()  {
-        playedRounds++;
+    private int getLandingY(final int x)  {
+        return x >= 1 && x <= width
+                ? height - columnHeights[x - 1]
+                : height;
     }
 
     /**
-     * Logs the given {@link RoundResult} with {@link RoundTitle#DEFAULT} as the title
-     * and sets the round number to the current one.
-     * 
-     * @param roundResult RoundResult containing the message and a flag if the round was valid, used for logging
-     * @return The given {@link RoundResult} for convenience
+     * Converts a Y coordinate counted from the top to a {@link Board} row counted from the bottom.
+     * @param y Y coordinate
+     * @return The row index on the {@link Board}
      */
-    private RoundResult returnAndLog(final RoundResult roundResult) {
-        return returnAndLog(roundResult, RoundTitle.DEFAULT, playedRounds);
+    private int toRow(int y)  {
+        return height - 1 - y;
     }
 
     /**
-     * Logs the given {@link RoundResult} with the given {@link RoundTitle}.
-     * {@code -1} is set as the round number marking it as invalid.
-     * 
-     * @param roundResult RoundResult containing the message and a flag if the round was valid, used for logging
-     * @return The given {@link RoundResult} for convenience
+     * Returns the name of a player.
+     * @param playerIndex Index of the player, {@code 0} or {@code 1}
+     * @return The name of the player
      */
-    private RoundResult returnAndLog(final RoundResult roundResult, final RoundTitle title) {
-        return returnAndLog(roundResult, title, -1);
+    private String getPlayerName(final int playerIndex)  {
+        return playerIndex == 0
+                ? firstPlayerName
+                : secondPlayerName;
     }
 
     /**
      * Logs the given {@link RoundResult} with the given {@link RoundTitle} and the given round number.
+     * {@code -1} as the round number marks the entry as no played round.
      * 
      * @param roundResult RoundResult containing the message and a flag if the round was valid, used for logging
+     * @param title Title of the entry
+     * @param roundNr Round number of the entry
+     * @param playerNumber Number of the player of the round, only logged if the title is from a player
      * @return The given {@link RoundResult} for convenience
      */
     private RoundResult returnAndLog(final RoundResult roundResult,
                                      final RoundTitle title,
-                                     final int roundNr) {
-        final int playerNumber = title.isFromPlayer()
-                ? getCurrentPlayerNumber()
+                                     final int roundNr,
+                                     final int playerNumber) {
+        final int loggedPlayerNumber = title.isFromPlayer()
+                ? playerNumber
                 : 0;
 
-        final GameLogEntry entry = new GameLogEntryBuilder()
-            .setTitle(title)
-            .setRoundNumber(roundNr)
-            .setMessage(roundResult.getMessage())
-            .setPlayerNumber(playerNumber)
-            .setValidRound(roundResult.isValid())
-            .build();
-        gameLog.addEntry(entry);
+        gameLog.addEntry(roundResult.toLogEntry(roundNr, loggedPlayerNumber, title));
         return roundResult;
     }
 
     /**
      * Checks if the game is over. Takes the last position for an optimized algorithm.
-     * Algorithm is calculating the maximum hits in order and checks if it is equal or greater than 4.
-     * <br><br>
-     * 
-     * With the matrices, the following positions will be checked depending on the current position:
-     * <pre>{@code 
-     * \  |  /
-     *  \ | / 
-     *   \|/  
-     * ---X---
-     *   /|\  
-     *  / | \ 
-     * /  |  \
-     * }</pre>
+     * Since only the current player placed a piece, only the win lines of the current player
+     * running through the last position need to be checked. The lines are precomputed
+     * once per {@link BoardLayout} and shared between all games.
      * 
      * @param lastX The last X coordinate which was played
-     * @param lastY The last Y coordinate which was played
+     * @param lastRow The last row on the {@link Board} which was played
      * @return {@code true} if the game is over, else {@code false}
-     * @see Connect4#getHitsInOrder(int[][], int, int)
+     * @see Board#hasWonAt(int, int, int)
      */
-    private boolean checkGameOver(final int lastX, final int lastY)  {
-        for (final int[][] matrix : ALL_MATRICES)  {
-            final int hits = getHitsInOrder(matrix, lastX, lastY);
-            if (hits >= WIN_AMOUNT)  {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
-    /**
-     * Calculates the maximum hits for the given lookup matrix.
-     * 
-     * @param sourceMatrix Lookup matrix containing needed positions to check
-     * @param srcX X coordinate which should be used as the starting point
-     * @param srcY Y coordinate which should be used as the starting point
-     * @return The maximum hits in order for the given lookup matrix 
-     */
-    private int getHitsInOrder(final int[][] sourceMatrix, final int srcX, final int srcY)  {
-        int hitsInOrder = 0, maxHits = 0;
-        final char currentPlayerColour = getCurrentPlayerColor();
-        for (final int[] matrixElement : sourceMatrix)  {
-            final char colorOfField = getColorOfField(matrixElement, srcX, srcY);
-            if (colorOfField == currentPlayerColour)  {
-                hitsInOrder++;
-            }  else  {
-                maxHits = Math.max(maxHits, hitsInOrder);
-                hitsInOrder = 0;
-            }
-        }
-        return Math.max(maxHits, hitsInOrder);
-    }
-
-    /**
-     * Returns the color of a field depended on the matrix element.
-     * Calculates the correct coordinates based on the given matrix element.<br>
-     * Example. {@code srcX = 4, srcY = 2, offset = (-2, 2) => x = 2, y = 4} 
-     * 
-     * @param sourceMatrix Lookup matrix containing needed positions to check
-     * @param srcX X coordinate which should be used as the starting point
-     * @param srcY Y coordinate which should be used as the starting point
-     * @return The character / color at the calculated position or a space if the field is not assigned yet
-     * @see Connect4#getCharAtPosition(int, int)
-     */
-    private char getColorOfField(final int[] matrixElement, final int srcX, final int srcY)  {
-        final int x = srcX + matrixElement[0];
-        final int y = srcY + matrixElement[1];
-        final boolean inRange = isInRange(x, y);
-        return inRange
-                ? getCharAtPosition(x, y)
-                : EMPTY_CHAR;
+    private boolean checkGameOver(final int lastX, final int lastRow)  {
+        return board.hasWonAt(currentPlayer, lastX, lastRow);
     }
 
 }
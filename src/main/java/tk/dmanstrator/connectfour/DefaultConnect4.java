@@ -1,5 +1,7 @@
 package tk.dmanstrator.connectfour;
 
+import tk.dmanstrator.connectfour.board.BoardLayout;
+
 /**
  * Implementation for a default Connect4 game.
  * @author DManstrator
@@ -7,8 +9,6 @@ package tk.dmanstrator.connectfour;
  */
 public class DefaultConnect4 extends Connect4 {
 
-    private boolean valid = false;
-
     /**
      * Constructor for a two player default Connect4 game.
      * 
@@ -20,28 +20,63 @@ public class DefaultConnect4 extends Connect4 {
     }
 
     /**
-     * Overrides the method to set a flag.
-     * Makes it possible to determine if it is okay to call {@link DefaultConnect4#play(int, int)}.
+     * Constructor for a two player Connect4 game with a custom field size and win length.
+     * 
+     * @param firstPlayerName Name of the first player
+     * @param secondPlayerName Name of the second player
+     * @param width Amount of columns
+     * @param height Amount of rows
+     * @param winAmount Amount of pieces in a row needed to win
+     * @throws IllegalArgumentException if the configuration is not supported
+     * @see BoardLayout#of(int, int, int)
+     */
+    public DefaultConnect4(final String firstPlayerName, final String secondPlayerName,
+            final int width, final int height, final int winAmount)  {
+        super(firstPlayerName, secondPlayerName, BoardLayout.of(width, height, winAmount));
+    }
+
+    /**
+     * Constructor for a two player Connect4 game on a field with the given layout.
+     * 
+     * @param firstPlayerName Name of the first player
+     * @param secondPlayerName Name of the second player
+     * @param layout Layout of the field
+     */
+    public DefaultConnect4(final String firstPlayerName, final String secondPlayerName, final BoardLayout layout)  {
+        super(firstPlayerName, secondPlayerName, layout);
+    }
+
+    /**
+     * Constructor for a fork of another default Connect4 game.
+     * 
+     * @param other Game to fork
+     * @see Connect4#fork()
      */
+    protected DefaultConnect4(final DefaultConnect4 other)  {
+        super(other);
+    }
+
     @Override
-    public RoundResult play(final int x)  {
-        valid = true;  // if this is called first, then it's okay
-        return super.play(x);
+    public DefaultConnect4 fork()  {
+        return new DefaultConnect4(this);
     }
 
     /**
-     * Overrides the method to check for a flag.
-     * If the flag is not set, then this method was directly called
-     * which is not allowed for a default Connect4 game
-     * and a {@link UnsupportedOperationException} is thrown.
+     * Overrides the method to throw an {@link UnsupportedOperationException}
+     * since it's not allowed to be called on a default Connect4 game.
      */
     @Override
     public RoundResult play(final int x, final int y)  {
-        if (!valid)  {  // play with only x has to be called first
-            throw new UnsupportedOperationException();
-        }
-        valid = false;
-        return super.play(x, y);
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Overrides the method to throw an {@link UnsupportedOperationException}
+     * since it's not allowed to be called on a default Connect4 game.
+     */
+    @Override
+    public int playFast(final int x, final int y)  {
+        throw new UnsupportedOperationException();
     }
 
 }
@@ -1,5 +1,7 @@
 package tk.dmanstrator.connectfour;
 
+import tk.dmanstrator.connectfour.board.BoardLayout;
+
 /**
  * Implementation for a free positioned Connect4 game.
  * This exists since when I started developing, I implemented it so a player
@@ -18,6 +20,47 @@ public class FreePositionedConnect4 extends Connect4 {
     public FreePositionedConnect4(final String firstPlayerName, final String secondPlayerName)  {
         super(firstPlayerName, secondPlayerName);
     }
+
+    /**
+     * Constructor for a 2 player free positioned Connect4 game with a custom field size and win length.
+     * @param firstPlayerName Name of the first player
+     * @param secondPlayerName Name of the second player
+     * @param width Amount of columns
+     * @param height Amount of rows
+     * @param winAmount Amount of pieces in a row needed to win
+     * @throws IllegalArgumentException if the configuration is not supported
+     * @see BoardLayout#of(int, int, int)
+     */
+    public FreePositionedConnect4(final String firstPlayerName, final String secondPlayerName,
+            final int width, final int height, final int winAmount)  {
+        super(firstPlayerName, secondPlayerName, BoardLayout.of(width, height, winAmount));
+    }
+
+    /**
+     * Constructor for a 2 player free positioned Connect4 game on a field with the given layout.
+     * 
+     * @param firstPlayerName Name of the first player
+     * @param secondPlayerName Name of the second player
+     * @param layout Layout of the field
+     */
+    public FreePositionedConnect4(final String firstPlayerName, final String secondPlayerName, final BoardLayout layout)  {
+        super(firstPlayerName, secondPlayerName, layout);
+    }
+
+    /**
+     * Constructor for a fork of another free positioned Connect4 game.
+     * 
+     * @param other Game to fork
+     * @see Connect4#fork()
+     */
+    protected FreePositionedConnect4(final FreePositionedConnect4 other)  {
+        super(other);
+    }
+
+    @Override
+    public FreePositionedConnect4 fork()  {
+        return new FreePositionedConnect4(this);
+    }
     
     /**
      * Overrides the method to throw an {@link UnsupportedOperationException}
@@ -28,4 +71,13 @@ public class FreePositionedConnect4 extends Connect4 {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Overrides the method to throw an {@link UnsupportedOperationException}
+     * since it's not allowed to be called on a free positioned Connect4 game.
+     */
+    @Override
+    public int playFast(final int column)  {
+        throw new UnsupportedOperationException();
+    }
+
 }
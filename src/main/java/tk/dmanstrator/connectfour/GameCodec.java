@@ -0,0 +1,188 @@
+package tk.dmanstrator.connectfour;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import tk.dmanstrator.connectfour.board.BoardLayout;
+
+/**
+ * Compact binary codec for {@link Connect4} games.<br><br>
+ *
+ * A game is written as its sequence of valid rounds, every round only needs as many bits as required
+ * for a column of a {@link DefaultConnect4} game or a position of a {@link FreePositionedConnect4} game.
+ * A full game on the default field takes 3 bits per round, so all 42 rounds fit into 16 bytes
+ * and the whole game including the header into 24 bytes.<br><br>
+ *
+ * <b>Format:</b>
+ * <pre>{@code
+ * byte  version
+ * byte  mode         0 for a default game, 1 for a free positioned game
+ * byte  width
+ * byte  height
+ * byte  winAmount
+ * byte  bitsPerMove
+ * short rounds       amount of valid rounds
+ * bits  moves        column or position index x * height + row, least significant bits first
+ * }</pre>
+ * Player names and invalid rounds are not part of the encoding. Decoding replays the rounds,
+ * so the {@link tk.dmanstrator.connectfour.log.GameLog} of a decoded game contains all valid rounds.<br><br>
+ *
+ * Games are written straight to and read straight from a {@link ByteBuffer} without any intermediate buffer.
+ * @author DManstrator
+ *
+ */
+public final class GameCodec {
+
+    /**
+     * Size of the header in bytes.
+     */
+    public static final int HEADER_BYTES = 8;
+
+    private static final int VERSION = 1;
+    private static final int MODE_DEFAULT = 0;
+    private static final int MODE_FREE_POSITIONED = 1;
+
+    /**
+     * Utility class, no instances.
+     */
+    private GameCodec()  {
+        // utility class
+    }
+
+    /**
+     * Calculates the amount of bytes needed to encode a game.
+     *
+     * @param game Game to encode
+     * @return The amount of bytes needed to encode the game
+     */
+    public static int getEncodedSize(final Connect4 game)  {
+        final int bits = game.getPlayedRounds() * getBitsPerMove(game.getLayout(), isFreePositioned(game));
+        return HEADER_BYTES + (bits + Byte.SIZE - 1) / Byte.SIZE;
+    }
+
+    /**
+     * Writes a game to the buffer, starting at its current position.
+     *
+     * @param game Game to encode
+     * @param target Buffer to write to
+     * @throws BufferOverflowException if the buffer has not enough space left, nothing is written in that case
+     */
+    public static void encode(final Connect4 game, final ByteBuffer target)  {
+        if (target.remaining() < getEncodedSize(game))  {
+            throw new BufferOverflowException();
+        }
+        final BoardLayout layout = game.getLayout();
+        final boolean freePositioned = isFreePositioned(game);
+        final int bitsPerMove = getBitsPerMove(layout, freePositioned);
+        final int rounds = game.getPlayedRounds();
+
+        target.put((byte) VERSION)
+            .put((byte) (freePositioned ? MODE_FREE_POSITIONED : MODE_DEFAULT))
+            .put((byte) layout.getWidth())
+            .put((byte) layout.getHeight())
+            .put((byte) layout.getWinAmount())
+            .put((byte) bitsPerMove)
+            .putShort((short) rounds);
+
+        final int height = layout.getHeight();
+        long bits = 0L;
+        int bitCount = 0;
+        for (int round = 0; round < rounds; round++)  {
+            final int cell = game.getMoveCell(round);
+            final int move = freePositioned
+                    ? cell
+                    : cell / height;
+            bits |= (long) move << bitCount;
+            bitCount += bitsPerMove;
+            while (bitCount >= Byte.SIZE)  {
+                target.put((byte) bits);
+                bits >>>= Byte.SIZE;
+                bitCount -= Byte.SIZE;
+            }
+        }
+        if (bitCount > 0)  {
+            target.put((byte) bits);
+        }
+    }
+
+    /**
+     * Reads a game from the buffer, starting at its current position, and replays all of its rounds.
+     *
+     * @param source Buffer to read from
+     * @param firstPlayerName Name of the first player
+     * @param secondPlayerName Name of the second player
+     * @return The decoded game, a {@link DefaultConnect4} or a {@link FreePositionedConnect4} game
+     * @throws IllegalArgumentException if the data is no valid encoded game
+     * @throws java.nio.BufferUnderflowException if the buffer ends before the game
+     */
+    public static Connect4 decode(final ByteBuffer source, final String firstPlayerName,
+            final String secondPlayerName)  {
+        final int version = source.get();
+        if (version != VERSION)  {
+            throw new IllegalArgumentException("Unsupported game encoding version " + version + "!");
+        }
+        final int mode = source.get();
+        final BoardLayout layout = BoardLayout.of(source.get(), source.get(), source.get());
+        final int bitsPerMove = source.get();
+        final int rounds = source.getShort() & 0xFFFF;
+
+        final boolean freePositioned = mode == MODE_FREE_POSITIONED;
+        if (!freePositioned && mode != MODE_DEFAULT)  {
+            throw new IllegalArgumentException("Unknown game mode " + mode + "!");
+        }
+        if (bitsPerMove != getBitsPerMove(layout, freePositioned) || rounds > layout.getSize())  {
+            throw new IllegalArgumentException("Encoded game doesn't match the field " + layout + "!");
+        }
+
+        final Connect4 game = freePositioned
+                ? new FreePositionedConnect4(firstPlayerName, secondPlayerName, layout)
+                : new DefaultConnect4(firstPlayerName, secondPlayerName, layout);
+        final int height = layout.getHeight();
+        final int moveMask = (1 << bitsPerMove) - 1;
+        long bits = 0L;
+        int bitCount = 0;
+        for (int round = 0; round < rounds; round++)  {
+            while (bitCount < bitsPerMove)  {
+                bits |= (source.get() & 0xFFL) << bitCount;
+                bitCount += Byte.SIZE;
+            }
+            final int move = (int) bits & moveMask;
+            bits >>>= bitsPerMove;
+            bitCount -= bitsPerMove;
+
+            final RoundResult result = freePositioned
+                    ? game.play(move / height + 1, height - move % height)
+                    : game.play(move + 1);
+            if (!result.isValid())  {
+                throw new IllegalArgumentException("Encoded round " + (round + 1) + " is invalid: "
+                        + result.getMessage());
+            }
+        }
+        return game;
+    }
+
+    /**
+     * Tells if a game is a {@link FreePositionedConnect4} game.
+     *
+     * @param game Game to check
+     * @return {@code true} if the game is free positioned, else {@code false}
+     */
+    private static boolean isFreePositioned(final Connect4 game)  {
+        return game instanceof FreePositionedConnect4;
+    }
+
+    /**
+     * Calculates the amount of bits needed for a single round.
+     *
+     * @param layout Layout of the field
+     * @param freePositioned {@code true} if a whole position has to be encoded, else only the column
+     * @return The amount of bits per round
+     */
+    private static int getBitsPerMove(final BoardLayout layout, final boolean freePositioned)  {
+        final int values = freePositioned
+                ? layout.getSize()
+                : layout.getWidth();
+        return Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(values - 1));
+    }
+
+}
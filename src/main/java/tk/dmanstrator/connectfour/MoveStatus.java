@@ -0,0 +1,84 @@
+package tk.dmanstrator.connectfour;
+
+/**
+ * Primitive status codes returned by {@link Connect4#playFast(int)} and {@link Connect4#playFast(int, int)}.
+ * @author DManstrator
+ *
+ */
+public final class MoveStatus {
+
+    /**
+     * The move was valid and the game continues with the other player.
+     */
+    public static final int OK = 0;
+
+    /**
+     * The move was valid and the current player has won the game.
+     */
+    public static final int WIN = 1;
+
+    /**
+     * The move was valid and filled the last position, the game ended in a draw.
+     */
+    public static final int DRAW = 2;
+
+    /**
+     * The chosen position is outside of the field.
+     */
+    public static final int INVALID_RANGE = 3;
+
+    /**
+     * The chosen column has no free position left.
+     */
+    public static final int COLUMN_FULL = 4;
+
+    /**
+     * The game is already over.
+     */
+    public static final int GAME_OVER = 5;
+
+    /**
+     * The chosen position is already assigned, only possible in a {@link FreePositionedConnect4} game.
+     */
+    public static final int POSITION_TAKEN = 6;
+
+    private static final String[] NAMES = {
+            "OK", "WIN", "DRAW", "INVALID_RANGE", "COLUMN_FULL", "GAME_OVER", "POSITION_TAKEN"};
+
+    /**
+     * Amount of different status codes, all codes are between {@code 0} and this amount.
+     */
+    public static final int COUNT = NAMES.length;
+
+    /**
+     * Utility class, no instances.
+     */
+    private MoveStatus()  {
+        // utility class
+    }
+
+    /**
+     * Tells if a status belongs to a valid move.
+     * 
+     * @param status Status to check
+     * @return {@code true} if the move was valid, else {@code false}
+     */
+    public static boolean isValid(final int status)  {
+        return status <= DRAW;
+    }
+
+    /**
+     * Returns the name of a status.
+     * 
+     * @param status Status to get the name for
+     * @return The name of the status
+     * @throws IllegalArgumentException if the status is unknown
+     */
+    public static String getName(final int status)  {
+        if (status < 0 || status >= NAMES.length)  {
+            throw new IllegalArgumentException("Unknown status " + status + "!");
+        }
+        return NAMES[status];
+    }
+
+}
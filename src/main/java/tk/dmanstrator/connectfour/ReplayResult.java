@@ -0,0 +1,73 @@
+package tk.dmanstrator.connectfour;
+
+/**
+ * POJO class representing the result of replaying a whole move sequence
+ * with {@link Connect4#playAll(CharSequence, boolean)}.
+ * @author DManstrator
+ *
+ */
+public class ReplayResult {
+
+    private final int status;
+    private final int failedPly;
+    private final int playedRounds;
+
+    /**
+     * Constructor for a replay result.
+     *
+     * @param status {@link MoveStatus} of the last played or the first invalid round
+     * @param failedPly Position of the first invalid round in the sequence starting with {@code 1},
+     * {@code 0} if all rounds were valid
+     * @param playedRounds Amount of valid played rounds of the game after the replay
+     */
+    public ReplayResult(final int status, final int failedPly, final int playedRounds)  {
+        this.status = status;
+        this.failedPly = failedPly;
+        this.playedRounds = playedRounds;
+    }
+
+    /**
+     * Tells if all rounds of the sequence were valid.
+     * @return {@code true} if all rounds were valid, else {@code false}
+     */
+    public boolean isValid()  {
+        return failedPly == 0;
+    }
+
+    /**
+     * Returns the {@link MoveStatus} of the first invalid round or, if all rounds were valid,
+     * of the last round. {@link MoveStatus#OK} means that the game is not over yet.
+     * @return The status of the replay
+     */
+    public int getStatus()  {
+        return status;
+    }
+
+    /**
+     * Returns the position of the first invalid round in the sequence.
+     * @return The position starting with {@code 1}, {@code 0} if all rounds were valid
+     */
+    public int getFailedPly()  {
+        return failedPly;
+    }
+
+    /**
+     * Returns the amount of valid played rounds of the game after the replay.
+     * If the last round won the game, the first player won if this amount is odd.
+     * @return The amount of valid played rounds
+     */
+    public int getPlayedRounds()  {
+        return playedRounds;
+    }
+
+    /**
+     * toString overload returning the status and the failed ply.
+     */
+    @Override
+    public String toString()  {
+        return isValid()
+                ? MoveStatus.getName(status) + " after " + playedRounds + " rounds"
+                : MoveStatus.getName(status) + " at ply " + failedPly;
+    }
+
+}
@@ -1,15 +1,26 @@
 package tk.dmanstrator.connectfour;
 
+import tk.dmanstrator.connectfour.log.GameLogEntry;
+import tk.dmanstrator.connectfour.log.GameLogEntry.RoundTitle;
+import tk.dmanstrator.connectfour.log.MessageTemplate;
+
 /**
- * POJO class representing the result of a round.
+ * POJO class representing the result of a round.<br><br>
+ *
+ * Results created from a {@link MessageTemplate} only render their message
+ * when it's requested for the first time.
  * @author DManstrator
  *
  */
 public class RoundResult {
 
     private final boolean valid;
-    private final String message;
     private final String playerName;
+    private final MessageTemplate template;
+    private final int x;
+    private final int y;
+
+    private String message;  // racy caching is fine since strings are immutable
 
     /**
      * Constructor for a round result taking a message and a flag if the round was valid.
@@ -32,6 +43,27 @@ public class RoundResult {
         this.valid = valid;
         this.message = message;
         this.playerName = playerName;
+        this.template = null;
+        this.x = 0;
+        this.y = 0;
+    }
+
+    /**
+     * Constructor for a round result with a message which is rendered on demand.
+     * 
+     * @param playerName Name of the player of the round
+     * @param template Template of the message
+     * @param x X coordinate of the round
+     * @param y Y coordinate of the round
+     * @param valid {@code true} if round was valid, else {@code false}
+     */
+    public RoundResult(final String playerName, final MessageTemplate template,
+            final int x, final int y, final boolean valid)  {
+        this.valid = valid;
+        this.playerName = playerName;
+        this.template = template;
+        this.x = x;
+        this.y = y;
     }
 
     /**
@@ -47,6 +79,9 @@ public class RoundResult {
      * @return Possibly null message
      */
     public String getMessage() {
+        if (message == null && template != null)  {
+            message = template.render(x, y, playerName);
+        }
         return message;
     }
 
@@ -63,7 +98,21 @@ public class RoundResult {
      */
     @Override
     public String toString() {
-        return String.format("Result of Round: %s", message);
+        return String.format("Result of Round: %s", getMessage());
+    }
+
+    /**
+     * Creates the {@link GameLogEntry} for this round. The message of the entry is rendered on demand as well.
+     * 
+     * @param roundNumber Round number of the entry
+     * @param playerNumber Player number of the entry
+     * @param title {@link RoundTitle} of the entry
+     * @return The entry for this round
+     */
+    GameLogEntry toLogEntry(final int roundNumber, final int playerNumber, final RoundTitle title)  {
+        return template == null || message != null
+                ? new GameLogEntry(message, roundNumber, playerNumber, valid, title)
+                : new GameLogEntry(template, x, y, playerName, roundNumber, playerNumber, valid, title);
     }
 
 }
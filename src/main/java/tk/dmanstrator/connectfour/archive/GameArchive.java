@@ -0,0 +1,329 @@
+package tk.dmanstrator.connectfour.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import tk.dmanstrator.connectfour.Connect4;
+import tk.dmanstrator.connectfour.GameCodec;
+
+/**
+ * Append-only archive of finished games, made for millions of games.<br><br>
+ *
+ * Games are stored as length-prefixed records in the format of the {@link GameCodec}, so a game
+ * on the default field takes at most 26 bytes. A second file next to the archive contains the
+ * offset of every record, the id of a game is its position in the archive starting with {@code 0}.
+ * New records are collected in a buffer and written through a {@link FileChannel}, records are read
+ * from a read-only memory mapping of both files.<br><br>
+ *
+ * <b>Format:</b>
+ * <pre>{@code
+ * archive:
+ *   int    magic         "C4GA"
+ *   byte   version
+ *   byte[3] reserved
+ *   for every game:
+ *     short  length      unsigned length of the record
+ *     bytes  record      game encoded by the GameCodec
+ * index (archive name + ".idx"):
+ *   for every game:
+ *     long   offset      position of the length of the record in the archive
+ * }</pre>
+ * Records which were written to the archive but not to the index, e.g. after a crash,
+ * are dropped when the archive is opened again.<br><br>
+ *
+ * All methods are thread-safe.
+ * @author DManstrator
+ *
+ */
+public class GameArchive implements AutoCloseable {
+
+    /**
+     * Suffix of the index file which is added to the name of the archive.
+     */
+    public static final String INDEX_SUFFIX = ".idx";
+
+    private static final int MAGIC = 0x43344741;  // "C4GA"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+    private static final int LENGTH_BYTES = Short.BYTES;
+    private static final int OFFSET_BYTES = Long.BYTES;
+    private static final int MAX_RECORD_BYTES = LENGTH_BYTES + 0xFFFF;
+    private static final int BUFFER_SIZE = 1 << 17;
+
+    private final FileChannel data;
+    private final FileChannel index;
+    private final MappedRegions dataRegions;
+    private final MappedRegions indexRegions;
+    private final ByteBuffer dataBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer indexBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private long games;  // including the buffered ones
+    private long dataEnd;
+    private long writtenGames;
+    private long writtenDataEnd;
+
+    /**
+     * Constructor for an archive, creates the header of a new archive
+     * or drops incomplete records of an existing archive.
+     *
+     * @param data Channel of the archive
+     * @param index Channel of the index
+     * @throws IOException if the files can't be read or written
+     * @throws IllegalArgumentException if the file is no game archive
+     */
+    private GameArchive(final FileChannel data, final FileChannel index) throws IOException  {
+        this.data = data;
+        this.index = index;
+        this.dataRegions = new MappedRegions(data, MAX_RECORD_BYTES);
+        this.indexRegions = new MappedRegions(index, OFFSET_BYTES);
+
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        if (data.size() == 0)  {
+            header.putInt(MAGIC).put((byte) VERSION).flip();
+            writeFully(data, header, 0);
+            index.truncate(0);
+            games = 0;
+            dataEnd = HEADER_BYTES;
+        }  else  {
+            readFully(data, header, 0);
+            if (header.getInt(0) != MAGIC || header.get(Integer.BYTES) != VERSION)  {
+                throw new IllegalArgumentException("File is no game archive of version " + VERSION + "!");
+            }
+            recover();
+        }
+        writtenGames = games;
+        writtenDataEnd = dataEnd;
+    }
+
+    /**
+     * Opens an archive or creates it if it doesn't exist yet.
+     *
+     * @param path Path of the archive, the index is stored next to it
+     * @return The opened archive
+     * @throws IOException if the files can't be opened
+     * @throws IllegalArgumentException if the file is no game archive
+     */
+    public static GameArchive open(final Path path) throws IOException  {
+        final FileChannel data = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try  {
+            final FileChannel index = FileChannel.open(path.resolveSibling(path.getFileName() + INDEX_SUFFIX),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try  {
+                return new GameArchive(data, index);
+            }  catch (final IOException | RuntimeException e)  {
+                index.close();
+                throw e;
+            }
+        }  catch (final IOException | RuntimeException e)  {
+            data.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Adds a game to the archive. The game is written once the buffer is full
+     * or {@link GameArchive#flush()} is called, but can be read immediately.
+     *
+     * @param game Game to add
+     * @return The id of the game
+     * @throws IOException if the archive can't be written
+     */
+    public synchronized long append(final Connect4 game) throws IOException  {
+        final int size = GameCodec.getEncodedSize(game);
+        if (dataBuffer.remaining() < LENGTH_BYTES + size || !indexBuffer.hasRemaining())  {
+            flush();
+        }
+        dataBuffer.putShort((short) size);
+        GameCodec.encode(game, dataBuffer);
+        indexBuffer.putLong(dataEnd);
+        dataEnd += LENGTH_BYTES + size;
+        return games++;
+    }
+
+    /**
+     * Returns the amount of games in the archive.
+     * @return The amount of games
+     */
+    public synchronized long getGameCount()  {
+        return games;
+    }
+
+    /**
+     * Returns the record of a game.
+     *
+     * @param id Id of the game
+     * @return A read-only buffer containing the game encoded by the {@link GameCodec}
+     * @throws IOException if the archive can't be read
+     * @throws IndexOutOfBoundsException if no game with this id exists
+     */
+    public synchronized ByteBuffer getRecord(final long id) throws IOException  {
+        if (id < 0 || id >= games)  {
+            throw new IndexOutOfBoundsException("Game " + id + " doesn't exist!");
+        }
+        if (id >= writtenGames)  {
+            flush();
+        }
+        final long indexPosition = id * OFFSET_BYTES;
+        final long offset = indexRegions.getSegment(indexPosition, OFFSET_BYTES)
+                .getLong(MappedRegions.getOffset(indexPosition));
+        final int length = dataRegions.getSegment(offset, LENGTH_BYTES)
+                .getShort(MappedRegions.getOffset(offset)) & 0xFFFF;
+        final ByteBuffer record = dataRegions.getSegment(offset, LENGTH_BYTES + length).duplicate();
+        final int start = MappedRegions.getOffset(offset) + LENGTH_BYTES;
+        record.limit(start + length).position(start);
+        return record.slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Reads a game and replays all of its rounds.
+     *
+     * @param id Id of the game
+     * @param firstPlayerName Name of the first player
+     * @param secondPlayerName Name of the second player
+     * @return The game
+     * @throws IOException if the archive can't be read
+     * @throws IndexOutOfBoundsException if no game with this id exists
+     * @see GameCodec#decode(ByteBuffer, String, String)
+     */
+    public Connect4 read(final long id, final String firstPlayerName, final String secondPlayerName)
+            throws IOException  {
+        return GameCodec.decode(getRecord(id), firstPlayerName, secondPlayerName);
+    }
+
+    /**
+     * Visits all records in the order they were added. The archive is read sequentially
+     * straight from the memory mapping, nothing is allocated per record.
+     * Other threads can't use the archive during the scan.
+     *
+     * @param visitor Visitor of the records
+     * @throws IOException if the archive can't be read
+     */
+    public synchronized void scan(final GameRecordVisitor visitor) throws IOException  {
+        flush();
+        ByteBuffer segment = null;
+        ByteBuffer view = null;
+        long position = HEADER_BYTES;
+        for (long id = 0; id < games; id++)  {
+            final int offset = MappedRegions.getOffset(position);
+            final int length = dataRegions.getSegment(position, LENGTH_BYTES).getShort(offset) & 0xFFFF;
+            final ByteBuffer current = dataRegions.getSegment(position, LENGTH_BYTES + length);
+            if (current != segment)  {
+                segment = current;
+                view = current.duplicate();
+            }
+            view.limit(offset + LENGTH_BYTES + length).position(offset + LENGTH_BYTES);
+            visitor.visit(id, view);
+            position += LENGTH_BYTES + length;
+        }
+    }
+
+    /**
+     * Writes all buffered games to the files.
+     * @throws IOException if the archive can't be written
+     */
+    public synchronized void flush() throws IOException  {
+        dataBuffer.flip();
+        writeFully(data, dataBuffer, writtenDataEnd);  // records first, so the index never points behind them
+        dataBuffer.clear();
+        indexBuffer.flip();
+        writeFully(index, indexBuffer, writtenGames * OFFSET_BYTES);
+        indexBuffer.clear();
+        writtenGames = games;
+        writtenDataEnd = dataEnd;
+    }
+
+    /**
+     * Writes all buffered games and forces them to the storage device.
+     * @throws IOException if the archive can't be written
+     */
+    public synchronized void force() throws IOException  {
+        flush();
+        data.force(false);
+        index.force(false);
+    }
+
+    /**
+     * Writes all buffered games and closes the files.
+     * The memory mappings are released once they are garbage collected.
+     */
+    @Override
+    public synchronized void close() throws IOException  {
+        try  {
+            flush();
+        }  finally  {
+            try  {
+                data.close();
+            }  finally  {
+                index.close();
+            }
+        }
+    }
+
+    /**
+     * Determines the amount of complete games of an existing archive and drops everything behind them.
+     * @throws IOException if the files can't be read or written
+     */
+    private void recover() throws IOException  {
+        games = index.size() / OFFSET_BYTES;
+        dataEnd = HEADER_BYTES;
+        final ByteBuffer buffer = ByteBuffer.allocate(OFFSET_BYTES);
+        while (games > 0)  {
+            buffer.clear();
+            readFully(index, buffer, (games - 1) * OFFSET_BYTES);
+            final long offset = buffer.getLong(0);
+            if (offset >= HEADER_BYTES && offset + LENGTH_BYTES <= data.size())  {
+                buffer.clear().limit(LENGTH_BYTES);
+                readFully(data, buffer, offset);
+                final long end = offset + LENGTH_BYTES + (buffer.getShort(0) & 0xFFFF);
+                if (end <= data.size())  {
+                    dataEnd = end;
+                    break;
+                }
+            }
+            games--;
+        }
+        index.truncate(games * OFFSET_BYTES);
+        data.truncate(dataEnd);
+    }
+
+    /**
+     * Writes all remaining bytes of a buffer.
+     *
+     * @param channel Channel to write to
+     * @param buffer Buffer to write
+     * @param position Position in the file
+     * @throws IOException if the file can't be written
+     */
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+            throws IOException  {
+        long current = position;
+        while (buffer.hasRemaining())  {
+            current += channel.write(buffer, current);
+        }
+    }
+
+    /**
+     * Fills the remaining space of a buffer.
+     *
+     * @param channel Channel to read from
+     * @param buffer Buffer to fill
+     * @param position Position in the file
+     * @throws IOException if the file can't be read or ends before the buffer is full
+     */
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+            throws IOException  {
+        long current = position;
+        while (buffer.hasRemaining())  {
+            final int read = channel.read(buffer, current);
+            if (read < 0)  {
+                throw new IOException("Unexpected end of file at " + current + "!");
+            }
+            current += read;
+        }
+    }
+
+}
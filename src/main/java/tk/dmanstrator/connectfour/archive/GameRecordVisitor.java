@@ -0,0 +1,23 @@
+package tk.dmanstrator.connectfour.archive;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Visitor for the records of a {@link GameArchive} scan.
+ * @author DManstrator
+ *
+ */
+@FunctionalInterface
+public interface GameRecordVisitor {
+
+    /**
+     * Visits a single record.
+     *
+     * @param id Id of the game
+     * @param record Buffer positioned at the start of the record encoded by
+     * {@link tk.dmanstrator.connectfour.GameCodec}, limited to its end. The buffer is reused for
+     * the next record, so it must neither be kept nor changed apart from its position.
+     */
+    void visit(long id, ByteBuffer record);
+
+}
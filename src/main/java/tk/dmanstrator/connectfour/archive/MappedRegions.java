@@ -0,0 +1,76 @@
+package tk.dmanstrator.connectfour.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+
+/**
+ * Read-only memory mapping of a growing file in segments of one GiB.<br><br>
+ *
+ * Every segment maps a bit more than its own range, so a region of up to {@code overlap} bytes
+ * is always completely contained in the segment of its first byte. Segments are only mapped up to
+ * the current size of the file and are mapped again once a region behind their end is requested.
+ * @author DManstrator
+ *
+ */
+final class MappedRegions {
+
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_BITS;
+
+    private final FileChannel channel;
+    private final int overlap;
+
+    private MappedByteBuffer[] segments = new MappedByteBuffer[0];
+
+    /**
+     * Constructor for the mapping of a file.
+     *
+     * @param channel Channel of the file
+     * @param overlap Maximal length of a region
+     */
+    MappedRegions(final FileChannel channel, final int overlap)  {
+        this.channel = channel;
+        this.overlap = overlap;
+    }
+
+    /**
+     * Returns the segment containing a region. The region starts at the index
+     * {@link MappedRegions#getOffset(long)} of the segment.
+     *
+     * @param position Position of the region in the file
+     * @param length Length of the region, at most the overlap
+     * @return The segment containing the region
+     * @throws IOException if the file can't be mapped
+     * @throws IllegalArgumentException if the region is not within the file
+     */
+    ByteBuffer getSegment(final long position, final int length) throws IOException  {
+        final int index = (int) (position >>> SEGMENT_BITS);
+        final int end = getOffset(position) + length;
+        if (index >= segments.length)  {
+            segments = Arrays.copyOf(segments, index + 1);
+        }
+        if (segments[index] == null || segments[index].limit() < end)  {
+            final long start = (long) index << SEGMENT_BITS;
+            final long size = Math.min(channel.size() - start, SEGMENT_SIZE + overlap);
+            if (size < end)  {
+                throw new IllegalArgumentException("Region at " + position + " is not within the file!");
+            }
+            segments[index] = channel.map(MapMode.READ_ONLY, start, size);
+        }
+        return segments[index];
+    }
+
+    /**
+     * Returns the index of a position of the file within its segment.
+     * @param position Position in the file
+     * @return The index within the segment
+     */
+    static int getOffset(final long position)  {
+        return (int) (position & (SEGMENT_SIZE - 1));
+    }
+
+}
@@ -0,0 +1,7 @@
+/**
+ * Package containing the {@link tk.dmanstrator.connectfour.archive.GameArchive}
+ * for storing huge amounts of finished games in an append-only file.
+ * @author DManstrator
+ *
+ */
+package tk.dmanstrator.connectfour.archive;
@@ -0,0 +1,231 @@
+package tk.dmanstrator.connectfour.board;
+
+/**
+ * Bitboard representation of a Connect4 field.<br><br>
+ *
+ * Every player owns one {@code long} in which each bit represents a position of the field.
+ * The bits are ordered column by column, starting at the bottom of the left column.
+ * Every column has an additional sentinel row on top which is never set,
+ * so that shifted alignments can't wrap into the next column.
+ * For the default field, the bits are:
+ * <pre>{@code
+ * .  .  .  .  .  .  .
+ * 5 12 19 26 33 40 47
+ * 4 11 18 25 32 39 46
+ * 3 10 17 24 31 38 45
+ * 2  9 16 23 30 37 44
+ * 1  8 15 22 29 36 43
+ * 0  7 14 21 28 35 42
+ * }</pre>
+ *
+ * @author DManstrator
+ *
+ */
+public final class BitBoard extends Board {
+
+    /**
+     * Amount of columns of the default field.
+     */
+    public static final int WIDTH = 7;
+
+    /**
+     * Amount of rows of the default field.
+     */
+    public static final int HEIGHT = 6;
+
+    /**
+     * Amount of pieces in a row needed to win on the default field.
+     */
+    public static final int WIN_AMOUNT = 4;
+
+    private static final int COLUMN_HEIGHT = HEIGHT + 1;  // additional sentinel row
+
+    private long firstPieces = 0L;  // fields instead of an array, so a copy is a single object
+    private long secondPieces = 0L;
+    private long mask = 0L;
+
+    /**
+     * Constructor for an empty default field.
+     */
+    public BitBoard()  {
+        this(BoardLayout.DEFAULT);
+    }
+
+    /**
+     * Constructor for an empty field with the given layout.
+     *
+     * @param layout Layout of the field
+     * @throws IllegalArgumentException if the layout doesn't fit into a {@code long}
+     */
+    public BitBoard(final BoardLayout layout)  {
+        super(layout);
+        if (!layout.fitsInLong())  {
+            throw new IllegalArgumentException("Field " + layout + " doesn't fit into a long!");
+        }
+    }
+
+    /**
+     * Copy constructor.
+     * @param other Board to copy
+     */
+    public BitBoard(final BitBoard other)  {
+        super(other.layout);
+        this.firstPieces = other.firstPieces;
+        this.secondPieces = other.secondPieces;
+        this.mask = other.mask;
+        this.hash = other.hash;
+        this.mirrorHash = other.mirrorHash;
+    }
+
+    /**
+     * Checks if the given bits of the default field contain an alignment of four.
+     * Each direction only needs two shifts and two ANDs.
+     *
+     * @param position Bits of a single player
+     * @return {@code true} if the bits contain four in a row, else {@code false}
+     */
+    public static boolean isAlignment(final long position)  {
+        return isAlignment(position, 1, WIN_AMOUNT)  // vertical
+                || isAlignment(position, COLUMN_HEIGHT, WIN_AMOUNT)  // horizontal
+                || isAlignment(position, COLUMN_HEIGHT - 1, WIN_AMOUNT)  // diagonal \
+                || isAlignment(position, COLUMN_HEIGHT + 1, WIN_AMOUNT);  // diagonal /
+    }
+
+    /**
+     * Checks if the given bits contain an alignment in one direction.
+     * The length of the found runs doubles with every shift,
+     * so only a logarithmic amount of shifts and ANDs is needed.
+     *
+     * @param position Bits of a single player
+     * @param shift Distance between two neighbouring bits in the direction
+     * @param amount Amount of pieces in a row needed
+     * @return {@code true} if the bits contain enough pieces in a row in the direction, else {@code false}
+     */
+    private static boolean isAlignment(final long position, final int shift, final int amount)  {
+        long runs = position;
+        int length = 1;
+        while (length * 2 <= amount)  {
+            runs &= shiftRight(runs, length * shift);
+            length *= 2;
+        }
+        if (length < amount)  {
+            runs &= shiftRight(runs, (amount - length) * shift);
+        }
+        return runs != 0L;
+    }
+
+    /**
+     * Shifts the bits to the right. Unlike {@code >>>}, shifting by 64 or more bits results in {@code 0}.
+     *
+     * @param bits Bits to shift
+     * @param distance Amount of bits to shift
+     * @return The shifted bits
+     */
+    private static long shiftRight(final long bits, final int distance)  {
+        return distance < Long.SIZE
+                ? bits >>> distance
+                : 0L;
+    }
+
+    @Override
+    public Board copy()  {
+        return new BitBoard(this);
+    }
+
+    @Override
+    public void clear()  {
+        firstPieces = 0L;
+        secondPieces = 0L;
+        mask = 0L;
+        hash = 0L;
+        mirrorHash = 0L;
+    }
+
+    @Override
+    public int getPlayerAt(final int column, final int row)  {
+        final long bit = 1L << layout.getBitIndex(column, row);
+        if ((mask & bit) == 0L)  {
+            return EMPTY;
+        }
+        return (firstPieces & bit) != 0L
+                ? 0
+                : 1;
+    }
+
+    @Override
+    public boolean isOccupied(final int column, final int row)  {
+        return (mask & (1L << layout.getBitIndex(column, row))) != 0L;
+    }
+
+    /**
+     * Checks the precomputed masks of all win lines through the position,
+     * each check is a single AND and compare.
+     */
+    @Override
+    public boolean hasWonAt(final int player, final int column, final int row)  {
+        final long position = getPieces(player);
+        for (final long line : layout.getLineMasks(layout.getBitIndex(column, row)))  {
+            if ((position & line) == line)  {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks all four directions with shifts and ANDs.
+     */
+    @Override
+    public boolean hasWon(final int player)  {
+        final long position = getPieces(player);
+        final int columnHeight = layout.getColumnHeight();
+        final int amount = layout.getWinAmount();
+        return isAlignment(position, 1, amount)  // vertical
+                || isAlignment(position, columnHeight, amount)  // horizontal
+                || isAlignment(position, columnHeight - 1, amount)  // diagonal \
+                || isAlignment(position, columnHeight + 1, amount);  // diagonal /
+    }
+
+    /**
+     * Returns the bits of a player.
+     *
+     * @param player Index of the player, {@code 0} or {@code 1}
+     * @return The bits of the player
+     */
+    public long getPieces(final int player)  {
+        return player == 0
+                ? firstPieces
+                : secondPieces;
+    }
+
+    /**
+     * Returns the bits of all assigned positions.
+     * @return The bits of all assigned positions
+     */
+    public long getMask()  {
+        return mask;
+    }
+
+    @Override
+    protected void setBit(final int player, final int index)  {
+        final long bit = 1L << index;
+        if (player == 0)  {
+            firstPieces |= bit;
+        }  else  {
+            secondPieces |= bit;
+        }
+        mask |= bit;
+    }
+
+    @Override
+    protected void clearBit(final int player, final int index)  {
+        final long bit = ~(1L << index);
+        if (player == 0)  {
+            firstPieces &= bit;
+        }  else  {
+            secondPieces &= bit;
+        }
+        mask &= bit;
+    }
+
+}
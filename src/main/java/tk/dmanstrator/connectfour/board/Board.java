@@ -0,0 +1,188 @@
+package tk.dmanstrator.connectfour.board;
+
+/**
+ * Base class for the representations of a field.
+ * Every representation keeps an incrementally updated Zobrist hash and checks for a winner
+ * with the precomputed win lines of its {@link BoardLayout}.<br><br>
+ *
+ * A field and its left-right mirror have the same value, so the hash of the mirrored field is kept as well.
+ * The smaller one of both hashes is the {@link Board#getCanonicalHash() canonical hash}, which is the same
+ * for a field and its mirror and can be used to store only one of them in caches and indices.
+ *
+ * @author DManstrator
+ *
+ */
+public abstract class Board {
+
+    /**
+     * Value returned by {@link Board#getPlayerAt(int, int)} for an unassigned position.
+     */
+    public static final int EMPTY = -1;
+
+    protected final BoardLayout layout;
+    protected long hash = 0L;
+    protected long mirrorHash = 0L;
+
+    /**
+     * Constructor for an empty board.
+     * @param layout Layout of the field
+     */
+    protected Board(final BoardLayout layout)  {
+        this.layout = layout;
+    }
+
+    /**
+     * Creates an empty board for the given layout.
+     * A {@link BitBoard} is used if the layout fits into a {@code long}, else a {@link WideBitBoard}.
+     *
+     * @param layout Layout of the field
+     * @return A new empty board
+     */
+    public static Board create(final BoardLayout layout)  {
+        return layout.fitsInLong()
+                ? new BitBoard(layout)
+                : new WideBitBoard(layout);
+    }
+
+    /**
+     * Creates an independent copy of this board.
+     * @return A copy of this board
+     */
+    public abstract Board copy();
+
+    /**
+     * Assigns the given position to a player.
+     * The hash of the board is updated incrementally.
+     *
+     * @param player Index of the player, {@code 0} or {@code 1}
+     * @param column Column index, starting with {@code 0} on the left
+     * @param row Row index, starting with {@code 0} at the bottom
+     */
+    public void set(final int player, final int column, final int row)  {
+        final int index = layout.getBitIndex(column, row);
+        setBit(player, index);
+        hash ^= Zobrist.getKey(player, index);
+        mirrorHash ^= Zobrist.getKey(player, layout.getBitIndex(layout.getWidth() - 1 - column, row));
+    }
+
+    /**
+     * Removes the piece of a player from the given position, the reverse of {@link Board#set(int, int, int)}.
+     * The hash of the board is updated incrementally.
+     *
+     * @param player Index of the player owning the position
+     * @param column Column index, starting with {@code 0} on the left
+     * @param row Row index, starting with {@code 0} at the bottom
+     */
+    public void unset(final int player, final int column, final int row)  {
+        final int index = layout.getBitIndex(column, row);
+        clearBit(player, index);
+        hash ^= Zobrist.getKey(player, index);
+        mirrorHash ^= Zobrist.getKey(player, layout.getBitIndex(layout.getWidth() - 1 - column, row));
+    }
+
+    /**
+     * Removes all pieces from the board.
+     */
+    public abstract void clear();
+
+    /**
+     * Returns the player owning the given position.
+     *
+     * @param column Column index, starting with {@code 0} on the left
+     * @param row Row index, starting with {@code 0} at the bottom
+     * @return The index of the player or {@link Board#EMPTY} if the position is not assigned yet
+     */
+    public abstract int getPlayerAt(int column, int row);
+
+    /**
+     * Tells if the given position is already assigned to a player.
+     *
+     * @param column Column index, starting with {@code 0} on the left
+     * @param row Row index, starting with {@code 0} at the bottom
+     * @return {@code true} if the position is taken, else {@code false}
+     */
+    public boolean isOccupied(final int column, final int row)  {
+        return getPlayerAt(column, row) != EMPTY;
+    }
+
+    /**
+     * Tells if the given player has enough pieces in a row on any win line
+     * running through the given position. Used after a move, since only the lines
+     * through the last position can have changed.
+     *
+     * @param player Index of the player, {@code 0} or {@code 1}
+     * @param column Column index, starting with {@code 0} on the left
+     * @param row Row index, starting with {@code 0} at the bottom
+     * @return {@code true} if the player has won, else {@code false}
+     */
+    public abstract boolean hasWonAt(int player, int column, int row);
+
+    /**
+     * Tells if the given player has enough pieces in a row anywhere on the field.
+     *
+     * @param player Index of the player, {@code 0} or {@code 1}
+     * @return {@code true} if the player has won, else {@code false}
+     */
+    public abstract boolean hasWon(int player);
+
+    /**
+     * Returns the Zobrist hash of the board.
+     * @return The Zobrist hash of the board
+     * @see Zobrist
+     */
+    public long getHash()  {
+        return hash;
+    }
+
+    /**
+     * Returns the Zobrist hash of the left-right mirror of the board.
+     * @return The Zobrist hash of the mirrored board
+     */
+    public long getMirrorHash()  {
+        return mirrorHash;
+    }
+
+    /**
+     * Returns the canonical hash of the board, the smaller one of its hash and the hash of its mirror.
+     * A board and its mirror have the same canonical hash.
+     * @return The canonical hash of the board
+     * @see Board#isMirrored()
+     */
+    public long getCanonicalHash()  {
+        return Math.min(hash, mirrorHash);
+    }
+
+    /**
+     * Tells which orientation the canonical hash belongs to.
+     * Columns of the canonical orientation have to be mirrored with {@code width - 1 - column} if this is true.
+     * @return {@code true} if the canonical hash is the hash of the mirrored board, else {@code false}
+     */
+    public boolean isMirrored()  {
+        return mirrorHash < hash;
+    }
+
+    /**
+     * Returns the layout of the field.
+     * @return The layout of the field
+     */
+    public BoardLayout getLayout()  {
+        return layout;
+    }
+
+    /**
+     * Sets the bit of a position for a player.
+     *
+     * @param player Index of the player, {@code 0} or {@code 1}
+     * @param index Bit index of the position
+     */
+    protected abstract void setBit(int player, int index);
+
+    /**
+     * Clears the bit of a position for a player.
+     *
+     * @param player Index of the player, {@code 0} or {@code 1}
+     * @param index Bit index of the position
+     */
+    protected abstract void clearBit(int player, int index);
+
+}
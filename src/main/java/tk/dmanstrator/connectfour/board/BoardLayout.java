@@ -0,0 +1,311 @@
+package tk.dmanstrator.connectfour.board;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable configuration of a field: its size and the amount of pieces in a row needed to win.<br><br>
+ *
+ * Layouts are cached, so every configuration exists only once and all games using it share
+ * the precomputed win lines. Every position of the field knows the lines running through it,
+ * so checking for a winner after a move is a lookup of a few lines instead of a scan of the field.<br><br>
+ *
+ * Positions are numbered column by column with an additional sentinel row on top of every column,
+ * the same way as on a {@link BitBoard}.
+ *
+ * @author DManstrator
+ *
+ */
+public final class BoardLayout {
+
+    /**
+     * Maximum amount of columns and rows of a field.
+     */
+    public static final int MAX_SIZE = 64;
+
+    private static final int[][] DIRECTIONS = {{1, 0}, {0, 1}, {1, 1}, {1, -1}};
+    private static final ConcurrentMap<Integer, BoardLayout> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Layout of the default field with 7 columns, 6 rows and 4 in a row to win.
+     */
+    public static final BoardLayout DEFAULT = of(BitBoard.WIDTH, BitBoard.HEIGHT, BitBoard.WIN_AMOUNT);
+
+    private final int width;
+    private final int height;
+    private final int winAmount;
+    private final int columnHeight;
+
+    private final int[][] lineCells;
+    private final int[][] cellLines;
+    private final int[][] cellLinePositions;
+    private final long[][] lineMasks;
+
+    /**
+     * Constructor which precomputes the win lines.
+     *
+     * @param width Amount of columns
+     * @param height Amount of rows
+     * @param winAmount Amount of pieces in a row needed to win
+     */
+    private BoardLayout(final int width, final int height, final int winAmount)  {
+        this.width = width;
+        this.height = height;
+        this.winAmount = winAmount;
+        this.columnHeight = height + 1;  // additional sentinel row
+
+        this.lineCells = createLines();
+        this.cellLines = createCellLines();
+        this.cellLinePositions = createCellLinePositions();
+        this.lineMasks = fitsInLong()
+                ? createLineMasks()
+                : null;
+    }
+
+    /**
+     * Returns the layout for the given configuration.
+     *
+     * @param width Amount of columns, between 1 and {@link BoardLayout#MAX_SIZE}
+     * @param height Amount of rows, between 1 and {@link BoardLayout#MAX_SIZE}
+     * @param winAmount Amount of pieces in a row needed to win, at least 2
+     * and not more than the amount of columns or rows
+     * @return The shared layout for the configuration
+     * @throws IllegalArgumentException if the configuration is not supported
+     */
+    public static BoardLayout of(final int width, final int height, final int winAmount)  {
+        if (width < 1 || width > MAX_SIZE || height < 1 || height > MAX_SIZE)  {
+            throw new IllegalArgumentException(String.format(
+                    "Field size %dx%d is not supported, columns and rows have to be between 1 and %d!",
+                    width, height, MAX_SIZE));
+        }
+        if (winAmount < 2 || winAmount > Math.max(width, height))  {
+            throw new IllegalArgumentException(String.format(
+                    "%d in a row can't be reached on a %dx%d field!", winAmount, width, height));
+        }
+        final int key = (width << 16) | (height << 8) | winAmount;
+        return CACHE.computeIfAbsent(key, (__) -> new BoardLayout(width, height, winAmount));
+    }
+
+    /**
+     * Returns the amount of columns.
+     * @return The amount of columns
+     */
+    public int getWidth()  {
+        return width;
+    }
+
+    /**
+     * Returns the amount of rows.
+     * @return The amount of rows
+     */
+    public int getHeight()  {
+        return height;
+    }
+
+    /**
+     * Returns the amount of pieces in a row needed to win.
+     * @return The amount of pieces in a row needed to win
+     */
+    public int getWinAmount()  {
+        return winAmount;
+    }
+
+    /**
+     * Returns the amount of positions of the field.
+     * @return The amount of positions of the field
+     */
+    public int getSize()  {
+        return width * height;
+    }
+
+    /**
+     * Returns the amount of bits per column including the sentinel row.
+     * @return The amount of bits per column
+     */
+    public int getColumnHeight()  {
+        return columnHeight;
+    }
+
+    /**
+     * Returns the amount of bits needed for the field including the sentinel rows.
+     * @return The amount of bits needed for the field
+     */
+    public int getBitCount()  {
+        return width * columnHeight;
+    }
+
+    /**
+     * Tells if a field with this layout fits into a single {@code long} per player.
+     * @return {@code true} if a {@link BitBoard} can be used, else {@code false}
+     */
+    public boolean fitsInLong()  {
+        return getBitCount() <= Long.SIZE;
+    }
+
+    /**
+     * Calculates the bit index of a position.
+     *
+     * @param column Column index, starting with {@code 0} on the left
+     * @param row Row index, starting with {@code 0} at the bottom
+     * @return The bit index of the position
+     */
+    public int getBitIndex(final int column, final int row)  {
+        return column * columnHeight + row;
+    }
+
+    /**
+     * Returns the amount of win lines.
+     * @return The amount of win lines
+     */
+    public int getLineCount()  {
+        return lineCells.length;
+    }
+
+    /**
+     * Returns the bit indices of the positions of a win line.
+     * The returned array is shared and must not be modified.
+     *
+     * @param line Index of the win line
+     * @return The bit indices of the positions of the line
+     */
+    public int[] getLineCells(final int line)  {
+        return lineCells[line];
+    }
+
+    /**
+     * Returns the indices of all win lines running through a position.
+     * The returned array is shared and must not be modified.
+     *
+     * @param bitIndex Bit index of the position
+     * @return The indices of all win lines through the position
+     */
+    public int[] getLinesThrough(final int bitIndex)  {
+        return cellLines[bitIndex];
+    }
+
+    /**
+     * Returns the index of a position within every win line running through it,
+     * in the same order as {@link BoardLayout#getLinesThrough(int)}.
+     * The returned array is shared and must not be modified.
+     *
+     * @param bitIndex Bit index of the position
+     * @return The index of the position within every win line through it
+     */
+    public int[] getLinePositions(final int bitIndex)  {
+        return cellLinePositions[bitIndex];
+    }
+
+    /**
+     * Returns the bit masks of all win lines running through a position.
+     * Only available if the layout {@link BoardLayout#fitsInLong() fits into a long}.
+     * The returned array is shared and must not be modified.
+     *
+     * @param bitIndex Bit index of the position
+     * @return The bit masks of all win lines through the position
+     */
+    public long[] getLineMasks(final int bitIndex)  {
+        return lineMasks[bitIndex];
+    }
+
+    /**
+     * toString overload returning the configuration, e.g. {@code 7x6, 4 in a row}.
+     */
+    @Override
+    public String toString()  {
+        return String.format("%dx%d, %d in a row", width, height, winAmount);
+    }
+
+    /**
+     * Creates all win lines of the field.
+     * @return The bit indices of the positions of every win line
+     */
+    private int[][] createLines()  {
+        int count = 0;
+        final int[][] lines = new int[DIRECTIONS.length * width * height][];
+        for (final int[] direction : DIRECTIONS)  {
+            for (int column = 0; column < width; column++)  {
+                for (int row = 0; row < height; row++)  {
+                    final int endColumn = column + (winAmount - 1) * direction[0];
+                    final int endRow = row + (winAmount - 1) * direction[1];
+                    if (endColumn >= width || endRow < 0 || endRow >= height)  {
+                        continue;
+                    }
+                    final int[] line = new int[winAmount];
+                    for (int i = 0; i < winAmount; i++)  {
+                        line[i] = getBitIndex(column + i * direction[0], row + i * direction[1]);
+                    }
+                    lines[count++] = line;
+                }
+            }
+        }
+        final int[][] result = new int[count][];
+        System.arraycopy(lines, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Creates the lookup from every position to the win lines running through it.
+     * @return The indices of the win lines per bit index
+     */
+    private int[][] createCellLines()  {
+        final int[] counts = new int[getBitCount()];
+        for (final int[] line : lineCells)  {
+            for (final int cell : line)  {
+                counts[cell]++;
+            }
+        }
+        final int[][] result = new int[getBitCount()][];
+        for (int cell = 0; cell < result.length; cell++)  {
+            result[cell] = new int[counts[cell]];
+            counts[cell] = 0;
+        }
+        for (int line = 0; line < lineCells.length; line++)  {
+            for (final int cell : lineCells[line])  {
+                result[cell][counts[cell]++] = line;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates the lookup from every position to its index within the win lines running through it.
+     * @return The indices within the win lines per bit index
+     */
+    private int[][] createCellLinePositions()  {
+        final int[][] result = new int[getBitCount()][];
+        for (int cell = 0; cell < result.length; cell++)  {
+            final int[] lines = cellLines[cell];
+            result[cell] = new int[lines.length];
+            for (int i = 0; i < lines.length; i++)  {
+                final int[] line = lineCells[lines[i]];
+                int position = 0;
+                while (line[position] != cell)  {
+                    position++;
+                }
+                result[cell][i] = position;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates the bit masks of the win lines running through every position.
+     * @return The bit masks of the win lines per bit index
+     */
+    private long[][] createLineMasks()  {
+        final long[][] result = new long[getBitCount()][];
+        for (int cell = 0; cell < result.length; cell++)  {
+            final int[] lines = cellLines[cell];
+            result[cell] = new long[lines.length];
+            for (int i = 0; i < lines.length; i++)  {
+                long mask = 0L;
+                for (final int lineCell : lineCells[lines[i]])  {
+                    mask |= 1L << lineCell;
+                }
+                result[cell][i] = mask;
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,117 @@
+package tk.dmanstrator.connectfour.board;
+
+import java.util.Arrays;
+
+/**
+ * Bitboard representation for fields which don't fit into a single {@code long} per player.
+ * Uses the same bit layout as the {@link BitBoard}, spread over multiple {@code long}s.
+ *
+ * @author DManstrator
+ *
+ */
+public final class WideBitBoard extends Board {
+
+    private final long[][] pieces;
+
+    /**
+     * Constructor for an empty board.
+     * @param layout Layout of the field
+     */
+    public WideBitBoard(final BoardLayout layout)  {
+        super(layout);
+        this.pieces = new long[2][(layout.getBitCount() + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    /**
+     * Copy constructor.
+     * @param other Board to copy
+     */
+    public WideBitBoard(final WideBitBoard other)  {
+        super(other.layout);
+        this.pieces = new long[][] {other.pieces[0].clone(), other.pieces[1].clone()};
+        this.hash = other.hash;
+        this.mirrorHash = other.mirrorHash;
+    }
+
+    @Override
+    public Board copy()  {
+        return new WideBitBoard(this);
+    }
+
+    @Override
+    public void clear()  {
+        Arrays.fill(pieces[0], 0L);
+        Arrays.fill(pieces[1], 0L);
+        hash = 0L;
+        mirrorHash = 0L;
+    }
+
+    @Override
+    public int getPlayerAt(final int column, final int row)  {
+        final int index = layout.getBitIndex(column, row);
+        if (isSet(0, index))  {
+            return 0;
+        }
+        return isSet(1, index)
+                ? 1
+                : EMPTY;
+    }
+
+    @Override
+    public boolean hasWonAt(final int player, final int column, final int row)  {
+        for (final int line : layout.getLinesThrough(layout.getBitIndex(column, row)))  {
+            if (isLineComplete(player, line))  {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasWon(final int player)  {
+        for (int line = 0; line < layout.getLineCount(); line++)  {
+            if (isLineComplete(player, line))  {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void setBit(final int player, final int index)  {
+        pieces[player][index >>> 6] |= 1L << index;
+    }
+
+    @Override
+    protected void clearBit(final int player, final int index)  {
+        pieces[player][index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * Tells if every position of a win line belongs to a player.
+     *
+     * @param player Index of the player, {@code 0} or {@code 1}
+     * @param line Index of the win line
+     * @return {@code true} if the line is complete, else {@code false}
+     */
+    private boolean isLineComplete(final int player, final int line)  {
+        for (final int cell : layout.getLineCells(line))  {
+            if (!isSet(player, cell))  {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tells if the bit of a position is set for a player.
+     *
+     * @param player Index of the player, {@code 0} or {@code 1}
+     * @param index Bit index of the position
+     * @return {@code true} if the bit is set, else {@code false}
+     */
+    private boolean isSet(final int player, final int index)  {
+        return (pieces[player][index >>> 6] & (1L << index)) != 0L;
+    }
+
+}
@@ -0,0 +1,56 @@
+package tk.dmanstrator.connectfour.board;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys for hashing positions of a {@link Board}.
+ * Every position of the field has a random key per player. The hash of a board
+ * is the XOR of the keys of all assigned positions, so it can be updated with one XOR per move.<br><br>
+ *
+ * The keys are created from a fixed seed, so hashes are stable between runs.
+ *
+ * @author DManstrator
+ *
+ */
+public final class Zobrist {
+
+    private static final long SEED = 0x436F6E6E65637434L;  // "Connect4"
+    private static final int BITS = BoardLayout.MAX_SIZE * (BoardLayout.MAX_SIZE + 1);
+
+    private static final long[][] KEYS = createKeys();
+
+    /**
+     * Utility class, no instances.
+     */
+    private Zobrist()  {
+        // utility class
+    }
+
+    /**
+     * Returns the key of a position for a player.
+     *
+     * @param player Index of the player, {@code 0} or {@code 1}
+     * @param bitIndex Bit index of the position
+     * @return The key of the position for the player
+     * @see BoardLayout#getBitIndex(int, int)
+     */
+    public static long getKey(final int player, final int bitIndex)  {
+        return KEYS[player][bitIndex];
+    }
+
+    /**
+     * Creates the keys for both players.
+     * @return The keys for both players
+     */
+    private static long[][] createKeys()  {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final long[][] keys = new long[2][BITS];
+        for (final long[] playerKeys : keys)  {
+            for (int i = 0; i < BITS; i++)  {
+                playerKeys[i] = random.nextLong();
+            }
+        }
+        return keys;
+    }
+
+}
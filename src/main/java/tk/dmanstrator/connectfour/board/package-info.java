@@ -0,0 +1,6 @@
+/**
+ * Package containing the board representations used by the Connect4 game.
+ * @author DManstrator
+ *
+ */
+package tk.dmanstrator.connectfour.board;
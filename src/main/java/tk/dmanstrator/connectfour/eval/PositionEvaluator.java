@@ -0,0 +1,259 @@
+package tk.dmanstrator.connectfour.eval;
+
+import java.util.Arrays;
+
+import tk.dmanstrator.connectfour.board.BoardLayout;
+
+/**
+ * Incremental evaluation of a position, updated with every placed or removed piece.<br><br>
+ *
+ * A window is a win line of the field. It is open for a player if it contains pieces of this player only.
+ * For every player the evaluator counts the open windows by the amount of pieces in them and keeps the
+ * threat squares: empty positions completing an open window with one piece missing.
+ * A piece only changes the windows running through its position, so an update takes time proportional
+ * to the amount of these windows and every query takes constant time.<br><br>
+ *
+ * The score weights an open window with {@code k} pieces with {@code 4^(k-1)}, so a single threat
+ * outweighs several windows with fewer pieces. Threat squares are also counted by the parity
+ * of their row: on the default field, the first player profits from threats in odd rows
+ * and the second player from threats in even rows, counted from {@code 1} at the bottom.
+ * @author DManstrator
+ *
+ */
+public class PositionEvaluator {
+
+    private static final int MAX_WEIGHT_SHIFT = 40;
+
+    private final BoardLayout layout;
+    private final int winAmount;
+    private final long[] weights;
+
+    private final int[][] lineCounts;  // pieces of every player per line
+    private final long[] lineFilled;  // occupied positions per line, bit i for the i-th position
+    private final int[][] openWindows;  // open windows of every player per amount of pieces
+    private final int[][] threatWindows;  // open windows of every player missing this position
+    private final long[] threatMasks;
+    private final int[] threats = new int[2];
+    private final int[] oddThreats = new int[2];
+
+    private long score = 0;
+
+    /**
+     * Constructor for an evaluator of an empty field.
+     * @param layout Layout of the field
+     */
+    public PositionEvaluator(final BoardLayout layout)  {
+        this.layout = layout;
+        this.winAmount = layout.getWinAmount();
+        this.weights = new long[winAmount + 1];
+        for (int pieces = 1; pieces <= winAmount; pieces++)  {
+            weights[pieces] = 1L << Math.min(2 * (pieces - 1), MAX_WEIGHT_SHIFT);
+        }
+        this.lineCounts = new int[2][layout.getLineCount()];
+        this.lineFilled = new long[layout.getLineCount()];
+        this.openWindows = new int[2][winAmount + 1];
+        this.threatWindows = new int[2][layout.getBitCount()];
+        this.threatMasks = layout.fitsInLong()
+                ? new long[2]
+                : null;
+    }
+
+    /**
+     * Updates the evaluation for a placed piece.
+     *
+     * @param player Index of the player, {@code 0} or {@code 1}
+     * @param column Column index, starting with {@code 0} on the left
+     * @param row Row index, starting with {@code 0} at the bottom
+     */
+    public void add(final int player, final int column, final int row)  {
+        update(player, layout.getBitIndex(column, row), 1);
+    }
+
+    /**
+     * Updates the evaluation for a removed piece.
+     *
+     * @param player Index of the player, {@code 0} or {@code 1}
+     * @param column Column index, starting with {@code 0} on the left
+     * @param row Row index, starting with {@code 0} at the bottom
+     */
+    public void remove(final int player, final int column, final int row)  {
+        update(player, layout.getBitIndex(column, row), -1);
+    }
+
+    /**
+     * Resets the evaluation to an empty field.
+     */
+    public void clear()  {
+        for (int player = 0; player < 2; player++)  {
+            Arrays.fill(lineCounts[player], 0);
+            Arrays.fill(openWindows[player], 0);
+            Arrays.fill(threatWindows[player], 0);
+            threats[player] = 0;
+            oddThreats[player] = 0;
+            if (threatMasks != null)  {
+                threatMasks[player] = 0L;
+            }
+        }
+        Arrays.fill(lineFilled, 0L);
+        score = 0;
+    }
+
+    /**
+     * Returns the layout of the field.
+     * @return The layout of the field
+     */
+    public BoardLayout getLayout()  {
+        return layout;
+    }
+
+    /**
+     * Returns the score from the view of the first player.
+     * Positive values are good for the first player, negative values for the second player.
+     * @return The score of the position
+     */
+    public long getScore()  {
+        return score;
+    }
+
+    /**
+     * Returns the score from the view of a player.
+     * @param player Index of the player, {@code 0} or {@code 1}
+     * @return The score of the position, positive values are good for the player
+     */
+    public long getScore(final int player)  {
+        return player == 0
+                ? score
+                : -score;
+    }
+
+    /**
+     * Returns the amount of open windows of a player with the given amount of pieces.
+     *
+     * @param player Index of the player, {@code 0} or {@code 1}
+     * @param pieces Amount of pieces of the player in the window, e.g. {@code 2} or {@code 3}
+     * @return The amount of open windows
+     */
+    public int getOpenWindows(final int player, final int pieces)  {
+        return pieces >= 1 && pieces <= winAmount
+                ? openWindows[player][pieces]
+                : 0;
+    }
+
+    /**
+     * Tells if a position is a threat square of a player, so placing a piece there would win.
+     *
+     * @param player Index of the player, {@code 0} or {@code 1}
+     * @param column Column index, starting with {@code 0} on the left
+     * @param row Row index, starting with {@code 0} at the bottom
+     * @return {@code true} if the position is a threat square of the player, else {@code false}
+     */
+    public boolean isThreat(final int player, final int column, final int row)  {
+        return threatWindows[player][layout.getBitIndex(column, row)] > 0;
+    }
+
+    /**
+     * Returns the amount of threat squares of a player.
+     * @param player Index of the player, {@code 0} or {@code 1}
+     * @return The amount of threat squares
+     */
+    public int getThreatCount(final int player)  {
+        return threats[player];
+    }
+
+    /**
+     * Returns the amount of threat squares of a player in odd rows, counted from {@code 1} at the bottom.
+     * @param player Index of the player, {@code 0} or {@code 1}
+     * @return The amount of threat squares in odd rows
+     */
+    public int getOddThreats(final int player)  {
+        return oddThreats[player];
+    }
+
+    /**
+     * Returns the amount of threat squares of a player in even rows, counted from {@code 1} at the bottom.
+     * @param player Index of the player, {@code 0} or {@code 1}
+     * @return The amount of threat squares in even rows
+     */
+    public int getEvenThreats(final int player)  {
+        return threats[player] - oddThreats[player];
+    }
+
+    /**
+     * Returns the threat squares of a player as bits of a {@link tk.dmanstrator.connectfour.board.BitBoard}.
+     *
+     * @param player Index of the player, {@code 0} or {@code 1}
+     * @return The bit mask of the threat squares
+     * @throws UnsupportedOperationException if the layout doesn't {@link BoardLayout#fitsInLong() fit into a long}
+     */
+    public long getThreatMask(final int player)  {
+        if (threatMasks == null)  {
+            throw new UnsupportedOperationException("Field " + layout + " doesn't fit into a long!");
+        }
+        return threatMasks[player];
+    }
+
+    /**
+     * Updates all windows running through a position.
+     *
+     * @param player Index of the player of the piece
+     * @param cell Bit index of the position
+     * @param sign {@code 1} for a placed piece, {@code -1} for a removed piece
+     */
+    private void update(final int player, final int cell, final int sign)  {
+        final int[] lines = layout.getLinesThrough(cell);
+        final int[] positions = layout.getLinePositions(cell);
+        for (int i = 0; i < lines.length; i++)  {
+            final int line = lines[i];
+            count(line, -1);
+            lineCounts[player][line] += sign;
+            lineFilled[line] ^= 1L << positions[i];
+            count(line, 1);
+        }
+    }
+
+    /**
+     * Adds or subtracts the contribution of a window to the evaluation.
+     *
+     * @param line Index of the window
+     * @param sign {@code 1} to add the contribution, {@code -1} to subtract it
+     */
+    private void count(final int line, final int sign)  {
+        for (int player = 0; player < 2; player++)  {
+            final int pieces = lineCounts[player][line];
+            if (pieces == 0 || lineCounts[player ^ 1][line] != 0)  {
+                continue;
+            }
+            openWindows[player][pieces] += sign;
+            score += player == 0
+                    ? sign * weights[pieces]
+                    : -sign * weights[pieces];
+            if (pieces == winAmount - 1)  {
+                final int missing = Long.numberOfTrailingZeros(~lineFilled[line]);
+                updateThreat(player, layout.getLineCells(line)[missing], sign);
+            }
+        }
+    }
+
+    /**
+     * Adds or removes an open window missing a position.
+     *
+     * @param player Index of the player of the window
+     * @param cell Bit index of the missing position
+     * @param sign {@code 1} to add the window, {@code -1} to remove it
+     */
+    private void updateThreat(final int player, final int cell, final int sign)  {
+        final int before = threatWindows[player][cell];
+        threatWindows[player][cell] = before + sign;
+        if (before != 0 && before + sign != 0)  {
+            return;  // the position stays a threat square
+        }
+        threats[player] += sign;
+        if (cell % layout.getColumnHeight() % 2 == 0)  {  // row index 0 is the first row
+            oddThreats[player] += sign;
+        }
+        if (threatMasks != null)  {
+            threatMasks[player] ^= 1L << cell;
+        }
+    }
+
+}
@@ -0,0 +1,7 @@
+/**
+ * Package containing the {@link tk.dmanstrator.connectfour.eval.PositionEvaluator}
+ * for scoring positions which are not over yet.
+ * @author DManstrator
+ *
+ */
+package tk.dmanstrator.connectfour.eval;
@@ -0,0 +1,152 @@
+package tk.dmanstrator.connectfour.event;
+
+import tk.dmanstrator.connectfour.Connect4;
+
+/**
+ * Immutable event of a valid round.
+ * @author DManstrator
+ *
+ */
+public class MoveEvent {
+
+    /**
+     * Represents the kind of a round.
+     * @author DManstrator
+     *
+     */
+    public enum Type  {
+        /**
+         * A piece was placed and the game continues.
+         */
+        MOVE,
+
+        /**
+         * A piece was placed and the player won the game.
+         */
+        WIN,
+
+        /**
+         * The last free position was filled, the game ended in a draw.
+         */
+        DRAW
+    }
+
+    private final Connect4 game;
+    private final Type type;
+    private final int roundNumber;
+    private final int playerNumber;
+    private final String playerName;
+    private final int x;
+    private final int y;
+    private final long positionHash;
+    private final long timestamp;
+
+    /**
+     * Constructor for an event.
+     *
+     * @param game Game of the round
+     * @param type Kind of the round
+     * @param roundNumber Number of the round, starting with {@code 1}
+     * @param playerNumber Number of the player, {@code 1} or {@code 2}
+     * @param playerName Name of the player
+     * @param x X coordinate of the piece, starting with {@code 1} on the left
+     * @param y Y coordinate of the piece, starting with {@code 1} at the top
+     * @param positionHash Hash of the position after the round
+     * @param timestamp Time of the round in milliseconds since the epoch
+     */
+    public MoveEvent(final Connect4 game, final Type type, final int roundNumber, final int playerNumber,
+            final String playerName, final int x, final int y, final long positionHash, final long timestamp)  {
+        this.game = game;
+        this.type = type;
+        this.roundNumber = roundNumber;
+        this.playerNumber = playerNumber;
+        this.playerName = playerName;
+        this.x = x;
+        this.y = y;
+        this.positionHash = positionHash;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Returns the game of the round. The game may already have changed when an
+     * asynchronous listener receives the event and is not thread-safe, so it should only be used
+     * to tell games apart.
+     * @return The game of the round
+     */
+    public Connect4 getGame() {
+        return game;
+    }
+
+    /**
+     * Returns the kind of the round.
+     * @return The kind of the round
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the number of the round.
+     * @return The number of the round, starting with {@code 1}
+     */
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    /**
+     * Returns the number of the player.
+     * @return The number of the player, {@code 1} or {@code 2}
+     */
+    public int getPlayerNumber() {
+        return playerNumber;
+    }
+
+    /**
+     * Returns the name of the player.
+     * @return The name of the player
+     */
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * Returns the X coordinate of the piece.
+     * @return The X coordinate, starting with {@code 1} on the left
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Returns the Y coordinate of the piece.
+     * @return The Y coordinate, starting with {@code 1} at the top
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Returns the Zobrist hash of the position after the round.
+     * @return The hash of the position
+     */
+    public long getPositionHash() {
+        return positionHash;
+    }
+
+    /**
+     * Returns the time of the round.
+     * @return The time of the round in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * toString overload returning the kind, the round and the position.
+     */
+    @Override
+    public String toString() {
+        return String.format("%s round %d by %s at (%d, %d)", type, roundNumber, playerName, x, y);
+    }
+
+}
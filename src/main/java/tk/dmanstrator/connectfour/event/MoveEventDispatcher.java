@@ -0,0 +1,135 @@
+package tk.dmanstrator.connectfour.event;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous dispatcher delivering {@link MoveEvent move events} to listeners in batches.<br><br>
+ *
+ * The dispatcher is set as the {@link MoveListener} of one or more games. Every subscribed listener
+ * gets its own bounded queue and its own daemon thread, which takes all queued events up to the
+ * maximal batch size at once. A slow listener therefore only fills its own queue, and the
+ * {@link Backpressure} decides what happens to new events once a queue is full.
+ * With {@link Backpressure#BLOCK}, a full queue slows down the games, with the other modes
+ * a round never waits for a listener.
+ * @author DManstrator
+ *
+ */
+public class MoveEventDispatcher implements MoveListener, AutoCloseable {
+
+    /**
+     * Represents what happens to a new event if the queue of a listener is full.
+     * @author DManstrator
+     *
+     */
+    public enum Backpressure  {
+        /**
+         * The round waits until the listener took events from its queue.
+         */
+        BLOCK,
+
+        /**
+         * The new event is dropped.
+         */
+        DROP_NEWEST,
+
+        /**
+         * The oldest queued event is dropped to make room for the new one.
+         */
+        DROP_OLDEST
+    }
+
+    private static final AtomicInteger DISPATCHER_COUNT = new AtomicInteger();
+
+    private final int capacity;
+    private final int maxBatchSize;
+    private final Backpressure backpressure;
+    private final int dispatcherNumber = DISPATCHER_COUNT.incrementAndGet();
+    private final AtomicInteger subscriptionCount = new AtomicInteger();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private volatile boolean closed = false;
+
+    /**
+     * Constructor for a dispatcher.
+     *
+     * @param capacity Maximal amount of queued events per listener
+     * @param maxBatchSize Maximal amount of events passed to a listener at once
+     * @param backpressure What happens to new events if the queue of a listener is full
+     * @throws IllegalArgumentException if the capacity or the batch size is not positive
+     */
+    public MoveEventDispatcher(final int capacity, final int maxBatchSize, final Backpressure backpressure)  {
+        if (capacity < 1 || maxBatchSize < 1)  {
+            throw new IllegalArgumentException("Capacity and batch size have to be positive!");
+        }
+        this.capacity = capacity;
+        this.maxBatchSize = maxBatchSize;
+        this.backpressure = backpressure;
+    }
+
+    /**
+     * Subscribes a listener, it receives all events published from now on.
+     *
+     * @param listener Listener to subscribe, called from its own thread only
+     * @return The subscription of the listener
+     * @throws IllegalStateException if the dispatcher is closed
+     */
+    public Subscription subscribe(final MoveListener listener)  {
+        if (closed)  {
+            throw new IllegalStateException("Dispatcher is closed!");
+        }
+        final Subscription subscription = new Subscription(this, listener, capacity, maxBatchSize, backpressure,
+                "move-events-" + dispatcherNumber + "-" + subscriptionCount.incrementAndGet());
+        subscription.start();  // before it can be cancelled by closing the dispatcher
+        subscriptions.add(subscription);
+        if (closed)  {  // closed in the meantime without seeing the subscription
+            subscription.cancel();
+            throw new IllegalStateException("Dispatcher is closed!");
+        }
+        return subscription;
+    }
+
+    /**
+     * Queues an event for all subscribed listeners. Events published after closing are dropped.
+     * @param event Event to queue
+     */
+    @Override
+    public void onMove(final MoveEvent event)  {
+        if (closed)  {
+            return;
+        }
+        for (final Subscription subscription : subscriptions)  {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Returns all active subscriptions.
+     * @return An immutable view of the active subscriptions
+     */
+    public List<Subscription> getSubscriptions()  {
+        return Collections.unmodifiableList(subscriptions);
+    }
+
+    /**
+     * Stops accepting events, delivers all queued events and waits for the threads of all listeners.
+     */
+    @Override
+    public void close()  {
+        closed = true;
+        for (final Subscription subscription : subscriptions)  {
+            subscription.cancel();
+        }
+    }
+
+    /**
+     * Removes a cancelled subscription.
+     * @param subscription Subscription to remove
+     */
+    void remove(final Subscription subscription)  {
+        subscriptions.remove(subscription);
+    }
+
+}
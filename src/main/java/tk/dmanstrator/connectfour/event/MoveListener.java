@@ -0,0 +1,34 @@
+package tk.dmanstrator.connectfour.event;
+
+import java.util.List;
+
+/**
+ * Listener for the {@link MoveEvent move events} of a game.<br><br>
+ *
+ * A listener set with {@link tk.dmanstrator.connectfour.Connect4#setMoveListener(MoveListener)}
+ * is called synchronously within the round, so it should hand the event off quickly,
+ * e.g. to a {@link MoveEventDispatcher}.
+ * @author DManstrator
+ *
+ */
+@FunctionalInterface
+public interface MoveListener {
+
+    /**
+     * Called for a single event.
+     * @param event Event of a valid round
+     */
+    void onMove(MoveEvent event);
+
+    /**
+     * Called by a {@link MoveEventDispatcher} for a batch of events in the order they occurred.
+     * Calls {@link MoveListener#onMove(MoveEvent)} for every event by default.
+     * @param events Events of the batch, the list is reused and must not be kept
+     */
+    default void onMoves(final List<MoveEvent> events)  {
+        for (final MoveEvent event : events)  {
+            onMove(event);
+        }
+    }
+
+}
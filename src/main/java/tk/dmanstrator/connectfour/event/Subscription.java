@@ -0,0 +1,189 @@
+package tk.dmanstrator.connectfour.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import tk.dmanstrator.connectfour.event.MoveEventDispatcher.Backpressure;
+
+/**
+ * Subscription of a {@link MoveListener} to a {@link MoveEventDispatcher},
+ * owning the queue and the thread of the listener.
+ * @author DManstrator
+ *
+ */
+public class Subscription {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final MoveEventDispatcher dispatcher;
+    private final MoveListener listener;
+    private final BlockingQueue<MoveEvent> queue;
+    private final int maxBatchSize;
+    private final Backpressure backpressure;
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    private final Thread thread;
+
+    private volatile boolean cancelled = false;
+
+    /**
+     * Constructor for a subscription.
+     *
+     * @param dispatcher Dispatcher of the subscription
+     * @param listener Listener receiving the events
+     * @param capacity Maximal amount of queued events
+     * @param maxBatchSize Maximal amount of events passed to the listener at once
+     * @param backpressure What happens to new events if the queue is full
+     * @param threadName Name of the daemon thread delivering the events
+     */
+    Subscription(final MoveEventDispatcher dispatcher, final MoveListener listener, final int capacity,
+            final int maxBatchSize, final Backpressure backpressure, final String threadName)  {
+        this.dispatcher = dispatcher;
+        this.listener = listener;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.backpressure = backpressure;
+        this.thread = new Thread(this::run, threadName);
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Returns the amount of events passed to the listener.
+     * @return The amount of delivered events
+     */
+    public long getDelivered()  {
+        return delivered.sum();
+    }
+
+    /**
+     * Returns the amount of events dropped because the queue was full.
+     * @return The amount of dropped events
+     */
+    public long getDropped()  {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the amount of batches passed to the listener.
+     * @return The amount of batches
+     */
+    public long getBatches()  {
+        return batches.sum();
+    }
+
+    /**
+     * Returns the amount of batches for which the listener threw an exception.
+     * @return The amount of failed batches
+     */
+    public long getFailures()  {
+        return failures.sum();
+    }
+
+    /**
+     * Returns the amount of currently queued events.
+     * @return The amount of queued events
+     */
+    public int getQueued()  {
+        return queue.size();
+    }
+
+    /**
+     * Stops the subscription after delivering all queued events and waits for its thread.
+     * New events are not queued anymore.
+     */
+    public void cancel()  {
+        cancelled = true;
+        dispatcher.remove(this);
+        if (thread != Thread.currentThread())  {
+            try  {
+                thread.join();
+            }  catch (final InterruptedException e)  {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Starts the thread of the subscription.
+     */
+    void start()  {
+        thread.start();
+    }
+
+    /**
+     * Queues an event according to the backpressure.
+     * @param event Event to queue
+     */
+    void offer(final MoveEvent event)  {
+        if (cancelled)  {
+            return;
+        }
+        switch (backpressure)  {
+            case BLOCK:
+                try  {
+                    while (!queue.offer(event, POLL_MILLIS, TimeUnit.MILLISECONDS))  {
+                        if (cancelled)  {
+                            dropped.increment();
+                            return;
+                        }
+                    }
+                }  catch (final InterruptedException e)  {
+                    Thread.currentThread().interrupt();
+                    dropped.increment();
+                }
+                break;
+            case DROP_NEWEST:
+                if (!queue.offer(event))  {
+                    dropped.increment();
+                }
+                break;
+            default:
+                while (!queue.offer(event))  {
+                    if (queue.poll() != null)  {
+                        dropped.increment();
+                    }
+                }
+                break;
+        }
+    }
+
+    /**
+     * Delivers batches of queued events until the subscription is cancelled and the queue is empty.
+     */
+    void run()  {
+        final List<MoveEvent> batch = new ArrayList<>(maxBatchSize);
+        while (true)  {
+            final MoveEvent first;
+            try  {
+                first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            }  catch (final InterruptedException e)  {
+                return;
+            }
+            if (first == null)  {
+                if (cancelled && queue.isEmpty())  {
+                    return;
+                }
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, maxBatchSize - 1);
+            try  {
+                listener.onMoves(batch);
+                delivered.add(batch.size());
+            }  catch (final RuntimeException e)  {
+                failures.increment();
+            }
+            batches.increment();
+            batch.clear();
+        }
+    }
+
+}
@@ -0,0 +1,7 @@
+/**
+ * Package containing the {@link tk.dmanstrator.connectfour.event.MoveEvent move events} of a game
+ * and the {@link tk.dmanstrator.connectfour.event.MoveEventDispatcher} delivering them asynchronously.
+ * @author DManstrator
+ *
+ */
+package tk.dmanstrator.connectfour.event;
@@ -0,0 +1,48 @@
+package tk.dmanstrator.connectfour.log;
+
+import java.io.IOException;
+
+/**
+ * Helper methods for writing values to an {@link Appendable} without creating strings.
+ * @author DManstrator
+ *
+ */
+final class Appendables {
+
+    /**
+     * Utility class, no instances.
+     */
+    private Appendables()  {
+        // utility class
+    }
+
+    /**
+     * Appends the decimal digits of a number, like {@code String.format("%0<minWidth>d", value)}.
+     * 
+     * @param target Target to append the number to
+     * @param value Number to append
+     * @param minWidth Minimal amount of characters including the sign, filled up with leading zeros
+     * @throws IOException if the target can't be written
+     */
+    static void appendInt(final Appendable target, final int value, final int minWidth) throws IOException  {
+        long remaining = value;
+        int width = 1;
+        if (value < 0)  {
+            target.append('-');
+            remaining = -remaining;
+            width++;
+        }
+        long divisor = 1;
+        while (divisor * 10 <= remaining)  {
+            divisor *= 10;
+            width++;
+        }
+        for (; width < minWidth; width++)  {
+            target.append('0');
+        }
+        for (; divisor > 0; divisor /= 10)  {
+            target.append((char) ('0' + remaining / divisor % 10));
+        }
+    }
+
+}
@@ -0,0 +1,193 @@
+package tk.dmanstrator.connectfour.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Buffered output to a {@link WritableByteChannel}, writing characters as UTF-8
+ * and binary values big endian, both without intermediate strings or arrays.
+ * @author DManstrator
+ *
+ */
+final class ChannelOutput implements Appendable {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_CHAR_BYTES = 4;
+
+    private final WritableByteChannel channel;
+    // heap buffer, channels copy it through their cached direct buffers instead of a new one per export
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    private char highSurrogate = 0;  // first half of a surrogate pair which is not written yet
+
+    /**
+     * Constructor for an output.
+     * @param channel Channel to write to
+     */
+    ChannelOutput(final WritableByteChannel channel)  {
+        this.channel = channel;
+    }
+
+    @Override
+    public Appendable append(final CharSequence csq) throws IOException  {
+        final CharSequence chars = csq == null
+                ? "null"
+                : csq;
+        return append(chars, 0, chars.length());
+    }
+
+    @Override
+    public Appendable append(final CharSequence csq, final int start, final int end) throws IOException  {
+        final CharSequence chars = csq == null
+                ? "null"
+                : csq;
+        for (int i = start; i < end; i++)  {
+            append(chars.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public Appendable append(final char c) throws IOException  {
+        ensure(MAX_CHAR_BYTES);
+        if (highSurrogate != 0)  {
+            final char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c))  {
+                putCodePoint(Character.toCodePoint(high, c));
+                return this;
+            }
+            putCodePoint(high);
+        }
+        if (Character.isHighSurrogate(c))  {
+            highSurrogate = c;
+        }  else  {
+            putCodePoint(c);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a single byte.
+     * @param value Byte to write
+     * @throws IOException if the channel can't be written
+     */
+    void putByte(final int value) throws IOException  {
+        ensure(Byte.BYTES);
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Writes an int.
+     * @param value Int to write
+     * @throws IOException if the channel can't be written
+     */
+    void putInt(final int value) throws IOException  {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    /**
+     * Writes a possibly null string with its length in UTF-8 bytes in front, {@code -1} for null.
+     * @param value String to write
+     * @throws IOException if the channel can't be written
+     */
+    void putString(final String value) throws IOException  {
+        if (value == null)  {
+            putInt(-1);
+            return;
+        }
+        putInt(getUtf8Length(value));
+        append(value);
+        writePendingSurrogate();
+    }
+
+    /**
+     * Writes all buffered bytes to the channel.
+     * @throws IOException if the channel can't be written
+     */
+    void flush() throws IOException  {
+        writePendingSurrogate();
+        buffer.flip();
+        while (buffer.hasRemaining())  {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Calculates the amount of bytes of a string in UTF-8 as written by this output.
+     * @param value String to measure
+     * @return The amount of bytes
+     */
+    static int getUtf8Length(final CharSequence value)  {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++)  {
+            final char c = value.charAt(i);
+            if (c < 0x80)  {
+                length += 1;
+            }  else if (c < 0x800)  {
+                length += 2;
+            }  else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1)))  {
+                length += 4;
+                i++;
+            }  else  {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Writes a high surrogate which is not followed by a low surrogate.
+     * @throws IOException if the channel can't be written
+     */
+    private void writePendingSurrogate() throws IOException  {
+        if (highSurrogate != 0)  {
+            ensure(MAX_CHAR_BYTES);
+            putCodePoint(highSurrogate);
+            highSurrogate = 0;
+        }
+    }
+
+    /**
+     * Writes a code point as UTF-8, the buffer must have enough space left.
+     * Unpaired surrogates are written as three bytes like any other character.
+     * @param codePoint Code point to write
+     */
+    private void putCodePoint(final int codePoint)  {
+        if (codePoint < 0x80)  {
+            buffer.put((byte) codePoint);
+        }  else if (codePoint < 0x800)  {
+            buffer.put((byte) (0xC0 | codePoint >> 6))
+                .put((byte) (0x80 | codePoint & 0x3F));
+        }  else if (codePoint < 0x10000)  {
+            buffer.put((byte) (0xE0 | codePoint >> 12))
+                .put((byte) (0x80 | codePoint >> 6 & 0x3F))
+                .put((byte) (0x80 | codePoint & 0x3F));
+        }  else  {
+            buffer.put((byte) (0xF0 | codePoint >> 18))
+                .put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                .put((byte) (0x80 | codePoint >> 6 & 0x3F))
+                .put((byte) (0x80 | codePoint & 0x3F));
+        }
+    }
+
+    /**
+     * Flushes the buffer if it has not enough space left.
+     * @param bytes Amount of bytes which will be written
+     * @throws IOException if the channel can't be written
+     */
+    private void ensure(final int bytes) throws IOException  {
+        if (buffer.remaining() < bytes)  {
+            buffer.flip();
+            while (buffer.hasRemaining())  {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+}
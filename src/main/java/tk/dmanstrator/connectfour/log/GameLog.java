@@ -1,21 +1,69 @@
 package tk.dmanstrator.connectfour.log;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.RandomAccess;
 
 import tk.dmanstrator.connectfour.log.GameLogEntry.RoundTitle;
 
 /**
- * Class representing a log for a game.
+ * Class representing a log for a game.<br><br>
+ *
+ * Entries are indexed by their round number, so looking up a round and checking for
+ * duplicated rounds when adding an entry takes constant time instead of a scan of the whole log.
+ * The index is created on the first lookup and only grows with the amount of entries,
+ * round numbers far beyond it are scanned.<br><br>
+ *
+ * A {@link GameLog#fork() fork} shares the entries with its log and copies them once it is changed
+ * (copy on write), so forking takes constant time and both logs can be used from different threads afterwards.
  * @author DManstrator
  *
  */
 public class GameLog {
 
-    private final List<GameLogEntry> entries = new ArrayList<>();
+    private static final int INITIAL_ROUNDS = 64;
+
+    private GameLogEntry[] entries;
+    private int size;
+    private int sharedSize;  // entries still used by forks, they have to be copied before being overwritten
+    private GameLogEntry[] firstEntryOfRound;  // null until the first lookup
+    private int[] entriesPerRound;
+    private int unindexedEntries;
+
+    /**
+     * Constructor for an empty log.
+     */
+    public GameLog()  {
+        this.entries = new GameLogEntry[INITIAL_ROUNDS];
+    }
+
+    /**
+     * Constructor for a fork sharing the entries of another log.
+     * @param other Log to fork
+     */
+    private GameLog(final GameLog other)  {
+        this.entries = other.entries;
+        this.size = other.size;
+        this.sharedSize = Integer.MAX_VALUE;  // the other log appends to the same array
+    }
+
+    /**
+     * Creates an independent log with the current entries in constant time.<br><br>
+     *
+     * The fork copies the entries once it is changed and creates its own round index on the first lookup.
+     * This log keeps its storage, so {@link GameLog#getEntries() views} of it still show later entries.
+     * It only copies the entries if it removes some of the forked ones.
+     * @return The fork of this log
+     */
+    public GameLog fork()  {
+        sharedSize = Math.max(sharedSize, size);
+        return new GameLog(this);
+    }
 
     /**
      * Adds a given entry to the internal game log.
@@ -26,12 +74,16 @@ public class GameLog {
      * @return {@code true} if entry was added, else {@code false} since it was already in the log
      */
     public boolean addEntry(final GameLogEntry entry)  {
-        if (entry.getRoundTitle() != RoundTitle.DEFAULT ||
-                !getEntryFromRound(entry.getRoundNumber()).isPresent())  {
-            return entries.add(entry);
-        }  else  {
+        if (entry.getRoundTitle() == RoundTitle.DEFAULT
+                && getEntryFromRound(entry.getRoundNumber()).isPresent())  {
             return false;
         }
+        if (size == entries.length || size < sharedSize)  {
+            copyEntries(size, size * 2);
+        }
+        entries[size++] = entry;
+        index(entry);
+        return true;
     }
 
     /**
@@ -41,7 +93,17 @@ public class GameLog {
      * @return {@code true} if entry was removed, else {@code false} since it wasn't in the log
      */
     public boolean removeEntry(final GameLogEntry entry)  {
-        return entries.remove(entry);  // checks for null and contains
+        final int index = indexOf(entry);  // checks for null and contains
+        if (index == -1)  {
+            return false;
+        }
+        if (index < sharedSize)  {
+            copyEntries(size, entries.length);
+        }
+        System.arraycopy(entries, index + 1, entries, index, size - index - 1);
+        entries[--size] = null;
+        unindex(entry);
+        return true;
     }
 
     /**
@@ -54,6 +116,33 @@ public class GameLog {
         return removeEntry(getEntryFromRound(roundNr).orElse(null));
     }
 
+    /**
+     * Removes the newest entries until the log has the given size.
+     * Takes constant time per removed entry.
+     * 
+     * @param size Amount of entries to keep
+     */
+    public void truncate(final int size)  {
+        final boolean forked = size < this.size && size < sharedSize;
+        while (this.size > size)  {
+            unindex(entries[--this.size]);
+            if (!forked)  {
+                entries[this.size] = null;
+            }
+        }
+        if (forked)  {
+            copyEntries(this.size, entries.length);
+        }
+    }
+
+    /**
+     * Returns the amount of entries in the log.
+     * @return The amount of entries in the log
+     */
+    public int size()  {
+        return size;
+    }
+
     /**
      * Gets the log entry from a given position.
      * If the given index is out of bounds, {@code null} will be returned.
@@ -62,10 +151,10 @@ public class GameLog {
      * @return Possibly null entry at the given index.
      */
     public GameLogEntry getEntry(final int index)  {
-        if (index < 0 || index >= entries.size())  {
+        if (index < 0 || index >= size)  {
             return null;
         }  else  {
-            return entries.get(index);
+            return entries[index];
         }
     }
 
@@ -76,9 +165,16 @@ public class GameLog {
      * @return Possibly empty optional containing the entry from the given round
      */
     public Optional<GameLogEntry> getEntryFromRound(final int roundNr)  {
-        return entries.stream()
-                .filter(entry -> entry.getRoundNumber() == roundNr)
-                .findFirst();
+        if (firstEntryOfRound == null)  {
+            createIndex();
+        }
+        if (isIndexed(roundNr))  {
+            return Optional.ofNullable(firstEntryOfRound[roundNr]);
+        }
+        if (roundNr >= 0 && unindexedEntries == 0)  {
+            return Optional.empty();
+        }
+        return findFirstEntryFromRound(roundNr);
     }
 
     /**
@@ -86,9 +182,9 @@ public class GameLog {
      * @return Possibly null entry being the last entry from the log
      */
     public GameLogEntry getLastEntry()  {
-        return entries.isEmpty()
+        return size == 0
             ? null
-            : getEntry(entries.size() - 1);
+            : getEntry(size - 1);
     }
 
     /**
@@ -96,7 +192,7 @@ public class GameLog {
      * @return An immutable view of the current entries
      */
     public List<GameLogEntry> getEntries() {
-        return Collections.unmodifiableList(entries);
+        return new EntriesView();
     }
 
     /**
@@ -130,7 +226,7 @@ public class GameLog {
      * @return All entries from the log as a string
      */
     public String getAllEntriesAsString()  {
-        return getEntriesAsString(entries);
+        return getEntriesAsString(getEntries());
     }
 
     /**
@@ -140,10 +236,19 @@ public class GameLog {
      * @return All entries from the given list as a string
      */
     private String getEntriesAsString(final List<GameLogEntry> entries)  {
-        return entries.stream()
-                .map(GameLogEntry::toString)
-                .collect(Collectors.joining(System.lineSeparator()));
+        final StringBuilder builder = new StringBuilder(entries.size() * 64);
+        try  {
+            for (int i = 0; i < entries.size(); i++)  {
+                if (i > 0)  {
+                    builder.append(System.lineSeparator());
+                }
+                entries.get(i).writeTo(builder);
+            }
+        }  catch (final IOException e)  {
+            throw new UncheckedIOException(e);  // never thrown by a StringBuilder
         }
+        return builder.toString();
+    }
 
     /**
      * Returns all valid or invalid entries from the log.
@@ -152,11 +257,164 @@ public class GameLog {
      * @return All (in)valid entries from the log
      */
     private List<GameLogEntry> getEntries(final boolean valid)  {
-        List<GameLogEntry> entries = new ArrayList<>(this.entries);
+        List<GameLogEntry> entries = new ArrayList<>(getEntries());
         entries.removeIf(entry -> entry.isValidRound() != valid);
         return entries;
     }
 
+    /**
+     * Replaces the entries shared with forks by an own copy, so that they can be changed.
+     * 
+     * @param amount Amount of entries to copy
+     * @param length Length of the new array
+     */
+    private void copyEntries(final int amount, final int length)  {
+        final GameLogEntry[] copy = new GameLogEntry[Math.max(length, INITIAL_ROUNDS)];
+        System.arraycopy(entries, 0, copy, 0, amount);
+        entries = copy;
+        sharedSize = 0;
+    }
+
+    /**
+     * Returns the position of an entry in the log.
+     * 
+     * @param entry Entry to search for
+     * @return The position of the entry or {@code -1} if it isn't in the log
+     */
+    private int indexOf(final GameLogEntry entry)  {
+        if (entry != null)  {
+            for (int i = 0; i < size; i++)  {
+                if (entry.equals(entries[i]))  {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Creates the round index for all entries in the log.
+     */
+    private void createIndex()  {
+        int length = INITIAL_ROUNDS;
+        for (int i = 0; i < size; i++)  {
+            final int roundNr = entries[i].getRoundNumber();
+            if (roundNr >= length && roundNr < 2 * size)  {
+                length = roundNr + 1;
+            }
+        }
+        firstEntryOfRound = new GameLogEntry[length];
+        entriesPerRound = new int[length];
+        unindexedEntries = 0;
+        for (int i = 0; i < size; i++)  {
+            final GameLogEntry entry = entries[i];
+            final int roundNr = entry.getRoundNumber();
+            if (isIndexed(roundNr))  {
+                if (entriesPerRound[roundNr]++ == 0)  {
+                    firstEntryOfRound[roundNr] = entry;
+                }
+            }  else if (roundNr >= 0)  {
+                unindexedEntries++;
+            }
+        }
+    }
+
+    /**
+     * Adds an entry to the round index.
+     * The index only grows for round numbers below twice the amount of entries,
+     * so a single high round number can't blow it up.
+     * 
+     * @param entry Entry which was added to the log
+     */
+    private void index(final GameLogEntry entry)  {
+        if (firstEntryOfRound == null)  {
+            return;  // created from all entries on the first lookup
+        }
+        final int roundNr = entry.getRoundNumber();
+        if (!isIndexed(roundNr))  {
+            if (roundNr >= 0)  {
+                unindexedEntries++;
+                if (roundNr < 2 * size)  {
+                    growIndex(roundNr + 1);
+                }
+            }
+            return;
+        }
+        if (entriesPerRound[roundNr]++ == 0)  {
+            firstEntryOfRound[roundNr] = entry;
+        }
+    }
+
+    /**
+     * Grows the round index and moves the entries it covers now into it.
+     * @param minLength Minimum length of the index
+     */
+    private void growIndex(final int minLength)  {
+        final int oldLength = firstEntryOfRound.length;
+        final int length = Math.max(minLength, oldLength * 2);
+        firstEntryOfRound = Arrays.copyOf(firstEntryOfRound, length);
+        entriesPerRound = Arrays.copyOf(entriesPerRound, length);
+        for (int i = 0; i < size && unindexedEntries > 0; i++)  {
+            final GameLogEntry entry = entries[i];
+            final int roundNr = entry.getRoundNumber();
+            if (roundNr >= oldLength && roundNr < length)  {
+                unindexedEntries--;
+                if (entriesPerRound[roundNr]++ == 0)  {
+                    firstEntryOfRound[roundNr] = entry;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes an entry from the round index.
+     * Only if other entries with the same round number exist, the log has to be scanned for the new first one.
+     * 
+     * @param entry Entry which was removed from the log
+     */
+    private void unindex(final GameLogEntry entry)  {
+        if (firstEntryOfRound == null)  {
+            return;
+        }
+        final int roundNr = entry.getRoundNumber();
+        if (!isIndexed(roundNr))  {
+            if (roundNr >= 0)  {
+                unindexedEntries--;
+            }
+            return;
+        }
+        if (--entriesPerRound[roundNr] == 0)  {
+            firstEntryOfRound[roundNr] = null;
+        }  else if (firstEntryOfRound[roundNr] == entry)  {
+            firstEntryOfRound[roundNr] = findFirstEntryFromRound(roundNr).orElse(null);
+        }
+    }
+
+    /**
+     * Tells if entries with the given round number are kept in the round index.
+     * 
+     * @param roundNr Round number to check
+     * @return {@code true} if the round number is indexed, else {@code false}
+     */
+    private boolean isIndexed(final int roundNr)  {
+        return roundNr >= 0 && roundNr < firstEntryOfRound.length;
+    }
+
+    /**
+     * Scans the log for the first entry from a specific round.
+     * 
+     * @param roundNr Round number to check the game log for
+     * @return Possibly empty optional containing the entry from the given round
+     */
+    private Optional<GameLogEntry> findFirstEntryFromRound(final int roundNr)  {
+        for (int i = 0; i < size; i++)  {
+            if (entries[i].getRoundNumber() == roundNr)  {
+                return Optional.of(entries[i]);
+            }
+        }
+        return Optional.empty();
+    }
+
     /**
      * Returns all entries as a string.
      * @return All entries as a string
@@ -167,4 +425,26 @@ public class GameLog {
         return getAllEntriesAsString();
     }
 
+    /**
+     * Immutable view of the entries which shows later changes of the log.
+     * @author DManstrator
+     *
+     */
+    private final class EntriesView extends AbstractList<GameLogEntry> implements RandomAccess  {
+
+        @Override
+        public GameLogEntry get(final int index)  {
+            if (index < 0 || index >= size)  {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return entries[index];
+        }
+
+        @Override
+        public int size()  {
+            return size;
+        }
+
+    }
+
 }
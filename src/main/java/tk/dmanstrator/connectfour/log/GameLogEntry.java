@@ -1,7 +1,13 @@
 package tk.dmanstrator.connectfour.log;
 
+import java.io.IOException;
+import java.util.Locale;
+
 /**
- * Class representing an entry for the {@link GameLog}.
+ * Class representing an entry for the {@link GameLog}.<br><br>
+ *
+ * Entries created from a {@link MessageTemplate} only render their message
+ * when it's requested for the first time.
  * @author DManstrator
  *
  */
@@ -38,6 +44,8 @@ public class GameLogEntry {
          */
         UNKNOWN(" unknown", false);
 
+        private static final String ROUND_FORMAT = "%02d";
+
         private final String title;
         private final boolean fromPlayer;
 
@@ -67,13 +75,37 @@ public class GameLogEntry {
         public boolean isFromPlayer() {
             return fromPlayer;
         }
+
+        /**
+         * Writes the title with the round number, like {@code String.format(getTitle(), roundNumber)}.
+         * 
+         * @param target Target to append the title to
+         * @param roundNumber Round number of the entry
+         * @throws IOException if the target can't be written
+         */
+        void appendTitle(final Appendable target, final int roundNumber) throws IOException  {
+            final int index = title.indexOf(ROUND_FORMAT);
+            if (index == -1)  {
+                target.append(title);
+                return;
+            }
+            target.append(title, 0, index);
+            Appendables.appendInt(target, roundNumber, 2);
+            target.append(title, index + ROUND_FORMAT.length(), title.length());
+        }
     }
 
-    private final String message;
     private final int roundNumber;
     private final int playerNumber;
     private final RoundTitle roundTitle;
     private final boolean validRound;
+    private final MessageTemplate template;
+    private final int x;
+    private final int y;
+    private final String playerName;
+
+    private String message;  // racy caching is fine since strings are immutable
+    private String asString;
 
     /**
      * Constructor for the entry.
@@ -91,6 +123,34 @@ public class GameLogEntry {
         this.validRound = validRound;
         this.roundNumber = roundNumber;
         this.playerNumber = playerNumber;
+        this.template = null;
+        this.x = 0;
+        this.y = 0;
+        this.playerName = null;
+    }
+
+    /**
+     * Constructor for an entry with a message which is rendered on demand.
+     * 
+     * @param template Template of the message
+     * @param x X coordinate of the round
+     * @param y Y coordinate of the round
+     * @param playerName Name of the player of the round
+     * @param roundNumber Round number of the entry
+     * @param playerNumber Player number of the entry
+     * @param validRound Flag telling if it was a valid round
+     * @param title {@link RoundTitle} of the entry
+     */
+    public GameLogEntry(final MessageTemplate template, final int x, final int y, final String playerName,
+            final int roundNumber, final int playerNumber, final boolean validRound, final RoundTitle title)  {
+        this.template = template;
+        this.x = x;
+        this.y = y;
+        this.playerName = playerName;
+        this.roundTitle = title;
+        this.validRound = validRound;
+        this.roundNumber = roundNumber;
+        this.playerNumber = playerNumber;
     }
 
     /**
@@ -98,6 +158,9 @@ public class GameLogEntry {
      * @return The message of the entry
      */
     public String getMessage() {
+        if (message == null && template != null)  {
+            message = template.render(x, y, playerName);
+        }
         return message;
     }
 
@@ -139,18 +202,103 @@ public class GameLogEntry {
      * Converts the player number to {@code [Player X]} if a player number was set.
      * @return The entry as a string in format {@code <Title> [Player]: <Message>}
      */
-    public String getAsString()  {   
+    public String getAsString()  {
+        if (asString == null)  {
+            asString = render();
+        }
+        return asString;
+    }
+
+    /**
+     * Writes the entry in the format of {@link GameLogEntry#getAsString()} straight into the target.
+     * Messages which were not requested yet are rendered into the target without creating a string.
+     * 
+     * @param target Target to append the entry to
+     * @throws IOException if the target can't be written
+     */
+    public void writeTo(final Appendable target) throws IOException  {
+        if (asString != null)  {
+            target.append(asString);
+            return;
+        }
+        target.append('[');
+        if (roundNumber == -1)  {
+            target.append(roundTitle.getTitle());
+        }  else  {
+            roundTitle.appendTitle(target, roundNumber);
+        }
+        target.append("] ");
+        if (roundTitle.isFromPlayer())  {
+            target.append("[Player ");
+            Appendables.appendInt(target, playerNumber, 1);
+            target.append("]: ");
+        }
+        writeMessageTo(target);
+    }
+
+    /**
+     * Writes the message of the entry straight into the target.
+     * 
+     * @param target Target to append the message to
+     * @throws IOException if the target can't be written
+     */
+    void writeMessageTo(final Appendable target) throws IOException  {
+        if (message == null && template != null)  {
+            template.renderTo(target, x, y, playerName);
+        }  else  {
+            target.append(message);
+        }
+    }
+
+    /**
+     * Returns the template of the message.
+     * @return Possibly null template if the entry was created with a message
+     */
+    MessageTemplate getTemplate()  {
+        return template;
+    }
+
+    /**
+     * Returns the X coordinate of the round, only set for entries created from a template.
+     * @return The X coordinate of the round
+     */
+    int getX()  {
+        return x;
+    }
+
+    /**
+     * Returns the Y coordinate of the round, only set for entries created from a template.
+     * @return The Y coordinate of the round
+     */
+    int getY()  {
+        return y;
+    }
+
+    /**
+     * Returns the name of the player of the round, only set for entries created from a template.
+     * @return Possibly null name of the player
+     */
+    String getPlayerName()  {
+        return playerName;
+    }
+
+    /**
+     * Renders the entry as a string.
+     * @return The entry as a string
+     * @see GameLogEntry#getAsString()
+     */
+    private String render()  {
         final String title = roundTitle.getTitle();
 
         final String roundInfo = roundNumber == -1
                 ? title
-                : String.format(title, roundNumber);
+                : String.format(Locale.ROOT, title, roundNumber);  // same digits as writeTo
 
         final String playerInfo = !roundTitle.isFromPlayer()
                 ? ""
                 : "[Player " + playerNumber + "]: ";
 
-        return String.format("[%s] %s%s", roundInfo, playerInfo, message);
+        return String.format("[%s] %s%s", roundInfo, playerInfo, getMessage());
     }
 
     /**
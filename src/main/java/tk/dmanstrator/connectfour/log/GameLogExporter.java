@@ -0,0 +1,321 @@
+package tk.dmanstrator.connectfour.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import tk.dmanstrator.connectfour.log.GameLogEntry.RoundTitle;
+
+/**
+ * Streaming export of a {@link GameLog}.<br><br>
+ *
+ * Every entry is written straight from its fields into the target, so neither the whole log
+ * nor a single entry is built as a string. Output to a {@link WritableByteChannel} goes through
+ * a single reused buffer.<br><br>
+ *
+ * <b>Binary format:</b>
+ * <pre>{@code
+ * byte   version
+ * for every entry:
+ *   byte   title          ordinal of the RoundTitle
+ *   byte   flags          1 for a valid round, 2 if the message is stored as a template
+ *   int    roundNumber
+ *   int    playerNumber
+ *   with a template:
+ *     byte   template     ordinal of the MessageTemplate
+ *     int    x
+ *     int    y
+ *     string playerName
+ *   else:
+ *     string message
+ * }</pre>
+ * Strings are stored as their length in UTF-8 bytes, {@code -1} for null, followed by the bytes.
+ * @author DManstrator
+ *
+ */
+public final class GameLogExporter {
+
+    /**
+     * Represents the format of an export.
+     * @author DManstrator
+     *
+     */
+    public enum Format  {
+        /**
+         * Every entry as returned by {@link GameLogEntry#getAsString()}, followed by a line separator.
+         */
+        TEXT,
+
+        /**
+         * Every entry as a JSON object, followed by a newline.
+         */
+        NDJSON,
+
+        /**
+         * Compact binary records, only supported for byte channels.
+         */
+        BINARY
+    }
+
+    private static final int VERSION = 1;
+    private static final int FLAG_VALID = 1;
+    private static final int FLAG_TEMPLATE = 2;
+
+    /**
+     * Utility class, no instances.
+     */
+    private GameLogExporter()  {
+        // utility class
+    }
+
+    /**
+     * Writes all entries of a log to an {@link Appendable}, e.g. a {@link java.io.Writer} or a {@link StringBuilder}.
+     * 
+     * @param log Log to export
+     * @param format Format of the export, either {@link Format#TEXT} or {@link Format#NDJSON}
+     * @param target Target to write to
+     * @throws IOException if the target can't be written
+     * @throws IllegalArgumentException if the format is {@link Format#BINARY}
+     */
+    public static void export(final GameLog log, final Format format, final Appendable target) throws IOException  {
+        switch (format)  {
+            case TEXT:
+                writeText(log, target);
+                break;
+            case NDJSON:
+                writeJson(log, target);
+                break;
+            default:
+                throw new IllegalArgumentException("Format " + format + " can only be written to a byte channel!");
+        }
+    }
+
+    /**
+     * Writes all entries of a log to a channel. Text is encoded as UTF-8.
+     * 
+     * @param log Log to export
+     * @param format Format of the export
+     * @param target Channel to write to, won't be closed
+     * @throws IOException if the channel can't be written
+     */
+    public static void export(final GameLog log, final Format format, final WritableByteChannel target)
+            throws IOException  {
+        final ChannelOutput output = new ChannelOutput(target);
+        if (format == Format.BINARY)  {
+            writeBinary(log, output);
+        }  else  {
+            export(log, format, output);
+        }
+        output.flush();
+    }
+
+    /**
+     * Reads a log written in the {@link Format#BINARY binary format}, starting at the current position of the buffer.
+     * 
+     * @param source Buffer to read from
+     * @return A new log containing all entries
+     * @throws IllegalArgumentException if the data is no valid binary log
+     * @throws java.nio.BufferUnderflowException if the buffer ends within an entry
+     */
+    public static GameLog readBinary(final ByteBuffer source)  {
+        final int version = source.get();
+        if (version != VERSION)  {
+            throw new IllegalArgumentException("Unsupported log encoding version " + version + "!");
+        }
+        final RoundTitle[] titles = RoundTitle.values();
+        final MessageTemplate[] templates = MessageTemplate.values();
+        final GameLog log = new GameLog();
+        while (source.hasRemaining())  {
+            final RoundTitle title = titles[checkIndex(source.get(), titles.length)];
+            final int flags = source.get();
+            final int roundNumber = source.getInt();
+            final int playerNumber = source.getInt();
+            final boolean valid = (flags & FLAG_VALID) != 0;
+            if ((flags & FLAG_TEMPLATE) != 0)  {
+                final MessageTemplate template = templates[checkIndex(source.get(), templates.length)];
+                final int x = source.getInt();
+                final int y = source.getInt();
+                log.addEntry(new GameLogEntry(template, x, y, readString(source),
+                        roundNumber, playerNumber, valid, title));
+            }  else  {
+                log.addEntry(new GameLogEntry(readString(source), roundNumber, playerNumber, valid, title));
+            }
+        }
+        return log;
+    }
+
+    /**
+     * Writes all entries in the text format.
+     * 
+     * @param log Log to export
+     * @param target Target to write to
+     * @throws IOException if the target can't be written
+     */
+    private static void writeText(final GameLog log, final Appendable target) throws IOException  {
+        final String lineSeparator = System.lineSeparator();
+        for (int i = 0; i < log.size(); i++)  {
+            log.getEntry(i).writeTo(target);
+            target.append(lineSeparator);
+        }
+    }
+
+    /**
+     * Writes all entries as JSON objects, one per line.
+     * 
+     * @param log Log to export
+     * @param target Target to write to
+     * @throws IOException if the target can't be written
+     */
+    private static void writeJson(final GameLog log, final Appendable target) throws IOException  {
+        final JsonStringAppendable escaped = new JsonStringAppendable(target);
+        for (int i = 0; i < log.size(); i++)  {
+            final GameLogEntry entry = log.getEntry(i);
+            target.append("{\"round\":");
+            Appendables.appendInt(target, entry.getRoundNumber(), 1);
+            target.append(",\"player\":");
+            Appendables.appendInt(target, entry.getPlayerNumber(), 1);
+            target.append(",\"title\":\"").append(entry.getRoundTitle().name())
+                .append("\",\"valid\":").append(entry.isValidRound() ? "true" : "false")
+                .append(",\"message\":");
+            if (entry.getTemplate() == null && entry.getMessage() == null)  {
+                target.append("null}\n");  // unlike the string "null"
+            }  else  {
+                target.append('"');
+                entry.writeMessageTo(escaped);
+                target.append("\"}\n");
+            }
+        }
+    }
+
+    /**
+     * Writes all entries in the binary format.
+     * 
+     * @param log Log to export
+     * @param output Output to write to
+     * @throws IOException if the channel can't be written
+     */
+    private static void writeBinary(final GameLog log, final ChannelOutput output) throws IOException  {
+        output.putByte(VERSION);
+        for (int i = 0; i < log.size(); i++)  {
+            final GameLogEntry entry = log.getEntry(i);
+            final MessageTemplate template = entry.getTemplate();
+            output.putByte(entry.getRoundTitle().ordinal());
+            output.putByte((entry.isValidRound() ? FLAG_VALID : 0) | (template != null ? FLAG_TEMPLATE : 0));
+            output.putInt(entry.getRoundNumber());
+            output.putInt(entry.getPlayerNumber());
+            if (template != null)  {
+                output.putByte(template.ordinal());
+                output.putInt(entry.getX());
+                output.putInt(entry.getY());
+                output.putString(entry.getPlayerName());
+            }  else  {
+                output.putString(entry.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reads a string written by {@link ChannelOutput#putString(String)}.
+     * 
+     * @param source Buffer to read from
+     * @return The possibly null string
+     */
+    private static String readString(final ByteBuffer source)  {
+        final int length = source.getInt();
+        if (length == -1)  {
+            return null;
+        }
+        if (length < 0 || length > source.remaining())  {
+            throw new IllegalArgumentException("Invalid string length " + length + "!");
+        }
+        final byte[] bytes = new byte[length];
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks an ordinal read from the binary format.
+     * 
+     * @param index Ordinal to check
+     * @param length Amount of constants
+     * @return The ordinal
+     * @throws IllegalArgumentException if the ordinal is out of range
+     */
+    private static int checkIndex(final int index, final int length)  {
+        if (index < 0 || index >= length)  {
+            throw new IllegalArgumentException("Invalid ordinal " + index + "!");
+        }
+        return index;
+    }
+
+    /**
+     * Appendable escaping everything appended to it as the content of a JSON string.
+     * @author DManstrator
+     *
+     */
+    private static final class JsonStringAppendable implements Appendable  {
+
+        private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+        private final Appendable target;
+
+        /**
+         * Constructor for the appendable.
+         * @param target Target to write the escaped characters to
+         */
+        JsonStringAppendable(final Appendable target)  {
+            this.target = target;
+        }
+
+        @Override
+        public Appendable append(final CharSequence csq) throws IOException  {
+            final CharSequence chars = csq == null
+                    ? "null"
+                    : csq;
+            return append(chars, 0, chars.length());
+        }
+
+        @Override
+        public Appendable append(final CharSequence csq, final int start, final int end) throws IOException  {
+            final CharSequence chars = csq == null
+                    ? "null"
+                    : csq;
+            for (int i = start; i < end; i++)  {
+                append(chars.charAt(i));
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(final char c) throws IOException  {
+            switch (c)  {
+                case '"':
+                    target.append("\\\"");
+                    break;
+                case '\\':
+                    target.append("\\\\");
+                    break;
+                case '\n':
+                    target.append("\\n");
+                    break;
+                case '\r':
+                    target.append("\\r");
+                    break;
+                case '\t':
+                    target.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20)  {
+                        target.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    }  else  {
+                        target.append(c);
+                    }
+                    break;
+            }
+            return this;
+        }
+
+    }
+
+}
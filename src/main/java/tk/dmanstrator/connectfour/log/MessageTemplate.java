@@ -0,0 +1,116 @@
+package tk.dmanstrator.connectfour.log;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Templates of the messages of a round.<br><br>
+ *
+ * Rounds and log entries only store the template and its arguments,
+ * the message is rendered when it's requested for the first time.
+ * @author DManstrator
+ *
+ */
+public enum MessageTemplate  {
+    /**
+     * A round was played after the game ended.
+     */
+    GAME_ALREADY_OVER("Game is already over!"),
+
+    /**
+     * The chosen position is outside of the field. Takes the X and Y coordinate.
+     */
+    NOT_IN_RANGE("Chosen position (%d, %d) is not in range!"),
+
+    /**
+     * The chosen position is already assigned. Takes the X and Y coordinate.
+     */
+    POSITION_TAKEN("Chosen position (%d, %d) is already taken!"),
+
+    /**
+     * A position was assigned to a player. Takes the X and Y coordinate and the player name.
+     */
+    POSITION_ASSIGNED("Position (%d, %d) belongs now to player %s"),
+
+    /**
+     * A player won the game. Takes the player name.
+     */
+    PLAYER_WON("Player %s has won the game!"),
+
+    /**
+     * The game ended with a draw.
+     */
+    DRAW("Draw, nobody won!");
+
+    private final String format;
+    private final String[] parts;  // literal text around the arguments
+
+    /**
+     * Constructor setting the format of the message.
+     * @param format Format of the message
+     */
+    MessageTemplate(final String format)  {
+        this.format = format;
+        this.parts = format.split("%[ds]", -1);
+    }
+
+    /**
+     * Renders the message. Arguments which are not part of the template are ignored.
+     * Numbers are always written with ASCII digits, like {@link MessageTemplate#renderTo(Appendable, int, int, String)}.
+     * 
+     * @param x X coordinate of the round
+     * @param y Y coordinate of the round
+     * @param playerName Name of the player of the round
+     * @return The rendered message
+     */
+    public String render(final int x, final int y, final String playerName)  {
+        switch (this)  {
+            case NOT_IN_RANGE:
+            case POSITION_TAKEN:
+                return String.format(Locale.ROOT, format, x, y);
+            case POSITION_ASSIGNED:
+                return String.format(Locale.ROOT, format, x, y, playerName);
+            case PLAYER_WON:
+                return String.format(Locale.ROOT, format, playerName);
+            default:
+                return format;
+        }
+    }
+
+    /**
+     * Renders the message straight into the target without creating a string.
+     * Arguments which are not part of the template are ignored.
+     * 
+     * @param target Target to append the message to
+     * @param x X coordinate of the round
+     * @param y Y coordinate of the round
+     * @param playerName Name of the player of the round
+     * @throws IOException if the target can't be written
+     * @see MessageTemplate#render(int, int, String)
+     */
+    public void renderTo(final Appendable target, final int x, final int y, final String playerName)
+            throws IOException  {
+        target.append(parts[0]);
+        switch (this)  {
+            case NOT_IN_RANGE:
+            case POSITION_TAKEN:
+                Appendables.appendInt(target, x, 1);
+                target.append(parts[1]);
+                Appendables.appendInt(target, y, 1);
+                target.append(parts[2]);
+                break;
+            case POSITION_ASSIGNED:
+                Appendables.appendInt(target, x, 1);
+                target.append(parts[1]);
+                Appendables.appendInt(target, y, 1);
+                target.append(parts[2]).append(playerName).append(parts[3]);
+                break;
+            case PLAYER_WON:
+                target.append(playerName).append(parts[1]);
+                break;
+            default:
+                break;
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+package tk.dmanstrator.connectfour.mcts;
+
+import tk.dmanstrator.connectfour.MoveStatus;
+
+/**
+ * Node of the search tree of the {@link MctsPlayer}.<br><br>
+ *
+ * The statistics are written while holding the lock of the node and read without it,
+ * so the selection of one thread may see slightly outdated values of another thread.
+ * The wins are counted for the player who made the move leading to this node.
+ * @author DManstrator
+ *
+ */
+final class MctsNode {
+
+    private final MctsNode[] children;
+    private final int status;
+
+    private volatile int visits = 0;
+    private volatile double wins = 0;
+
+    /**
+     * Constructor for a node.
+     *
+     * @param width Amount of columns of the field
+     * @param status {@link MoveStatus} of the move leading to this node
+     */
+    MctsNode(final int width, final int status)  {
+        this.children = new MctsNode[width];
+        this.status = status;
+    }
+
+    /**
+     * Tells if the game is over in this node.
+     * @return {@code true} if the move leading to this node won or drew the game, else {@code false}
+     */
+    boolean isTerminal()  {
+        return status != MoveStatus.OK;
+    }
+
+    /**
+     * Returns the {@link MoveStatus} of the move leading to this node.
+     * @return The status of the move leading to this node
+     */
+    int getStatus()  {
+        return status;
+    }
+
+    /**
+     * Returns the child for a column index.
+     * @param column Column index, starting with {@code 0}
+     * @return Possibly null child
+     */
+    MctsNode getChild(final int column)  {
+        return children[column];
+    }
+
+    /**
+     * Adds the child for a column index if it doesn't exist yet.
+     *
+     * @param column Column index, starting with {@code 0}
+     * @param status {@link MoveStatus} of the move
+     * @return The child for the column, possibly created by another thread
+     */
+    synchronized MctsNode expand(final int column, final int status)  {
+        if (children[column] == null)  {
+            children[column] = new MctsNode(children.length, status);
+        }
+        return children[column];
+    }
+
+    /**
+     * Returns the amount of visits including the pending ones.
+     * @return The amount of visits
+     */
+    int getVisits()  {
+        return visits;
+    }
+
+    /**
+     * Returns the sum of the rewards.
+     * @return The sum of the rewards
+     */
+    double getWins()  {
+        return wins;
+    }
+
+    /**
+     * Adds a visit whose result is still pending. Until the result is added,
+     * the visit counts as a loss, so that other threads prefer other paths (virtual loss).
+     */
+    synchronized void addVirtualLoss()  {
+        visits++;
+    }
+
+    /**
+     * Adds the reward of a visit which was already counted by {@link MctsNode#addVirtualLoss()}.
+     * @param reward Reward between {@code 0} and {@code 1}
+     */
+    synchronized void addReward(final double reward)  {
+        wins += reward;
+    }
+
+}
@@ -0,0 +1,349 @@
+package tk.dmanstrator.connectfour.mcts;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import tk.dmanstrator.connectfour.Connect4;
+import tk.dmanstrator.connectfour.DefaultConnect4;
+import tk.dmanstrator.connectfour.MoveStatus;
+import tk.dmanstrator.connectfour.simulation.RandomPolicy;
+
+/**
+ * Player choosing moves with a Monte Carlo Tree Search, usable for every field size and win length.<br><br>
+ *
+ * Children are selected with UCT (upper confidence bounds applied to trees) and positions are evaluated
+ * with random playouts. Every thread works on its own {@link Connect4#fork() fork} of the game, plays the moves
+ * of an iteration with {@link Connect4#playFast(int)} and takes them back with {@link Connect4#undo()},
+ * so playouts don't allocate anything.<br><br>
+ *
+ * With {@link Parallelism#TREE}, all threads search a shared tree. A thread adds a virtual loss
+ * to every node on its path, so other threads prefer other paths until the result is known.
+ * With {@link Parallelism#ROOT}, every thread searches its own tree and the statistics of the moves
+ * are summed up at the end.<br><br>
+ *
+ * A player holds its own thread pool and has to be {@link MctsPlayer#close() closed}.
+ * @author DManstrator
+ *
+ */
+public class MctsPlayer implements AutoCloseable {
+
+    /**
+     * Represents how the search is split across threads.
+     * @author DManstrator
+     *
+     */
+    public enum Parallelism  {
+        /**
+         * All threads search a shared tree, using virtual loss.
+         */
+        TREE,
+
+        /**
+         * Every thread searches its own tree, the results are merged at the end.
+         */
+        ROOT
+    }
+
+    /**
+     * Default exploration constant for UCT.
+     */
+    public static final double DEFAULT_EXPLORATION = Math.sqrt(2);
+
+    private final int threads;
+    private final Parallelism parallelism;
+    private final double exploration;
+    private final ExecutorService executor;
+
+    /**
+     * Constructor for a player with the default exploration constant.
+     *
+     * @param threads Amount of search threads
+     * @param parallelism How the search is split across threads
+     */
+    public MctsPlayer(final int threads, final Parallelism parallelism)  {
+        this(threads, parallelism, DEFAULT_EXPLORATION);
+    }
+
+    /**
+     * Constructor for a player.
+     *
+     * @param threads Amount of search threads
+     * @param parallelism How the search is split across threads
+     * @param exploration Exploration constant for UCT, higher values search more broadly
+     * @throws IllegalArgumentException if the amount of threads is not positive
+     */
+    public MctsPlayer(final int threads, final Parallelism parallelism, final double exploration)  {
+        if (threads < 1)  {
+            throw new IllegalArgumentException("At least one thread is needed!");
+        }
+        this.threads = threads;
+        this.parallelism = parallelism;
+        this.exploration = exploration;
+        this.executor = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Searches the best column for the current player with a playout budget.
+     *
+     * @param game Game to search the best column for
+     * @param maxPlayouts Amount of playouts of all threads together
+     * @return The result of the search
+     * @throws IllegalStateException if the game is already over
+     * @throws IllegalArgumentException if the game is no {@link DefaultConnect4} game
+     */
+    public MctsResult search(final Connect4 game, final long maxPlayouts)  {
+        return search(game, maxPlayouts, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Searches the best column for the current player with a time budget.
+     *
+     * @param game Game to search the best column for
+     * @param time Time to search
+     * @param unit Unit of the time
+     * @return The result of the search
+     * @throws IllegalStateException if the game is already over
+     * @throws IllegalArgumentException if the game is no {@link DefaultConnect4} game
+     */
+    public MctsResult search(final Connect4 game, final long time, final TimeUnit unit)  {
+        return search(game, Long.MAX_VALUE, time, unit);
+    }
+
+    /**
+     * Searches the best column for the current player until one of the budgets is used up.
+     * At least one playout is done.
+     *
+     * @param game Game to search the best column for, won't be changed
+     * @param maxPlayouts Amount of playouts of all threads together
+     * @param time Time to search
+     * @param unit Unit of the time
+     * @return The result of the search
+     * @throws IllegalStateException if the game is already over
+     * @throws IllegalArgumentException if the game is no {@link DefaultConnect4} game
+     */
+    public MctsResult search(final Connect4 game, final long maxPlayouts, final long time, final TimeUnit unit)  {
+        if (!(game instanceof DefaultConnect4))  {
+            throw new IllegalArgumentException("Only default games are supported!");
+        }
+        if (game.isGameOver())  {
+            throw new IllegalStateException("Game is already over!");
+        }
+        final long start = System.nanoTime();
+        final long timeNanos = unit.toNanos(time);  // Long.MAX_VALUE is never reached, so it means no time limit
+        final AtomicLong budget = new AtomicLong(Math.max(1, maxPlayouts));
+
+        final MctsNode sharedRoot = new MctsNode(game.getWidth(), MoveStatus.OK);
+        final MctsNode[] roots = new MctsNode[threads];
+        final List<Callable<Long>> workers = new ArrayList<>(threads);
+        final SplittableRandom random = new SplittableRandom(start);
+        for (int t = 0; t < threads; t++)  {
+            roots[t] = parallelism == Parallelism.TREE
+                    ? sharedRoot
+                    : new MctsNode(game.getWidth(), MoveStatus.OK);
+            final MctsNode root = roots[t];
+            final SplittableRandom workerRandom = random.split();
+            final Connect4 fork = game.fork();
+            workers.add(() -> search(fork, root, workerRandom, budget, start, timeNanos));
+        }
+
+        long playouts = 0;
+        try  {
+            for (final Future<Long> future : executor.invokeAll(workers))  {
+                playouts += future.get();
+            }
+        }  catch (final InterruptedException e)  {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search was interrupted!", e);
+        }  catch (final ExecutionException e)  {
+            throw new IllegalStateException("Search failed!", e.getCause());
+        }
+        return createResult(game, parallelism == Parallelism.TREE ? new MctsNode[] {sharedRoot} : roots,
+                playouts, System.nanoTime() - start);
+    }
+
+    /**
+     * Shuts down the threads of the player.
+     */
+    @Override
+    public void close()  {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs iterations until one of the budgets is used up.
+     *
+     * @param game Private game of the thread at the root position
+     * @param root Root of the tree to search
+     * @param random Random generator of the thread
+     * @param budget Remaining playouts of all threads
+     * @param start {@link System#nanoTime()} at the start of the search
+     * @param timeNanos Time in nanoseconds after which the search stops
+     * @return The amount of playouts of the thread
+     */
+    private long search(final Connect4 game, final MctsNode root, final SplittableRandom random,
+            final AtomicLong budget, final long start, final long timeNanos)  {
+        final MctsNode[] path = new MctsNode[game.getLayout().getSize() + 1];
+        final RandomPolicy playoutPolicy = new RandomPolicy();
+        long playouts = 0;
+        while (budget.getAndDecrement() > 0)  {
+            iterate(game, root, path, playoutPolicy, random);
+            playouts++;
+            if (System.nanoTime() - start >= timeNanos)  {  // elapsed time, nanoTime itself may be negative
+                break;
+            }
+        }
+        return playouts;
+    }
+
+    /**
+     * Runs a single iteration: selection, expansion, playout and backpropagation.
+     * The game is back at the root position afterwards.
+     *
+     * @param game Private game of the thread at the root position
+     * @param root Root of the tree
+     * @param path Array for the nodes of the path
+     * @param playoutPolicy Policy for the random playout
+     * @param random Random generator of the thread
+     */
+    private void iterate(final Connect4 game, final MctsNode root, final MctsNode[] path,
+            final RandomPolicy playoutPolicy, final SplittableRandom random)  {
+        final int rootRounds = game.getPlayedRounds();
+        int depth = 0;
+        path[0] = root;
+        root.addVirtualLoss();
+
+        MctsNode node = root;
+        int status = MoveStatus.OK;
+        while (!node.isTerminal())  {
+            final int untried = selectUntried(game, node, random);
+            if (untried != -1)  {
+                status = game.playFast(untried + 1);
+                node = node.expand(untried, status);
+                node.addVirtualLoss();
+                path[++depth] = node;
+                break;
+            }
+            final int column = selectChild(game, node);
+            status = game.playFast(column + 1);
+            node = node.getChild(column);
+            node.addVirtualLoss();
+            path[++depth] = node;
+        }
+
+        while (status == MoveStatus.OK)  {
+            status = game.playFast(playoutPolicy.selectColumn(game, random));
+        }
+        final int winner = status == MoveStatus.WIN
+                ? (game.getPlayedRounds() - 1) & 1
+                : -1;
+
+        for (int d = 1; d <= depth; d++)  {
+            final int mover = (rootRounds + d - 1) & 1;
+            path[d].addReward(winner == -1 ? 0.5 : winner == mover ? 1 : 0);
+        }
+        while (game.getPlayedRounds() > rootRounds)  {
+            game.undo();
+        }
+    }
+
+    /**
+     * Chooses a random column which can be played but has no child yet.
+     *
+     * @param game Game at the position of the node
+     * @param node Node to expand
+     * @param random Random generator of the thread
+     * @return The column index, {@code -1} if every playable column has a child
+     */
+    private static int selectUntried(final Connect4 game, final MctsNode node, final SplittableRandom random)  {
+        int untried = 0;
+        for (int c = 0; c < game.getWidth(); c++)  {
+            if (node.getChild(c) == null && game.canPlay(c + 1))  {
+                untried++;
+            }
+        }
+        if (untried == 0)  {
+            return -1;
+        }
+        int chosen = random.nextInt(untried);
+        for (int c = 0; c < game.getWidth(); c++)  {
+            if (node.getChild(c) == null && game.canPlay(c + 1) && chosen-- == 0)  {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Chooses the child with the highest upper confidence bound.
+     *
+     * @param game Game at the position of the node
+     * @param node Fully expanded node
+     * @return The column index of the chosen child
+     */
+    private int selectChild(final Connect4 game, final MctsNode node)  {
+        final double logVisits = Math.log(Math.max(1, node.getVisits()));
+        int best = -1;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int c = 0; c < game.getWidth(); c++)  {
+            final MctsNode child = node.getChild(c);
+            if (child == null || !game.canPlay(c + 1))  {
+                continue;
+            }
+            final int visits = child.getVisits();
+            if (visits == 0)  {  // just created by another thread
+                return c;
+            }
+            final double value = child.getWins() / visits + exploration * Math.sqrt(logVisits / visits);
+            if (value > bestValue)  {
+                bestValue = value;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Creates the result from the statistics of the root children.
+     *
+     * @param game Searched game
+     * @param roots Roots of all searched trees
+     * @param playouts Amount of playouts
+     * @param elapsedNanos Elapsed time in nanoseconds
+     * @return The result of the search
+     */
+    private static MctsResult createResult(final Connect4 game, final MctsNode[] roots,
+            final long playouts, final long elapsedNanos)  {
+        int bestColumn = -1;
+        long bestVisits = -1;
+        double bestWins = 0;
+        for (int c = 0; c < game.getWidth(); c++)  {
+            long visits = 0;
+            double wins = 0;
+            for (final MctsNode root : roots)  {
+                final MctsNode child = root.getChild(c);
+                if (child != null)  {
+                    visits += child.getVisits();
+                    wins += child.getWins();
+                }
+            }
+            if (game.canPlay(c + 1) && visits > bestVisits)  {
+                bestColumn = c + 1;
+                bestVisits = visits;
+                bestWins = wins;
+            }
+        }
+        final double winRate = bestVisits > 0
+                ? bestWins / bestVisits
+                : 0.5;
+        return new MctsResult(bestColumn, winRate, playouts, elapsedNanos);
+    }
+
+}
@@ -0,0 +1,82 @@
+package tk.dmanstrator.connectfour.mcts;
+
+/**
+ * POJO class representing the result of a {@link MctsPlayer} search.
+ * @author DManstrator
+ *
+ */
+public class MctsResult {
+
+    private final int bestColumn;
+    private final double winRate;
+    private final long playouts;
+    private final long elapsedNanos;
+
+    /**
+     * Constructor for a search result.
+     *
+     * @param bestColumn Most visited column, starting with {@code 1} on the left
+     * @param winRate Average reward of the best column for the player to move
+     * @param playouts Amount of playouts
+     * @param elapsedNanos Elapsed time in nanoseconds
+     */
+    public MctsResult(final int bestColumn, final double winRate, final long playouts, final long elapsedNanos)  {
+        this.bestColumn = bestColumn;
+        this.winRate = winRate;
+        this.playouts = playouts;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the most visited column, as expected by {@code play(int)}.
+     * @return The best column, starting with {@code 1} on the left
+     */
+    public int getBestColumn() {
+        return bestColumn;
+    }
+
+    /**
+     * Returns the average reward of the best column for the player to move.
+     * A win counts as {@code 1}, a draw as {@code 0.5} and a loss as {@code 0}.
+     * @return The estimated win rate between {@code 0} and {@code 1}
+     */
+    public double getWinRate() {
+        return winRate;
+    }
+
+    /**
+     * Returns the amount of playouts.
+     * @return The amount of playouts
+     */
+    public long getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     * Returns the elapsed time in nanoseconds.
+     * @return The elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the amount of playouts per second.
+     * @return The amount of playouts per second
+     */
+    public double getPlayoutsPerSecond()  {
+        return elapsedNanos == 0
+                ? 0
+                : playouts * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * toString overload returning the best column and the cost of the search.
+     */
+    @Override
+    public String toString() {
+        return String.format("Best column %d (%.1f%%), %d playouts in %d ms (%.0f/s)", bestColumn,
+                winRate * 100, playouts, elapsedNanos / 1_000_000, getPlayoutsPerSecond());
+    }
+
+}
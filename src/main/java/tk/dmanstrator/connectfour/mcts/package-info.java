@@ -0,0 +1,7 @@
+/**
+ * Package containing the {@link tk.dmanstrator.connectfour.mcts.MctsPlayer}
+ * for choosing moves with a Monte Carlo Tree Search.
+ * @author DManstrator
+ *
+ */
+package tk.dmanstrator.connectfour.mcts;
@@ -0,0 +1,41 @@
+package tk.dmanstrator.connectfour.metrics;
+
+/**
+ * Interface for recording what games are doing, set with
+ * {@link tk.dmanstrator.connectfour.Connect4#setMetrics(GameMetrics)}.<br><br>
+ *
+ * Implementations are called synchronously by every round played with {@code play},
+ * possibly from many games on many threads at once, so they have to be thread-safe and cheap.
+ * Games use {@link GameMetrics#noOp()} by default and don't even measure the time then.
+ * @author DManstrator
+ *
+ */
+public interface GameMetrics {
+
+    /**
+     * Returns the metrics which record nothing.
+     * @return The shared no-op metrics
+     */
+    static GameMetrics noOp()  {
+        return NoOpMetrics.INSTANCE;
+    }
+
+    /**
+     * Records a played round, valid or not.
+     *
+     * @param status {@link tk.dmanstrator.connectfour.MoveStatus} of the round
+     * @param latencyNanos Time needed for the round in nanoseconds, including the log entries
+     */
+    void recordMove(int status, long latencyNanos);
+
+    /**
+     * Records a game which just ended.
+     *
+     * @param status {@link tk.dmanstrator.connectfour.MoveStatus#WIN} or
+     * {@link tk.dmanstrator.connectfour.MoveStatus#DRAW}
+     * @param rounds Amount of valid rounds of the game
+     * @param logSize Amount of entries in the log of the game
+     */
+    void recordGameEnd(int status, int rounds, int logSize);
+
+}
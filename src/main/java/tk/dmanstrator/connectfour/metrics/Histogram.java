@@ -0,0 +1,106 @@
+package tk.dmanstrator.connectfour.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe histogram of non-negative values with one bucket per power of two.<br><br>
+ *
+ * Bucket {@code i} counts the values between {@code 2^(i-1)} and {@code 2^i - 1}, bucket {@code 0}
+ * counts zero. Every bucket is a {@link LongAdder}, so concurrent updates from many threads
+ * go to different cells instead of contending on a single counter.
+ * @author DManstrator
+ *
+ */
+public class Histogram {
+
+    private static final int BUCKETS = Long.SIZE;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Constructor for an empty histogram.
+     */
+    public Histogram()  {
+        for (int i = 0; i < BUCKETS; i++)  {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a value, negative values are recorded as zero.
+     * @param value Value to record
+     */
+    public void record(final long value)  {
+        final long recorded = Math.max(0, value);
+        buckets[Long.SIZE - Long.numberOfLeadingZeros(recorded)].increment();
+        sum.add(recorded);
+    }
+
+    /**
+     * Returns the amount of recorded values.
+     * @return The amount of recorded values
+     */
+    public long getCount()  {
+        long count = 0;
+        for (final LongAdder bucket : buckets)  {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the sum of all recorded values.
+     * @return The sum of all recorded values
+     */
+    public long getSum()  {
+        return sum.sum();
+    }
+
+    /**
+     * Returns the average of all recorded values.
+     * @return The average, {@code 0} if nothing was recorded
+     */
+    public double getMean()  {
+        final long count = getCount();
+        return count == 0
+                ? 0
+                : (double) getSum() / count;
+    }
+
+    /**
+     * Returns the amount of values per bucket.
+     * @return A copy of the counts, bucket {@code i} counts values below {@code 2^i}
+     */
+    public long[] getBuckets()  {
+        final long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++)  {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * Estimates a percentile as the upper bound of the bucket containing it.
+     *
+     * @param percentile Percentile between {@code 0} and {@code 100}
+     * @return The upper bound of the bucket, {@code 0} if nothing was recorded
+     */
+    public long getPercentile(final double percentile)  {
+        final long[] counts = getBuckets();
+        long total = 0;
+        for (final long count : counts)  {
+            total += count;
+        }
+        final long rank = (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++)  {
+            seen += counts[i];
+            if (seen >= rank && seen > 0)  {
+                return (1L << i) - 1;  // overflows to Long.MAX_VALUE for the last bucket
+            }
+        }
+        return 0;
+    }
+
+}
@@ -0,0 +1,24 @@
+package tk.dmanstrator.connectfour.metrics;
+
+/**
+ * Metrics which record nothing.
+ * @author DManstrator
+ *
+ */
+enum NoOpMetrics implements GameMetrics {
+    /**
+     * The only instance.
+     */
+    INSTANCE;
+
+    @Override
+    public void recordMove(final int status, final long latencyNanos)  {
+        // records nothing
+    }
+
+    @Override
+    public void recordGameEnd(final int status, final int rounds, final int logSize)  {
+        // records nothing
+    }
+
+}
@@ -0,0 +1,137 @@
+package tk.dmanstrator.connectfour.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import tk.dmanstrator.connectfour.MoveStatus;
+
+/**
+ * Metrics collecting counters and histograms in memory, meant to be shared by all games.<br><br>
+ *
+ * All counters are {@link LongAdder striped}, so games on different threads update different cells
+ * and only reading the values sums them up.
+ * @author DManstrator
+ *
+ */
+public class StripedGameMetrics implements GameMetrics {
+
+    private final LongAdder[] moves = new LongAdder[MoveStatus.COUNT];
+    private final Histogram moveLatency = new Histogram();
+    private final Histogram gameLength = new Histogram();
+    private final Histogram logSize = new Histogram();
+    private final LongAccumulator maxLogSize = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Constructor for empty metrics.
+     */
+    public StripedGameMetrics()  {
+        for (int status = 0; status < moves.length; status++)  {
+            moves[status] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void recordMove(final int status, final long latencyNanos)  {
+        moves[status].increment();
+        moveLatency.record(latencyNanos);
+    }
+
+    @Override
+    public void recordGameEnd(final int status, final int rounds, final int logSize)  {
+        gameLength.record(rounds);
+        this.logSize.record(logSize);
+        maxLogSize.accumulate(logSize);
+    }
+
+    /**
+     * Returns the amount of rounds with the given status.
+     * Wins and draws are counted here as well as in {@link StripedGameMetrics#getWins()}.
+     *
+     * @param status {@link MoveStatus} of the rounds
+     * @return The amount of rounds with the status
+     */
+    public long getMoves(final int status)  {
+        return moves[status].sum();
+    }
+
+    /**
+     * Returns the amount of valid rounds.
+     * @return The amount of valid rounds
+     */
+    public long getValidMoves()  {
+        return getMoves(MoveStatus.OK) + getMoves(MoveStatus.WIN) + getMoves(MoveStatus.DRAW);
+    }
+
+    /**
+     * Returns the amount of invalid rounds.
+     * @return The amount of invalid rounds
+     */
+    public long getInvalidMoves()  {
+        long invalid = 0;
+        for (int status = 0; status < moves.length; status++)  {
+            if (!MoveStatus.isValid(status))  {
+                invalid += getMoves(status);
+            }
+        }
+        return invalid;
+    }
+
+    /**
+     * Returns the amount of won games.
+     * @return The amount of won games
+     */
+    public long getWins()  {
+        return getMoves(MoveStatus.WIN);
+    }
+
+    /**
+     * Returns the amount of drawn games.
+     * @return The amount of drawn games
+     */
+    public long getDraws()  {
+        return getMoves(MoveStatus.DRAW);
+    }
+
+    /**
+     * Returns the histogram of the time needed for a round in nanoseconds.
+     * @return The histogram of the round latency
+     */
+    public Histogram getMoveLatency()  {
+        return moveLatency;
+    }
+
+    /**
+     * Returns the histogram of the amount of valid rounds of finished games.
+     * @return The histogram of the game length
+     */
+    public Histogram getGameLength()  {
+        return gameLength;
+    }
+
+    /**
+     * Returns the histogram of the amount of log entries of finished games.
+     * @return The histogram of the log size
+     */
+    public Histogram getLogSize()  {
+        return logSize;
+    }
+
+    /**
+     * Returns the highest amount of log entries of a finished game.
+     * @return The highest log size
+     */
+    public long getMaxLogSize()  {
+        return maxLogSize.get();
+    }
+
+    /**
+     * toString overload returning the most important values.
+     */
+    @Override
+    public String toString() {
+        return String.format("%d valid and %d invalid moves (p50 %d ns, p99 %d ns), %d wins, %d draws, "
+                + "%.1f rounds per game", getValidMoves(), getInvalidMoves(), moveLatency.getPercentile(50),
+                moveLatency.getPercentile(99), getWins(), getDraws(), gameLength.getMean());
+    }
+
+}
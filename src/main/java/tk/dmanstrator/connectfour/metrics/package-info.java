@@ -0,0 +1,7 @@
+/**
+ * Package containing the {@link tk.dmanstrator.connectfour.metrics.GameMetrics} interface
+ * for instrumenting games and its implementations.
+ * @author DManstrator
+ *
+ */
+package tk.dmanstrator.connectfour.metrics;
@@ -0,0 +1,102 @@
+package tk.dmanstrator.connectfour.perft;
+
+import tk.dmanstrator.connectfour.Connect4;
+import tk.dmanstrator.connectfour.DefaultConnect4;
+import tk.dmanstrator.connectfour.MoveStatus;
+import tk.dmanstrator.connectfour.RoundResult;
+import tk.dmanstrator.connectfour.board.BoardLayout;
+
+/**
+ * {@link PerftEngine} playing the rounds of a {@link DefaultConnect4} game.<br><br>
+ *
+ * The {@link Mode#LOGGED logged mode} plays every round with {@link Connect4#play(int)},
+ * so it includes the game log. The {@link Mode#FAST fast mode} plays with
+ * {@link Connect4#playFast(int)}, which skips the log and allocates nothing.
+ * Both modes share the bitboard, so they are checked against a {@link ReferenceEngine}.
+ * @author DManstrator
+ *
+ */
+public class Connect4Engine implements PerftEngine {
+
+    /**
+     * Represents how the rounds are played.
+     * @author DManstrator
+     *
+     */
+    public enum Mode  {
+        /**
+         * Rounds are played and logged with {@link Connect4#play(int)}.
+         */
+        LOGGED,
+
+        /**
+         * Rounds are played with {@link Connect4#playFast(int)}.
+         */
+        FAST
+    }
+
+    private static final String FIRST_PLAYER = "Player1";
+    private static final String SECOND_PLAYER = "Player2";
+
+    private final Connect4 game;
+    private final Mode mode;
+
+    /**
+     * Constructor for an engine at the empty field.
+     *
+     * @param layout Layout of the field
+     * @param mode How the rounds are played
+     */
+    public Connect4Engine(final BoardLayout layout, final Mode mode)  {
+        this.game = new DefaultConnect4(FIRST_PLAYER, SECOND_PLAYER, layout);
+        this.mode = mode;
+    }
+
+    @Override
+    public int getWidth()  {
+        return game.getWidth();
+    }
+
+    @Override
+    public int play(final int column)  {
+        if (mode == Mode.FAST)  {
+            return game.playFast(column + 1);
+        }
+        final boolean gameOver = game.isGameOver();
+        final RoundResult result = game.play(column + 1);
+        if (!result.isValid())  {
+            return gameOver
+                    ? MoveStatus.GAME_OVER
+                    : MoveStatus.COLUMN_FULL;
+        }
+        if (game.isDraw())  {
+            return MoveStatus.DRAW;
+        }
+        return game.isGameOver()
+                ? MoveStatus.WIN
+                : MoveStatus.OK;
+    }
+
+    @Override
+    public void undo()  {
+        game.undo();
+    }
+
+    @Override
+    public PerftEngine copy()  {
+        final Connect4Engine copy = new Connect4Engine(game.getLayout(), mode);
+        for (int round = 0; round < game.getPlayedRounds(); round++)  {
+            copy.game.playFast(game.getColumnOfRound(round));
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the mode of the engine.
+     * @return How the rounds are played
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+}
@@ -0,0 +1,194 @@
+package tk.dmanstrator.connectfour.perft;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import tk.dmanstrator.connectfour.MoveStatus;
+import tk.dmanstrator.connectfour.board.BoardLayout;
+
+/**
+ * Tool enumerating all move sequences from the position of a {@link PerftEngine} up to a depth
+ * (performance test, short perft).<br><br>
+ *
+ * For every ply, the reached positions are counted once per move sequence, together with the positions
+ * in which the game was won or drawn. Positions in which the game is over are not expanded.
+ * The counts only depend on the rules, so a faster engine is correct if its counts match the counts
+ * of the {@link ReferenceEngine}, and the nodes per second measure the raw
+ * speed of playing and taking back rounds.<br><br>
+ *
+ * The first plies are split into fork/join tasks, every task copies the engine once
+ * and enumerates its subtree by playing and taking back rounds.<br><br>
+ *
+ * <b>Usage:</b> {@code Perft <depth> [threads]} compares the reference and the fast engine on the default field.
+ * @author DManstrator
+ *
+ */
+public class Perft {
+
+    private static final int SPLIT_PLIES = 2;
+
+    private final int threads;
+
+    /**
+     * Constructor for a perft tool.
+     * @param threads Amount of worker threads
+     * @throws IllegalArgumentException if the amount of threads is not positive
+     */
+    public Perft(final int threads)  {
+        if (threads < 1)  {
+            throw new IllegalArgumentException("At least one thread is needed!");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Main method for comparing the engines from the command line.
+     * @param args Depth and optionally the amount of threads
+     */
+    public static void main(final String[] args)  {
+        if (args.length < 1)  {
+            System.err.println("Usage: Perft <depth> [threads]");
+            return;
+        }
+        final int depth = Integer.parseInt(args[0]);
+        final int threads = args.length > 1
+                ? Integer.parseInt(args[1])
+                : Runtime.getRuntime().availableProcessors();
+        final Perft perft = new Perft(threads);
+        final PerftResult reference = perft.run(new ReferenceEngine(BoardLayout.DEFAULT), depth);
+        final PerftResult fast = perft.run(new Connect4Engine(BoardLayout.DEFAULT, Connect4Engine.Mode.FAST), depth);
+        System.out.println("Reference:");
+        System.out.println(reference);
+        System.out.println("Fast:");
+        System.out.println(fast);
+
+        final int mismatch = fast.findMismatch(reference);
+        System.out.println(mismatch == 0
+                ? "All plies match."
+                : "Mismatch at ply " + mismatch + "!");
+    }
+
+    /**
+     * Enumerates all move sequences from the position of the engine.
+     *
+     * @param engine Engine at the root position, won't be changed
+     * @param depth Amount of plies to enumerate
+     * @return The counts per ply
+     * @throws IllegalArgumentException if the depth is negative
+     */
+    public PerftResult run(final PerftEngine engine, final int depth)  {
+        if (depth < 0)  {
+            throw new IllegalArgumentException("Depth must not be negative!");
+        }
+        final long start = System.nanoTime();
+        final ForkJoinPool pool = new ForkJoinPool(threads);
+        try  {
+            final long[][] counts = pool.invoke(new PerftTask(engine.copy(), 1, depth));
+            return new PerftResult(counts[0], counts[1], counts[2], System.nanoTime() - start);
+        }  finally  {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Task enumerating the subtree of a position.
+     * @author DManstrator
+     *
+     */
+    private static final class PerftTask extends RecursiveTask<long[][]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient PerftEngine engine;
+        private final int ply;
+        private final int depth;
+
+        /**
+         * Constructor for a task.
+         *
+         * @param engine Private engine of the task
+         * @param ply Ply of the next round
+         * @param depth Highest ply to enumerate
+         */
+        PerftTask(final PerftEngine engine, final int ply, final int depth)  {
+            this.engine = engine;
+            this.ply = ply;
+            this.depth = depth;
+        }
+
+        @Override
+        protected long[][] compute()  {
+            final long[][] counts = new long[3][depth + 1];
+            if (ply > depth)  {
+                return counts;
+            }
+            if (ply > SPLIT_PLIES || ply == depth)  {
+                enumerate(engine, ply, depth, counts);
+                return counts;
+            }
+
+            final List<PerftTask> subtasks = new ArrayList<>(engine.getWidth());
+            for (int column = 0; column < engine.getWidth(); column++)  {
+                final int status = engine.play(column);
+                if (MoveStatus.isValid(status))  {
+                    count(counts, ply, status);
+                    if (status == MoveStatus.OK)  {
+                        subtasks.add(new PerftTask(engine.copy(), ply + 1, depth));
+                    }
+                    engine.undo();
+                }
+            }
+            for (final PerftTask subtask : invokeAll(subtasks))  {
+                final long[][] subcounts = subtask.join();
+                for (int i = 0; i < counts.length; i++)  {
+                    for (int p = ply + 1; p <= depth; p++)  {
+                        counts[i][p] += subcounts[i][p];
+                    }
+                }
+            }
+            return counts;
+        }
+
+        /**
+         * Enumerates a subtree sequentially.
+         *
+         * @param engine Engine at the position of the subtree
+         * @param ply Ply of the next round
+         * @param depth Highest ply to enumerate
+         * @param counts Counts to add to
+         */
+        private static void enumerate(final PerftEngine engine, final int ply, final int depth,
+                final long[][] counts)  {
+            for (int column = 0; column < engine.getWidth(); column++)  {
+                final int status = engine.play(column);
+                if (MoveStatus.isValid(status))  {
+                    count(counts, ply, status);
+                    if (status == MoveStatus.OK && ply < depth)  {
+                        enumerate(engine, ply + 1, depth, counts);
+                    }
+                    engine.undo();
+                }
+            }
+        }
+
+        /**
+         * Counts a reached position.
+         *
+         * @param counts Counts of nodes, wins and draws per ply
+         * @param ply Ply of the position
+         * @param status {@link MoveStatus} of the round leading to the position
+         */
+        private static void count(final long[][] counts, final int ply, final int status)  {
+            counts[0][ply]++;
+            if (status == MoveStatus.WIN)  {
+                counts[1][ply]++;
+            }  else if (status == MoveStatus.DRAW)  {
+                counts[2][ply]++;
+            }
+        }
+
+    }
+
+}
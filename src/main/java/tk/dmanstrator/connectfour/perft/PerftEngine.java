@@ -0,0 +1,37 @@
+package tk.dmanstrator.connectfour.perft;
+
+import tk.dmanstrator.connectfour.MoveStatus;
+
+/**
+ * Engine whose rounds can be enumerated by {@link Perft}.
+ * A faster engine is checked by comparing its counts with the counts of a reference engine.
+ * @author DManstrator
+ *
+ */
+public interface PerftEngine {
+
+    /**
+     * Returns the amount of columns of the field.
+     * @return The amount of columns
+     */
+    int getWidth();
+
+    /**
+     * Drops a piece of the player to move into a column.
+     * @param column Column index, starting with {@code 0} on the left
+     * @return The {@link MoveStatus} of the round, an invalid status if the column can't be played
+     */
+    int play(int column);
+
+    /**
+     * Takes back the last valid round.
+     */
+    void undo();
+
+    /**
+     * Creates an independent engine at the same position, used to search subtrees in parallel.
+     * @return The copy of the engine
+     */
+    PerftEngine copy();
+
+}
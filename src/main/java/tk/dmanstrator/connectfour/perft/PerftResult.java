@@ -0,0 +1,126 @@
+package tk.dmanstrator.connectfour.perft;
+
+/**
+ * POJO class representing the counts of a {@link Perft} run per ply.
+ * The ply {@code 1} is the first round played from the root position.
+ * @author DManstrator
+ *
+ */
+public class PerftResult {
+
+    private final long[] nodes;
+    private final long[] wins;
+    private final long[] draws;
+    private final long elapsedNanos;
+
+    /**
+     * Constructor for a result.
+     *
+     * @param nodes Amount of reached positions per ply, index {@code 0} is unused
+     * @param wins Amount of reached positions which were won per ply, index {@code 0} is unused
+     * @param draws Amount of reached positions which ended in a draw per ply, index {@code 0} is unused
+     * @param elapsedNanos Elapsed time in nanoseconds
+     */
+    public PerftResult(final long[] nodes, final long[] wins, final long[] draws, final long elapsedNanos)  {
+        this.nodes = nodes;
+        this.wins = wins;
+        this.draws = draws;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the enumerated depth.
+     * @return The highest ply
+     */
+    public int getDepth()  {
+        return nodes.length - 1;
+    }
+
+    /**
+     * Returns the amount of positions reached with exactly {@code ply} rounds, counted once per move sequence.
+     * @param ply Ply, starting with {@code 1}
+     * @return The amount of reached positions
+     */
+    public long getNodes(final int ply)  {
+        return nodes[ply];
+    }
+
+    /**
+     * Returns the amount of positions reached with exactly {@code ply} rounds in which the last round won.
+     * @param ply Ply, starting with {@code 1}
+     * @return The amount of won positions
+     */
+    public long getWins(final int ply)  {
+        return wins[ply];
+    }
+
+    /**
+     * Returns the amount of positions reached with exactly {@code ply} rounds which ended in a draw.
+     * @param ply Ply, starting with {@code 1}
+     * @return The amount of drawn positions
+     */
+    public long getDraws(final int ply)  {
+        return draws[ply];
+    }
+
+    /**
+     * Returns the amount of reached positions of all plies.
+     * @return The amount of all reached positions
+     */
+    public long getTotalNodes()  {
+        long total = 0;
+        for (int ply = 1; ply < nodes.length; ply++)  {
+            total += nodes[ply];
+        }
+        return total;
+    }
+
+    /**
+     * Returns the elapsed time in nanoseconds.
+     * @return The elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the amount of played rounds per second.
+     * @return The amount of reached positions per second
+     */
+    public double getNodesPerSecond()  {
+        return elapsedNanos == 0
+                ? 0
+                : getTotalNodes() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Finds the first ply whose counts differ from another result.
+     *
+     * @param other Result to compare with, e.g. of a reference engine
+     * @return The first ply with different counts, {@code 0} if all common plies match
+     */
+    public int findMismatch(final PerftResult other)  {
+        final int depth = Math.min(getDepth(), other.getDepth());
+        for (int ply = 1; ply <= depth; ply++)  {
+            if (nodes[ply] != other.nodes[ply] || wins[ply] != other.wins[ply] || draws[ply] != other.draws[ply])  {
+                return ply;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * toString overload returning the counts of every ply and the speed.
+     */
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (int ply = 1; ply < nodes.length; ply++)  {
+            builder.append(String.format("%3d %,16d nodes %,14d wins %,12d draws%n",
+                    ply, nodes[ply], wins[ply], draws[ply]));
+        }
+        return builder.append(String.format("%,d nodes in %d ms (%,.0f/s)", getTotalNodes(),
+                elapsedNanos / 1_000_000, getNodesPerSecond())).toString();
+    }
+
+}
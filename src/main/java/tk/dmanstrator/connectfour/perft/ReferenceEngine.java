@@ -0,0 +1,184 @@
+package tk.dmanstrator.connectfour.perft;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import tk.dmanstrator.connectfour.MoveStatus;
+import tk.dmanstrator.connectfour.board.BoardLayout;
+
+/**
+ * {@link PerftEngine} playing with the original rules of the game, which used a {@code char[][]} field.<br><br>
+ *
+ * The field, the column fill and the scan for a winning row are ported from the {@code Connect4} class
+ * before it was based on a {@link tk.dmanstrator.connectfour.board.Board Board}, only generalized to a
+ * {@link BoardLayout}. The engine shares no code with the bitboard, so its counts are an independent
+ * reference for {@link Connect4Engine}.
+ * @author DManstrator
+ *
+ */
+public class ReferenceEngine implements PerftEngine {
+
+    private static final char EMPTY_CHAR = ' ';
+    private static final char PLAYER_ONE_COLOR = 'r';
+    private static final char PLAYER_TWO_COLOR = 'y';
+
+    private final BoardLayout layout;
+    private final int width;
+    private final int height;
+    private final int minRounds;
+    private final int maxRounds;
+    private final int[][][] allMatrices;
+
+    private final char[][] field;
+    private final Map<Integer, Integer> entriesPerColumn = new HashMap<>();
+    private final int[] playedColumns;
+
+    private boolean firstPlayer = true;
+    private int playedRounds = 0;
+    private boolean gameOver = false;
+
+    /**
+     * Constructor for an engine at the empty field.
+     * @param layout Layout of the field
+     */
+    public ReferenceEngine(final BoardLayout layout)  {
+        this.layout = layout;
+        this.width = layout.getWidth();
+        this.height = layout.getHeight();
+        this.minRounds = 2 * (layout.getWinAmount() - 1);
+        this.maxRounds = width * height;
+        this.allMatrices = createMatrices(layout.getWinAmount());
+        this.field = createNewField();
+        this.playedColumns = new int[maxRounds];
+    }
+
+    @Override
+    public int getWidth()  {
+        return width;
+    }
+
+    @Override
+    public int play(final int column)  {
+        if (gameOver)  {
+            return MoveStatus.GAME_OVER;
+        }
+        if (column < 0 || column >= width)  {
+            return MoveStatus.INVALID_RANGE;
+        }
+        final int entriesInColumn = entriesPerColumn.getOrDefault(column, 0);
+        final int y = height - 1 - entriesInColumn;
+        if (!isInRange(column, y))  {
+            return MoveStatus.COLUMN_FULL;
+        }
+
+        field[y][column] = getCurrentPlayerColor();
+        entriesPerColumn.put(column, entriesInColumn + 1);
+        playedColumns[playedRounds++] = column;
+
+        if (playedRounds > minRounds && checkGameOver(column, y))  {
+            gameOver = true;
+            return MoveStatus.WIN;
+        }
+        if (playedRounds == maxRounds)  {
+            gameOver = true;
+            return MoveStatus.DRAW;
+        }
+        firstPlayer = !firstPlayer;
+        return MoveStatus.OK;
+    }
+
+    @Override
+    public void undo()  {
+        if (playedRounds == 0)  {
+            return;
+        }
+        if (!gameOver)  {  // the player only changes if the game continues
+            firstPlayer = !firstPlayer;
+        }
+        gameOver = false;
+
+        final int column = playedColumns[--playedRounds];
+        final int entriesInColumn = entriesPerColumn.get(column) - 1;
+        field[height - 1 - entriesInColumn][column] = EMPTY_CHAR;
+        entriesPerColumn.put(column, entriesInColumn);
+    }
+
+    @Override
+    public PerftEngine copy()  {
+        final ReferenceEngine copy = new ReferenceEngine(layout);
+        for (int round = 0; round < playedRounds; round++)  {
+            copy.play(playedColumns[round]);
+        }
+        return copy;
+    }
+
+    /**
+     * Creates the offsets around the last piece to scan for a row, a column and both diagonals.
+     * @param winAmount Amount of pieces in a row needed to win
+     * @return The offsets per direction
+     */
+    private static int[][][] createMatrices(final int winAmount)  {
+        final int[][] directions = {{1, 0}, {0, 1}, {1, 1}, {1, -1}};
+        final int[][][] matrices = new int[directions.length][2 * winAmount - 1][];
+        for (int d = 0; d < directions.length; d++)  {
+            for (int i = 0; i < matrices[d].length; i++)  {
+                final int offset = i - (winAmount - 1);
+                matrices[d][i] = new int[] {offset * directions[d][0], offset * directions[d][1]};
+            }
+        }
+        return matrices;
+    }
+
+    private char[][] createNewField()  {
+        final char[][] field = new char[height][width];
+        for (final char[] arr : field)  {
+            Arrays.fill(arr, EMPTY_CHAR);
+        }
+        return field;
+    }
+
+    private boolean isInRange(final int x, final int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    private char getCurrentPlayerColor()  {
+        return firstPlayer
+                ? PLAYER_ONE_COLOR
+                : PLAYER_TWO_COLOR;
+    }
+
+    private boolean checkGameOver(final int lastX, final int lastY)  {
+        for (final int[][] matrix : allMatrices)  {
+            final int hits = getHitsInOrder(matrix, lastX, lastY);
+            if (hits >= layout.getWinAmount())  {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int getHitsInOrder(final int[][] sourceMatrix, final int srcX, final int srcY)  {
+        int hitsInOrder = 0, maxHits = 0;
+        final char currentPlayerColour = getCurrentPlayerColor();
+        for (final int[] matrixElement : sourceMatrix)  {
+            final char colorOfField = getColorOfField(matrixElement, srcX, srcY);
+            if (colorOfField == currentPlayerColour)  {
+                hitsInOrder++;
+            }  else  {
+                maxHits = Math.max(maxHits, hitsInOrder);
+                hitsInOrder = 0;
+            }
+        }
+        return Math.max(maxHits, hitsInOrder);
+    }
+
+    private char getColorOfField(final int[] matrixElement, final int srcX, final int srcY)  {
+        final int x = srcX + matrixElement[0];
+        final int y = srcY + matrixElement[1];
+        return isInRange(x, y)
+                ? field[y][x]
+                : EMPTY_CHAR;
+    }
+
+}
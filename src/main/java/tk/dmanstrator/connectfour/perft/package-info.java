@@ -0,0 +1,7 @@
+/**
+ * Package containing the {@link tk.dmanstrator.connectfour.perft.Perft} tool which enumerates
+ * all move sequences up to a depth to check and measure {@link tk.dmanstrator.connectfour.perft.PerftEngine engines}.
+ * @author DManstrator
+ *
+ */
+package tk.dmanstrator.connectfour.perft;
@@ -0,0 +1,253 @@
+package tk.dmanstrator.connectfour.registry;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import tk.dmanstrator.connectfour.DefaultConnect4;
+import tk.dmanstrator.connectfour.RoundResult;
+
+/**
+ * Thread-safe registry for serving many live {@link DefaultConnect4} games by their id.<br><br>
+ *
+ * A game itself is not thread-safe, so every game is guarded by its own lock.
+ * Moves in different games never contend, only concurrent moves in the same game wait for each other.
+ * Games which weren't accessed for longer than the idle timeout are removed by
+ * {@link GameRegistry#evictIdleGames()}, which can be scheduled with
+ * {@link GameRegistry#scheduleEviction(ScheduledExecutorService, long, TimeUnit)}.<br><br>
+ *
+ * The registry counts created, removed and evicted games, played moves and
+ * how often and how long accesses had to wait for the lock of their game, see {@link GameRegistry#getMetrics()}.
+ * @author DManstrator
+ *
+ */
+public class GameRegistry {
+
+    private final ConcurrentMap<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final long idleTimeoutNanos;
+    private final LongSupplier clock;
+    private final long startTime;
+
+    private final LongAdder createdGames = new LongAdder();
+    private final LongAdder removedGames = new LongAdder();
+    private final LongAdder evictedGames = new LongAdder();
+    private final LongAdder accesses = new LongAdder();
+    private final LongAdder contendedAccesses = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder lockWaitNanos = new LongAdder();
+
+    /**
+     * Constructor for a registry with the given idle timeout.
+     *
+     * @param idleTimeout Time after which a game without access can be evicted
+     * @param unit Unit of the timeout
+     */
+    public GameRegistry(final long idleTimeout, final TimeUnit unit)  {
+        this(idleTimeout, unit, System::nanoTime);
+    }
+
+    /**
+     * Constructor for a registry with the given idle timeout and clock.
+     *
+     * @param idleTimeout Time after which a game without access can be evicted
+     * @param unit Unit of the timeout
+     * @param clock Clock returning the current time in nanoseconds
+     */
+    GameRegistry(final long idleTimeout, final TimeUnit unit, final LongSupplier clock)  {
+        if (idleTimeout <= 0)  {
+            throw new IllegalArgumentException("Idle timeout has to be positive!");
+        }
+        this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+        this.clock = clock;
+        this.startTime = clock.getAsLong();
+    }
+
+    /**
+     * Creates a new game with the given id.
+     *
+     * @param gameId Id of the game
+     * @param firstPlayerName Name of the first player
+     * @param secondPlayerName Name of the second player
+     * @return {@code true} if the game was created, else {@code false} since a game with the id already exists
+     */
+    public boolean createGame(final String gameId, final String firstPlayerName, final String secondPlayerName)  {
+        final GameSession session = new GameSession(
+                new DefaultConnect4(firstPlayerName, secondPlayerName), clock.getAsLong());
+        if (sessions.putIfAbsent(gameId, session) != null)  {
+            return false;
+        }
+        createdGames.increment();
+        return true;
+    }
+
+    /**
+     * Plays a round in the game with the given id.
+     *
+     * @param gameId Id of the game
+     * @param column Column which has to be between 1 and the width (7 by default)
+     * @return Possibly empty optional containing the result of the round, empty if the game doesn't exist
+     * @see DefaultConnect4#play(int)
+     */
+    public Optional<RoundResult> play(final String gameId, final int column)  {
+        return withGame(gameId, game -> {
+            moves.increment();
+            return game.play(column);
+        });
+    }
+
+    /**
+     * Runs the given action with exclusive access to the game with the given id.
+     * The game must not be used outside of the action.
+     *
+     * @param <T> Type of the result
+     * @param gameId Id of the game
+     * @param action Action to run with the game
+     * @return Possibly empty optional containing the result of the action, empty if the game doesn't exist
+     */
+    public <T> Optional<T> withGame(final String gameId, final Function<? super DefaultConnect4, T> action)  {
+        final GameSession session = sessions.get(gameId);
+        if (session == null)  {
+            return Optional.empty();
+        }
+        final ReentrantLock lock = session.getLock();
+        lock(lock);
+        try  {
+            if (session.isClosed())  {  // removed while waiting for the lock
+                return Optional.empty();
+            }
+            accesses.increment();
+            session.touch(clock.getAsLong());
+            return Optional.ofNullable(action.apply(session.getGame()));
+        }  finally  {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tells if a game with the given id exists.
+     *
+     * @param gameId Id of the game
+     * @return {@code true} if the game exists, else {@code false}
+     */
+    public boolean containsGame(final String gameId)  {
+        return sessions.containsKey(gameId);
+    }
+
+    /**
+     * Removes the game with the given id.
+     *
+     * @param gameId Id of the game
+     * @return {@code true} if the game was removed, else {@code false} since it didn't exist
+     */
+    public boolean removeGame(final String gameId)  {
+        final GameSession session = sessions.remove(gameId);
+        if (session == null)  {
+            return false;
+        }
+        close(session);
+        removedGames.increment();
+        return true;
+    }
+
+    /**
+     * Removes all games which weren't accessed for longer than the idle timeout.
+     * Games which are currently in use are skipped.
+     *
+     * @return The amount of evicted games
+     */
+    public int evictIdleGames()  {
+        final long deadline = clock.getAsLong() - idleTimeoutNanos;
+        int evicted = 0;
+        final Iterator<Map.Entry<String, GameSession>> iterator = sessions.entrySet().iterator();
+        while (iterator.hasNext())  {
+            final Map.Entry<String, GameSession> entry = iterator.next();
+            final GameSession session = entry.getValue();
+            if (session.getLastAccess() - deadline > 0)  {
+                continue;
+            }
+            final ReentrantLock lock = session.getLock();
+            if (!lock.tryLock())  {
+                continue;  // in use, so not idle
+            }
+            try  {
+                if (session.getLastAccess() - deadline <= 0 && sessions.remove(entry.getKey(), session))  {
+                    session.close();
+                    evicted++;
+                }
+            }  finally  {
+                lock.unlock();
+            }
+        }
+        evictedGames.add(evicted);
+        return evicted;
+    }
+
+    /**
+     * Schedules the eviction of idle games with a fixed delay.
+     *
+     * @param executor Executor to run the eviction
+     * @param period Delay between two evictions
+     * @param unit Unit of the delay
+     * @return The future of the scheduled eviction, can be used to cancel it
+     */
+    public ScheduledFuture<?> scheduleEviction(final ScheduledExecutorService executor,
+            final long period, final TimeUnit unit)  {
+        return executor.scheduleWithFixedDelay(this::evictIdleGames, period, period, unit);
+    }
+
+    /**
+     * Returns the amount of games in the registry.
+     * @return The amount of games in the registry
+     */
+    public int size()  {
+        return sessions.size();
+    }
+
+    /**
+     * Returns a snapshot of the metrics of the registry.
+     * @return A snapshot of the metrics
+     */
+    public RegistryMetrics getMetrics()  {
+        return new RegistryMetrics(sessions.size(), createdGames.sum(), removedGames.sum(),
+                evictedGames.sum(), moves.sum(), accesses.sum(), contendedAccesses.sum(), lockWaitNanos.sum(),
+                clock.getAsLong() - startTime);
+    }
+
+    /**
+     * Acquires the lock of a game and records the contention if it's held by another thread.
+     * @param lock Lock of the game
+     */
+    private void lock(final ReentrantLock lock)  {
+        if (lock.tryLock())  {
+            return;
+        }
+        final long start = System.nanoTime();
+        lock.lock();
+        contendedAccesses.increment();
+        lockWaitNanos.add(System.nanoTime() - start);
+    }
+
+    /**
+     * Marks a removed session as closed, so that threads waiting for its lock don't use it anymore.
+     * @param session Removed session
+     */
+    private static void close(final GameSession session)  {
+        final ReentrantLock lock = session.getLock();
+        lock.lock();
+        try  {
+            session.close();
+        }  finally  {
+            lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package tk.dmanstrator.connectfour.registry;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import tk.dmanstrator.connectfour.DefaultConnect4;
+
+/**
+ * A game of the {@link GameRegistry} together with its own lock.
+ * Only the thread holding the lock may access the game.
+ * @author DManstrator
+ *
+ */
+final class GameSession {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final DefaultConnect4 game;
+
+    private volatile long lastAccess;
+    private boolean closed = false;
+
+    /**
+     * Constructor for a session.
+     * 
+     * @param game Game of the session
+     * @param now Current time in nanoseconds
+     */
+    GameSession(final DefaultConnect4 game, final long now)  {
+        this.game = game;
+        this.lastAccess = now;
+    }
+
+    /**
+     * Returns the lock of the session.
+     * @return The lock of the session
+     */
+    ReentrantLock getLock()  {
+        return lock;
+    }
+
+    /**
+     * Returns the game. Only allowed while holding the lock.
+     * @return The game
+     */
+    DefaultConnect4 getGame()  {
+        return game;
+    }
+
+    /**
+     * Returns the time of the last access.
+     * @return The time of the last access in nanoseconds
+     */
+    long getLastAccess()  {
+        return lastAccess;
+    }
+
+    /**
+     * Updates the time of the last access. Only allowed while holding the lock.
+     * @param now Current time in nanoseconds
+     */
+    void touch(final long now)  {
+        lastAccess = now;
+    }
+
+    /**
+     * Tells if the session was removed from the registry. Only allowed while holding the lock.
+     * @return {@code true} if the session was removed, else {@code false}
+     */
+    boolean isClosed()  {
+        return closed;
+    }
+
+    /**
+     * Marks the session as removed from the registry. Only allowed while holding the lock.
+     */
+    void close()  {
+        closed = true;
+    }
+
+}
@@ -0,0 +1,149 @@
+package tk.dmanstrator.connectfour.registry;
+
+/**
+ * POJO class representing a snapshot of the metrics of a {@link GameRegistry}.
+ * @author DManstrator
+ *
+ */
+public class RegistryMetrics {
+
+    private final int activeGames;
+    private final long createdGames;
+    private final long removedGames;
+    private final long evictedGames;
+    private final long moves;
+    private final long accesses;
+    private final long contendedAccesses;
+    private final long lockWaitNanos;
+    private final long uptimeNanos;
+
+    /**
+     * Constructor for a snapshot.
+     * 
+     * @param activeGames Amount of games in the registry
+     * @param createdGames Amount of created games
+     * @param removedGames Amount of explicitly removed games
+     * @param evictedGames Amount of games evicted due to inactivity
+     * @param moves Amount of played moves, valid and invalid
+     * @param accesses Amount of accesses to games, including moves
+     * @param contendedAccesses Amount of accesses which had to wait for the lock of their game
+     * @param lockWaitNanos Total time spent waiting for game locks in nanoseconds
+     * @param uptimeNanos Time since the registry was created in nanoseconds
+     */
+    public RegistryMetrics(final int activeGames, final long createdGames, final long removedGames,
+            final long evictedGames, final long moves, final long accesses, final long contendedAccesses,
+            final long lockWaitNanos, final long uptimeNanos)  {
+        this.activeGames = activeGames;
+        this.createdGames = createdGames;
+        this.removedGames = removedGames;
+        this.evictedGames = evictedGames;
+        this.moves = moves;
+        this.accesses = accesses;
+        this.contendedAccesses = contendedAccesses;
+        this.lockWaitNanos = lockWaitNanos;
+        this.uptimeNanos = uptimeNanos;
+    }
+
+    /**
+     * Returns the amount of games in the registry.
+     * @return The amount of games in the registry
+     */
+    public int getActiveGames() {
+        return activeGames;
+    }
+
+    /**
+     * Returns the amount of created games.
+     * @return The amount of created games
+     */
+    public long getCreatedGames() {
+        return createdGames;
+    }
+
+    /**
+     * Returns the amount of explicitly removed games.
+     * @return The amount of removed games
+     */
+    public long getRemovedGames() {
+        return removedGames;
+    }
+
+    /**
+     * Returns the amount of games evicted due to inactivity.
+     * @return The amount of evicted games
+     */
+    public long getEvictedGames() {
+        return evictedGames;
+    }
+
+    /**
+     * Returns the amount of played moves, valid and invalid.
+     * @return The amount of played moves
+     */
+    public long getMoves() {
+        return moves;
+    }
+
+    /**
+     * Returns the amount of accesses to games, including moves.
+     * @return The amount of accesses
+     */
+    public long getAccesses() {
+        return accesses;
+    }
+
+    /**
+     * Returns the amount of accesses which had to wait for the lock of their game.
+     * @return The amount of contended accesses
+     */
+    public long getContendedAccesses() {
+        return contendedAccesses;
+    }
+
+    /**
+     * Returns the total time spent waiting for game locks.
+     * @return The total waiting time in nanoseconds
+     */
+    public long getLockWaitNanos() {
+        return lockWaitNanos;
+    }
+
+    /**
+     * Returns the time since the registry was created.
+     * @return The uptime in nanoseconds
+     */
+    public long getUptimeNanos() {
+        return uptimeNanos;
+    }
+
+    /**
+     * Returns the average throughput since the registry was created.
+     * @return The amount of moves per second
+     */
+    public double getMovesPerSecond()  {
+        return uptimeNanos == 0
+                ? 0
+                : moves * 1_000_000_000.0 / uptimeNanos;
+    }
+
+    /**
+     * Returns the share of accesses which had to wait for the lock of their game.
+     * @return The contention rate between {@code 0} and {@code 1}
+     */
+    public double getContentionRate()  {
+        return accesses == 0
+                ? 0
+                : (double) contendedAccesses / accesses;
+    }
+
+    /**
+     * toString overload returning the metrics.
+     */
+    @Override
+    public String toString() {
+        return String.format("%d active games (%d created, %d removed, %d evicted), %d moves (%.0f/s), "
+                + "%.2f%% contended, %d ms waited", activeGames, createdGames, removedGames, evictedGames,
+                moves, getMovesPerSecond(), getContentionRate() * 100, lockWaitNanos / 1_000_000);
+    }
+
+}
@@ -0,0 +1,7 @@
+/**
+ * Package containing the {@link tk.dmanstrator.connectfour.registry.GameRegistry}
+ * for serving many live Connect4 games concurrently.
+ * @author DManstrator
+ *
+ */
+package tk.dmanstrator.connectfour.registry;
@@ -0,0 +1,73 @@
+package tk.dmanstrator.connectfour.render;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import tk.dmanstrator.connectfour.board.BoardLayout;
+
+/**
+ * Builder encoding the document of an empty field and remembering the offset of every position.
+ * @author DManstrator
+ *
+ */
+final class DocumentBuilder {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final BoardLayout layout;
+    private final RenderFormat format;
+    private final int[] offsets;
+
+    /**
+     * Constructor for a builder.
+     *
+     * @param layout Layout of the field
+     * @param format Format of the document
+     */
+    DocumentBuilder(final BoardLayout layout, final RenderFormat format)  {
+        this.layout = layout;
+        this.format = format;
+        this.offsets = new int[layout.getSize()];
+    }
+
+    /**
+     * Appends fixed text.
+     * @param text Text to append
+     * @return The builder itself
+     */
+    DocumentBuilder appendText(final String text)  {
+        final byte[] encoded = text.getBytes(StandardCharsets.UTF_8);
+        bytes.write(encoded, 0, encoded.length);
+        return this;
+    }
+
+    /**
+     * Appends an empty position and remembers its offset.
+     *
+     * @param column Column index, starting with {@code 0} on the left
+     * @param row Row index, starting with {@code 0} at the bottom
+     * @return The builder itself
+     */
+    DocumentBuilder appendCell(final int column, final int row)  {
+        offsets[column * layout.getHeight() + row] = bytes.size();
+        final byte[] empty = format.getCell(-1);
+        bytes.write(empty, 0, empty.length);
+        return this;
+    }
+
+    /**
+     * Returns the encoded document.
+     * @return The encoded document
+     */
+    byte[] toByteArray()  {
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns the offsets of all positions, indexed by {@code column * height + row}.
+     * @return The offsets of all positions
+     */
+    int[] getOffsets()  {
+        return offsets;
+    }
+
+}
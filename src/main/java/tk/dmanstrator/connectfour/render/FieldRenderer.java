@@ -0,0 +1,116 @@
+package tk.dmanstrator.connectfour.render;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import tk.dmanstrator.connectfour.board.BoardLayout;
+
+/**
+ * Keeps a field encoded in a {@link RenderFormat} and updates only the changed position.<br><br>
+ *
+ * The document of the empty field is encoded once and every position has a fixed offset in it,
+ * so placing or removing a piece overwrites a few bytes and the document never has to be built again.
+ * The encoded document can be sent to any amount of clients without encoding it again.<br><br>
+ *
+ * Returned documents are never changed afterwards: once a document was returned, the next update
+ * copies it first (copy on write). Between two requests, any amount of updates only copies once.
+ * A renderer is not thread-safe, but the returned documents can be shared with other threads.
+ * @author DManstrator
+ *
+ */
+public class FieldRenderer {
+
+    private final RenderFormat format;
+    private final int height;
+    private final int[] offsets;
+    private final int cellSize;
+    private final byte[] emptyDocument;
+
+    private byte[] document;
+    private boolean shared = false;  // the document was returned and must not be changed anymore
+    private String text;  // decoded document, only created once it was requested
+
+    /**
+     * Constructor for a renderer of an empty field.
+     *
+     * @param layout Layout of the field
+     * @param format Format to encode the field in
+     */
+    public FieldRenderer(final BoardLayout layout, final RenderFormat format)  {
+        final DocumentBuilder builder = new DocumentBuilder(layout, format);
+        format.appendDocument(layout, builder);
+        this.format = format;
+        this.height = layout.getHeight();
+        this.offsets = builder.getOffsets();
+        this.cellSize = format.getCellSize();
+        this.emptyDocument = builder.toByteArray();
+        this.document = emptyDocument.clone();
+    }
+
+    /**
+     * Updates a single position.
+     *
+     * @param player Index of the player, {@code 0} or {@code 1}, or {@code -1} for an empty position
+     * @param column Column index, starting with {@code 0} on the left
+     * @param row Row index, starting with {@code 0} at the bottom
+     */
+    public void set(final int player, final int column, final int row)  {
+        if (shared)  {
+            document = document.clone();
+            shared = false;
+        }
+        System.arraycopy(format.getCell(player), 0, document, offsets[column * height + row], cellSize);
+        text = null;
+    }
+
+    /**
+     * Empties all positions.
+     */
+    public void clear()  {
+        if (shared)  {
+            document = emptyDocument.clone();
+            shared = false;
+        }  else  {
+            System.arraycopy(emptyDocument, 0, document, 0, document.length);
+        }
+        text = null;
+    }
+
+    /**
+     * Returns the format of the renderer.
+     * @return The format of the renderer
+     */
+    public RenderFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Returns the encoded document. It is never changed by the renderer afterwards.
+     * @return The encoded document in UTF-8, must not be modified
+     */
+    public byte[] getBytes()  {
+        shared = true;
+        return document;
+    }
+
+    /**
+     * Returns the encoded document as read-only buffer. It is never changed by the renderer afterwards.
+     * @return A new read-only buffer of the encoded document in UTF-8
+     */
+    public ByteBuffer getBuffer()  {
+        return ByteBuffer.wrap(getBytes()).asReadOnlyBuffer();
+    }
+
+    /**
+     * toString overload returning the decoded document.
+     * The string is only created again after the field changed.
+     */
+    @Override
+    public String toString() {
+        if (text == null)  {
+            text = new String(document, StandardCharsets.UTF_8);
+        }
+        return text;
+    }
+
+}
@@ -0,0 +1,164 @@
+package tk.dmanstrator.connectfour.render;
+
+import java.nio.charset.StandardCharsets;
+
+import tk.dmanstrator.connectfour.board.BoardLayout;
+
+/**
+ * Represents the formats a {@link FieldRenderer} can encode a field in.<br><br>
+ *
+ * Every format encodes all states of a position with the same amount of bytes,
+ * so a position can be overwritten in place without moving the rest of the document.
+ * @author DManstrator
+ *
+ */
+public enum RenderFormat  {
+
+    /**
+     * Text with column and row numbers as returned by
+     * {@link tk.dmanstrator.connectfour.Connect4#getCurrentField()}.
+     */
+    TEXT(" ", "r", "y")  {
+        @Override
+        void appendDocument(final BoardLayout layout, final DocumentBuilder builder)  {
+            appendText(layout, builder, true);
+        }
+    },
+
+    /**
+     * Text without column and row numbers as returned by
+     * {@link tk.dmanstrator.connectfour.Connect4#toString()}.
+     */
+    PLAIN(" ", "r", "y")  {
+        @Override
+        void appendDocument(final BoardLayout layout, final DocumentBuilder builder)  {
+            appendText(layout, builder, false);
+        }
+    },
+
+    /**
+     * Unicode discs colored with ANSI escape codes, framed by box drawing characters.
+     */
+    ANSI("\u001B[90m\u25CB\u001B[0m", "\u001B[31m\u25CF\u001B[0m", "\u001B[33m\u25CF\u001B[0m")  {
+        @Override
+        void appendDocument(final BoardLayout layout, final DocumentBuilder builder)  {
+            for (int row = layout.getHeight() - 1; row >= 0; row--)  {
+                builder.appendText("\u2502");
+                appendRow(layout, builder, row);
+                builder.appendText("\u2502").appendText(System.lineSeparator());
+            }
+            builder.appendText("\u2514");
+            for (int column = 0; column < layout.getWidth(); column++)  {
+                builder.appendText("\u2500");
+            }
+            builder.appendText("\u2518");
+        }
+    },
+
+    /**
+     * Compact JSON object with the size of the field and one string per row, starting at the top.<br><br>
+     *
+     * <b>Example:</b>
+     * <pre>{@code
+     * {"width":7,"height":6,"rows":["       ","       ","       ","       ","  y    ","  rr   "]}
+     * }</pre>
+     */
+    JSON(" ", "r", "y")  {
+        @Override
+        void appendDocument(final BoardLayout layout, final DocumentBuilder builder)  {
+            builder.appendText("{\"width\":" + layout.getWidth() + ",\"height\":" + layout.getHeight()
+                    + ",\"rows\":[");
+            for (int row = layout.getHeight() - 1; row >= 0; row--)  {
+                builder.appendText("\"");
+                appendRow(layout, builder, row);
+                builder.appendText(row > 0 ? "\"," : "\"");
+            }
+            builder.appendText("]}");
+        }
+    };
+
+    private final byte[][] cells;  // encoded position for the first player, the second player and empty
+
+    /**
+     * Constructor for a format.
+     *
+     * @param empty Text of an empty position
+     * @param first Text of a position of the first player
+     * @param second Text of a position of the second player
+     */
+    RenderFormat(final String empty, final String first, final String second)  {
+        this.cells = new byte[][] {first.getBytes(StandardCharsets.UTF_8), second.getBytes(StandardCharsets.UTF_8),
+            empty.getBytes(StandardCharsets.UTF_8)};
+    }
+
+    /**
+     * Appends the document of an empty field.
+     *
+     * @param layout Layout of the field
+     * @param builder Builder to append to
+     */
+    abstract void appendDocument(BoardLayout layout, DocumentBuilder builder);
+
+    /**
+     * Returns the encoded text of a position.
+     * @param player Index of the player, {@code 0} or {@code 1}, or {@code -1} for an empty position
+     * @return The encoded position, must not be modified
+     */
+    byte[] getCell(final int player)  {
+        return player < 0
+                ? cells[2]
+                : cells[player];
+    }
+
+    /**
+     * Returns the amount of bytes of an encoded position.
+     * @return The amount of bytes of an encoded position
+     */
+    int getCellSize()  {
+        return cells[2].length;
+    }
+
+    /**
+     * Appends the text formats, as originally built by {@code Connect4#getCurrentField(boolean)}.
+     *
+     * @param layout Layout of the field
+     * @param builder Builder to append to
+     * @param fullDetails {@code true} if column and row numbers should be displayed, else {@code false}
+     */
+    private static void appendText(final BoardLayout layout, final DocumentBuilder builder,
+            final boolean fullDetails)  {
+        final int height = layout.getHeight();
+        if (fullDetails)  {
+            builder.appendText("  ");  // spaces for first line
+            for (int c = 1; c <= layout.getWidth(); c++)  {
+                builder.appendText(Integer.toString(c));
+            }
+            builder.appendText(System.lineSeparator());
+        }
+        for (int c = 1; c <= height; c++)  {
+            if (fullDetails)  {
+                builder.appendText(Integer.toString(c));
+            }
+            builder.appendText("[");
+            appendRow(layout, builder, height - c);
+            builder.appendText("]");
+            if (c != height)  {
+                builder.appendText(System.lineSeparator());
+            }
+        }
+    }
+
+    /**
+     * Appends all positions of a row from left to right.
+     *
+     * @param layout Layout of the field
+     * @param builder Builder to append to
+     * @param row Row index, starting with {@code 0} at the bottom
+     */
+    private static void appendRow(final BoardLayout layout, final DocumentBuilder builder, final int row)  {
+        for (int column = 0; column < layout.getWidth(); column++)  {
+            builder.appendCell(column, row);
+        }
+    }
+
+}
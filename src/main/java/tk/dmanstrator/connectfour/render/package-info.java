@@ -0,0 +1,7 @@
+/**
+ * Package containing the {@link tk.dmanstrator.connectfour.render.FieldRenderer}
+ * keeping the field pre-encoded in several {@link tk.dmanstrator.connectfour.render.RenderFormat formats}.
+ * @author DManstrator
+ *
+ */
+package tk.dmanstrator.connectfour.render;
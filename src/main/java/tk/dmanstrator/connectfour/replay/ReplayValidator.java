@@ -0,0 +1,264 @@
+package tk.dmanstrator.connectfour.replay;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ObjLongConsumer;
+
+import tk.dmanstrator.connectfour.Connect4;
+import tk.dmanstrator.connectfour.DefaultConnect4;
+import tk.dmanstrator.connectfour.MoveStatus;
+import tk.dmanstrator.connectfour.ReplayResult;
+import tk.dmanstrator.connectfour.board.BoardLayout;
+
+/**
+ * Validator for huge amounts of recorded games, one move sequence like {@code "4453221"} per line.<br><br>
+ *
+ * The records are read on the calling thread and validated in batches by a fixed pool of workers.
+ * Only a few batches are in flight at the same time, so the memory usage doesn't depend on the size of the input.
+ * Every worker replays a batch on a single game with {@link Connect4#playAll(CharSequence, boolean)}
+ * without logging and counts its statistics locally before adding them to the total.
+ * Empty lines are skipped.
+ * @author DManstrator
+ *
+ */
+public class ReplayValidator {
+
+    private static final String FIRST_PLAYER = "Player1";
+    private static final String SECOND_PLAYER = "Player2";
+    private static final int BATCH_SIZE = 4096;
+    private static final int BATCHES_PER_THREAD = 2;
+
+    private final int threads;
+    private final BoardLayout layout;
+
+    /**
+     * Constructor for a validator.
+     *
+     * @param threads Amount of worker threads
+     * @param layout Layout of the field of the recorded games
+     * @throws IllegalArgumentException if the amount of threads is not positive
+     */
+    public ReplayValidator(final int threads, final BoardLayout layout)  {
+        if (threads < 1)  {
+            throw new IllegalArgumentException("At least one thread is needed!");
+        }
+        this.threads = threads;
+        this.layout = layout;
+    }
+
+    /**
+     * Validates all records of an ASCII encoded stream.
+     *
+     * @param input Stream to read the records from, won't be closed
+     * @return The aggregated statistics of all records
+     * @throws IOException if the stream can't be read
+     */
+    public ValidationResult validate(final InputStream input) throws IOException  {
+        return validate(new InputStreamReader(input, StandardCharsets.US_ASCII), null);
+    }
+
+    /**
+     * Validates all records of a reader.
+     *
+     * @param reader Reader to read the records from, won't be closed
+     * @return The aggregated statistics of all records
+     * @throws IOException if the reader can't be read
+     */
+    public ValidationResult validate(final Reader reader) throws IOException  {
+        return validate(reader, null);
+    }
+
+    /**
+     * Validates all records of a reader and reports every invalid record.
+     *
+     * @param reader Reader to read the records from, won't be closed
+     * @param invalidRecords Possibly null consumer of every invalid record and its line number starting with
+     * {@code 1}, called concurrently by the workers in no particular order
+     * @return The aggregated statistics of all records
+     * @throws IOException if the reader can't be read
+     * @throws IllegalStateException if the validation was interrupted
+     * @throws RuntimeException the first exception thrown by a worker or the consumer, errors are rethrown as well
+     */
+    public ValidationResult validate(final Reader reader, final ObjLongConsumer<ReplayResult> invalidRecords)
+            throws IOException  {
+        final long start = System.nanoTime();
+        final BufferedReader lines = reader instanceof BufferedReader
+                ? (BufferedReader) reader
+                : new BufferedReader(reader, 1 << 16);
+        final int maxBatches = threads * BATCHES_PER_THREAD;
+        final Semaphore batches = new Semaphore(maxBatches);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Tally total = new Tally();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try  {
+            List<String> batch = new ArrayList<>(BATCH_SIZE);
+            long firstLine = 1;
+            long lineNumber = 0;
+            String line;
+            while ((line = lines.readLine()) != null && failure.get() == null)  {
+                lineNumber++;
+                batch.add(line);
+                if (batch.size() == BATCH_SIZE)  {
+                    submit(executor, batches, batch, firstLine, invalidRecords, total, failure);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                    firstLine = lineNumber + 1;
+                }
+            }
+            if (!batch.isEmpty())  {
+                submit(executor, batches, batch, firstLine, invalidRecords, total, failure);
+            }
+            batches.acquire(maxBatches);  // waits for all batches
+        }  catch (final InterruptedException e)  {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Validation was interrupted!", e);
+        }  finally  {
+            executor.shutdownNow();
+        }
+        final Throwable thrown = failure.get();
+        if (thrown instanceof RuntimeException)  {
+            throw (RuntimeException) thrown;
+        }  else if (thrown instanceof Error)  {
+            throw (Error) thrown;
+        }  else if (thrown != null)  {
+            throw new IllegalStateException("Validation failed!", thrown);
+        }
+        return total.toResult(System.nanoTime() - start);
+    }
+
+    /**
+     * Hands a batch to the workers, waits if too many batches are in flight.
+     *
+     * @param executor Executor of the workers
+     * @param batches Permits for the batches in flight
+     * @param batch Records of the batch
+     * @param firstLine Line number of the first record of the batch
+     * @param invalidRecords Possibly null consumer of invalid records
+     * @param total Statistics of all records
+     * @param failure First exception or error thrown by a worker
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    private void submit(final ExecutorService executor, final Semaphore batches, final List<String> batch,
+            final long firstLine, final ObjLongConsumer<ReplayResult> invalidRecords, final Tally total,
+            final AtomicReference<Throwable> failure) throws InterruptedException  {
+        batches.acquire();
+        executor.execute(() ->  {
+            try  {
+                total.add(validate(batch, firstLine, invalidRecords));
+            }  catch (final Throwable t)  {  // errors too, otherwise the batch would be missing silently
+                failure.compareAndSet(null, t);
+            }  finally  {
+                batches.release();
+            }
+        });
+    }
+
+    /**
+     * Validates the records of a single batch.
+     *
+     * @param batch Records of the batch
+     * @param firstLine Line number of the first record of the batch
+     * @param invalidRecords Possibly null consumer of invalid records
+     * @return The statistics of the batch
+     */
+    private Tally validate(final List<String> batch, final long firstLine,
+            final ObjLongConsumer<ReplayResult> invalidRecords)  {
+        final Connect4 game = new DefaultConnect4(FIRST_PLAYER, SECOND_PLAYER, layout);
+        final Tally tally = new Tally();
+        for (int i = 0; i < batch.size(); i++)  {
+            final String record = batch.get(i);
+            if (record.isEmpty())  {
+                continue;
+            }
+            game.reset();
+            final ReplayResult result = game.playAll(record, false);
+            tally.count(result);
+            if (!result.isValid() && invalidRecords != null)  {
+                invalidRecords.accept(result, firstLine + i);
+            }
+        }
+        return tally;
+    }
+
+    /**
+     * Mutable statistics of a batch or of all records.
+     * @author DManstrator
+     *
+     */
+    private static final class Tally  {
+
+        private long records = 0;
+        private long firstPlayerWins = 0;
+        private long secondPlayerWins = 0;
+        private long draws = 0;
+        private long unfinished = 0;
+        private final long[] invalidByStatus = new long[MoveStatus.COUNT];
+        private long rounds = 0;
+
+        /**
+         * Counts the result of a record.
+         * @param result Result of the record
+         */
+        void count(final ReplayResult result)  {
+            records++;
+            if (!result.isValid())  {
+                invalidByStatus[result.getStatus()]++;
+                return;
+            }
+            rounds += result.getPlayedRounds();
+            switch (result.getStatus())  {
+                case MoveStatus.WIN:
+                    if ((result.getPlayedRounds() & 1) == 1)  {
+                        firstPlayerWins++;
+                    }  else  {
+                        secondPlayerWins++;
+                    }
+                    break;
+                case MoveStatus.DRAW:
+                    draws++;
+                    break;
+                default:
+                    unfinished++;
+                    break;
+            }
+        }
+
+        /**
+         * Adds the statistics of a batch.
+         * @param other Statistics of the batch
+         */
+        synchronized void add(final Tally other)  {
+            records += other.records;
+            firstPlayerWins += other.firstPlayerWins;
+            secondPlayerWins += other.secondPlayerWins;
+            draws += other.draws;
+            unfinished += other.unfinished;
+            for (int status = 0; status < invalidByStatus.length; status++)  {
+                invalidByStatus[status] += other.invalidByStatus[status];
+            }
+            rounds += other.rounds;
+        }
+
+        /**
+         * Creates the immutable result.
+         * @param elapsedNanos Elapsed time of the whole run in nanoseconds
+         * @return The result of the run
+         */
+        synchronized ValidationResult toResult(final long elapsedNanos)  {
+            return new ValidationResult(records, firstPlayerWins, secondPlayerWins, draws, unfinished,
+                    invalidByStatus, rounds, elapsedNanos);
+        }
+
+    }
+
+}
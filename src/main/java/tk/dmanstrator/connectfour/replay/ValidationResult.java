@@ -0,0 +1,146 @@
+package tk.dmanstrator.connectfour.replay;
+
+import tk.dmanstrator.connectfour.MoveStatus;
+
+/**
+ * POJO class representing the aggregated result of a {@link ReplayValidator} run.
+ * @author DManstrator
+ *
+ */
+public class ValidationResult {
+
+    private final long records;
+    private final long firstPlayerWins;
+    private final long secondPlayerWins;
+    private final long draws;
+    private final long unfinished;
+    private final long[] invalidByStatus;
+    private final long rounds;
+    private final long elapsedNanos;
+
+    /**
+     * Constructor for the result of a run.
+     *
+     * @param records Amount of validated records
+     * @param firstPlayerWins Amount of valid records won by the first player
+     * @param secondPlayerWins Amount of valid records won by the second player
+     * @param draws Amount of valid records ending in a draw
+     * @param unfinished Amount of valid records which are not over yet
+     * @param invalidByStatus Amount of invalid records for every {@link MoveStatus}
+     * @param rounds Amount of played rounds in all valid records
+     * @param elapsedNanos Elapsed time of the whole run in nanoseconds
+     */
+    public ValidationResult(final long records, final long firstPlayerWins, final long secondPlayerWins,
+            final long draws, final long unfinished, final long[] invalidByStatus, final long rounds,
+            final long elapsedNanos)  {
+        this.records = records;
+        this.firstPlayerWins = firstPlayerWins;
+        this.secondPlayerWins = secondPlayerWins;
+        this.draws = draws;
+        this.unfinished = unfinished;
+        this.invalidByStatus = invalidByStatus.clone();
+        this.rounds = rounds;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the amount of validated records.
+     * @return The amount of validated records
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * Returns the amount of valid records won by the first player.
+     * @return The amount of valid records won by the first player
+     */
+    public long getFirstPlayerWins() {
+        return firstPlayerWins;
+    }
+
+    /**
+     * Returns the amount of valid records won by the second player.
+     * @return The amount of valid records won by the second player
+     */
+    public long getSecondPlayerWins() {
+        return secondPlayerWins;
+    }
+
+    /**
+     * Returns the amount of valid records ending in a draw.
+     * @return The amount of valid records ending in a draw
+     */
+    public long getDraws() {
+        return draws;
+    }
+
+    /**
+     * Returns the amount of valid records which are not over yet.
+     * @return The amount of unfinished records
+     */
+    public long getUnfinished() {
+        return unfinished;
+    }
+
+    /**
+     * Returns the amount of invalid records.
+     * @return The amount of invalid records
+     */
+    public long getInvalid()  {
+        long invalid = 0;
+        for (final long count : invalidByStatus)  {
+            invalid += count;
+        }
+        return invalid;
+    }
+
+    /**
+     * Returns the amount of records whose first invalid round had the given status.
+     * 
+     * @param status {@link MoveStatus} of the first invalid round
+     * @return The amount of invalid records with this status
+     */
+    public long getInvalid(final int status)  {
+        return status >= 0 && status < invalidByStatus.length
+                ? invalidByStatus[status]
+                : 0;
+    }
+
+    /**
+     * Returns the amount of played rounds in all valid records.
+     * @return The amount of played rounds
+     */
+    public long getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Returns the elapsed time of the whole run in nanoseconds.
+     * @return The elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the amount of validated records per second.
+     * @return The amount of records per second
+     */
+    public double getRecordsPerSecond()  {
+        return elapsedNanos == 0
+                ? 0
+                : records * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * toString overload returning the outcomes and the throughput.
+     */
+    @Override
+    public String toString() {
+        return String.format("%d records (%d invalid): %d/%d wins, %d draws, %d unfinished in %d ms (%.0f records/s)",
+                records, getInvalid(), firstPlayerWins, secondPlayerWins, draws, unfinished,
+                elapsedNanos / 1_000_000, getRecordsPerSecond());
+    }
+
+}
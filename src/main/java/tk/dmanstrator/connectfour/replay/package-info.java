@@ -0,0 +1,7 @@
+/**
+ * Package containing the {@link tk.dmanstrator.connectfour.replay.ReplayValidator}
+ * for validating huge amounts of recorded games in parallel.
+ * @author DManstrator
+ *
+ */
+package tk.dmanstrator.connectfour.replay;
@@ -0,0 +1,28 @@
+package tk.dmanstrator.connectfour.simulation;
+
+import java.util.SplittableRandom;
+
+import tk.dmanstrator.connectfour.Connect4;
+
+/**
+ * Strategy choosing the column of the next round in a self-play game.<br><br>
+ *
+ * Every worker of the {@link SimulationEngine} creates its own policies,
+ * so a policy may keep state and doesn't have to be thread-safe.
+ * @author DManstrator
+ *
+ */
+@FunctionalInterface
+public interface MovePolicy {
+
+    /**
+     * Chooses the column of the next round. The game is not over yet.
+     *
+     * @param game Game to choose the column for, must not be changed
+     * @param random Random generator of the worker
+     * @return A column which can be played, starting with {@code 1} on the left
+     * @see Connect4#canPlay(int)
+     */
+    int selectColumn(Connect4 game, SplittableRandom random);
+
+}
@@ -0,0 +1,31 @@
+package tk.dmanstrator.connectfour.simulation;
+
+import java.util.SplittableRandom;
+
+import tk.dmanstrator.connectfour.Connect4;
+
+/**
+ * Policy choosing uniformly among all columns which can be played.
+ * @author DManstrator
+ *
+ */
+public class RandomPolicy implements MovePolicy {
+
+    @Override
+    public int selectColumn(final Connect4 game, final SplittableRandom random)  {
+        int playable = 0;
+        for (int column = 1; column <= game.getWidth(); column++)  {
+            if (game.canPlay(column))  {
+                playable++;
+            }
+        }
+        int chosen = random.nextInt(playable);
+        for (int column = 1; column <= game.getWidth(); column++)  {
+            if (game.canPlay(column) && chosen-- == 0)  {
+                return column;
+            }
+        }
+        throw new IllegalStateException("No column can be played!");
+    }
+
+}
@@ -0,0 +1,150 @@
+package tk.dmanstrator.connectfour.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import tk.dmanstrator.connectfour.Connect4;
+import tk.dmanstrator.connectfour.DefaultConnect4;
+import tk.dmanstrator.connectfour.MoveStatus;
+import tk.dmanstrator.connectfour.board.BoardLayout;
+
+/**
+ * Engine playing self-play games in parallel on a fixed pool of workers.<br><br>
+ *
+ * Every worker owns a single {@link DefaultConnect4} game which is {@link Connect4#reset() reset}
+ * after every game, its own {@link MovePolicy move policies} and its own random generator.
+ * Rounds are played with {@link Connect4#playFast(int)}, so games are neither logged nor allocate anything.
+ * Workers count their statistics locally and they are only aggregated after all workers finished,
+ * so the workers never contend.<br><br>
+ *
+ * <b>Usage:</b> {@code SimulationEngine <games> [threads]} plays random games on the default field.
+ * @author DManstrator
+ *
+ */
+public class SimulationEngine {
+
+    private static final String FIRST_PLAYER = "Player1";
+    private static final String SECOND_PLAYER = "Player2";
+
+    private final int threads;
+
+    /**
+     * Constructor for an engine.
+     * @param threads Amount of worker threads
+     * @throws IllegalArgumentException if the amount of threads is not positive
+     */
+    public SimulationEngine(final int threads)  {
+        if (threads < 1)  {
+            throw new IllegalArgumentException("At least one thread is needed!");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Main method for running random games from the command line.
+     * @param args Amount of games and optionally the amount of threads
+     */
+    public static void main(final String[] args)  {
+        if (args.length < 1)  {
+            System.err.println("Usage: SimulationEngine <games> [threads]");
+            return;
+        }
+        final int threads = args.length > 1
+                ? Integer.parseInt(args[1])
+                : Runtime.getRuntime().availableProcessors();
+        final SimulationResult result = new SimulationEngine(threads).run(Long.parseLong(args[0]),
+                BoardLayout.DEFAULT, RandomPolicy::new, RandomPolicy::new, System.nanoTime());
+        System.out.println(result);
+    }
+
+    /**
+     * Plays the given amount of games.
+     *
+     * @param games Amount of games to play
+     * @param layout Layout of the field
+     * @param firstPolicy Creates the policy of the first player for every worker
+     * @param secondPolicy Creates the policy of the second player for every worker
+     * @param seed Seed of the random generators, the same seed results in the same games
+     * @return The aggregated statistics of all games
+     * @throws IllegalStateException if a policy chose a column which can't be played
+     */
+    public SimulationResult run(final long games, final BoardLayout layout,
+            final Supplier<? extends MovePolicy> firstPolicy, final Supplier<? extends MovePolicy> secondPolicy,
+            final long seed)  {
+        final long start = System.nanoTime();
+        final SplittableRandom random = new SplittableRandom(seed);
+        final List<Callable<WorkerStats>> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++)  {
+            final long workerGames = games / threads + (t < games % threads ? 1 : 0);
+            final SplittableRandom workerRandom = random.split();
+            workers.add(() -> play(workerGames, layout,
+                    new MovePolicy[] {firstPolicy.get(), secondPolicy.get()}, workerRandom));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try  {
+            final WorkerStats[] stats = new WorkerStats[threads];
+            final List<Future<WorkerStats>> futures = executor.invokeAll(workers);
+            for (int t = 0; t < threads; t++)  {
+                stats[t] = futures.get(t).get();
+            }
+            return new SimulationResult(stats, System.nanoTime() - start);
+        }  catch (final InterruptedException e)  {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation was interrupted!", e);
+        }  catch (final ExecutionException e)  {
+            if (e.getCause() instanceof RuntimeException)  {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Simulation failed!", e.getCause());
+        }  finally  {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays the games of a single worker.
+     *
+     * @param games Amount of games to play
+     * @param layout Layout of the field
+     * @param policies Policies of both players
+     * @param random Random generator of the worker
+     * @return The statistics of the worker
+     */
+    private static WorkerStats play(final long games, final BoardLayout layout,
+            final MovePolicy[] policies, final SplittableRandom random)  {
+        final long start = System.nanoTime();
+        final Connect4 game = new DefaultConnect4(FIRST_PLAYER, SECOND_PLAYER, layout);
+        final long[] wins = new long[2];
+        long draws = 0;
+        long rounds = 0;
+        for (long g = 0; g < games; g++)  {
+            game.reset();
+            int status = MoveStatus.OK;
+            while (status == MoveStatus.OK)  {
+                final int player = game.getPlayedRounds() & 1;
+                final int column = policies[player].selectColumn(game, random);
+                status = game.playFast(column);
+                if (!MoveStatus.isValid(status))  {
+                    throw new IllegalStateException("Policy chose column " + column + " which can't be played: "
+                            + MoveStatus.getName(status) + "!");
+                }
+                if (status == MoveStatus.WIN)  {
+                    wins[player]++;
+                }  else if (status == MoveStatus.DRAW)  {
+                    draws++;
+                }
+            }
+            rounds += game.getPlayedRounds();
+        }
+        return new WorkerStats(games, wins[0], wins[1], draws, rounds, System.nanoTime() - start);
+    }
+
+}
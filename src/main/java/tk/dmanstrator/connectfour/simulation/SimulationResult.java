@@ -0,0 +1,134 @@
+package tk.dmanstrator.connectfour.simulation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * POJO class representing the aggregated result of a {@link SimulationEngine} run.
+ * @author DManstrator
+ *
+ */
+public class SimulationResult {
+
+    private final List<WorkerStats> workers;
+    private final long elapsedNanos;
+
+    private final long games;
+    private final long firstPlayerWins;
+    private final long secondPlayerWins;
+    private final long draws;
+    private final long rounds;
+
+    /**
+     * Constructor aggregating the statistics of all workers.
+     *
+     * @param workers Statistics of every worker
+     * @param elapsedNanos Elapsed time of the whole run in nanoseconds
+     */
+    public SimulationResult(final WorkerStats[] workers, final long elapsedNanos)  {
+        this.workers = Collections.unmodifiableList(Arrays.asList(workers.clone()));
+        this.elapsedNanos = elapsedNanos;
+
+        long games = 0, firstPlayerWins = 0, secondPlayerWins = 0, draws = 0, rounds = 0;
+        for (final WorkerStats worker : workers)  {
+            games += worker.getGames();
+            firstPlayerWins += worker.getFirstPlayerWins();
+            secondPlayerWins += worker.getSecondPlayerWins();
+            draws += worker.getDraws();
+            rounds += worker.getRounds();
+        }
+        this.games = games;
+        this.firstPlayerWins = firstPlayerWins;
+        this.secondPlayerWins = secondPlayerWins;
+        this.draws = draws;
+        this.rounds = rounds;
+    }
+
+    /**
+     * Returns the statistics of every worker.
+     * @return An immutable list of the statistics of every worker
+     */
+    public List<WorkerStats> getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Returns the amount of played games.
+     * @return The amount of played games
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the amount of games won by the first player.
+     * @return The amount of games won by the first player
+     */
+    public long getFirstPlayerWins() {
+        return firstPlayerWins;
+    }
+
+    /**
+     * Returns the amount of games won by the second player.
+     * @return The amount of games won by the second player
+     */
+    public long getSecondPlayerWins() {
+        return secondPlayerWins;
+    }
+
+    /**
+     * Returns the amount of drawn games.
+     * @return The amount of drawn games
+     */
+    public long getDraws() {
+        return draws;
+    }
+
+    /**
+     * Returns the amount of played rounds in all games.
+     * @return The amount of played rounds
+     */
+    public long getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Returns the elapsed time of the whole run in nanoseconds.
+     * @return The elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the average amount of rounds of a game.
+     * @return The average game length
+     */
+    public double getAverageRounds()  {
+        return games == 0
+                ? 0
+                : (double) rounds / games;
+    }
+
+    /**
+     * Returns the amount of games per second of the whole run.
+     * @return The amount of games per second
+     */
+    public double getGamesPerSecond()  {
+        return elapsedNanos == 0
+                ? 0
+                : games * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * toString overload returning the aggregated statistics.
+     */
+    @Override
+    public String toString() {
+        return String.format("%d games in %d ms (%.0f games/s): first player won %d, second player won %d, "
+                + "%d draws, %.1f rounds on average", games, elapsedNanos / 1_000_000, getGamesPerSecond(),
+                firstPlayerWins, secondPlayerWins, draws, getAverageRounds());
+    }
+
+}
@@ -0,0 +1,61 @@
+package tk.dmanstrator.connectfour.simulation;
+
+import java.util.SplittableRandom;
+
+import tk.dmanstrator.connectfour.Connect4;
+import tk.dmanstrator.connectfour.DefaultConnect4;
+import tk.dmanstrator.connectfour.solver.Solver;
+
+/**
+ * Policy playing perfectly by choosing the best column of the {@link Solver}.<br><br>
+ *
+ * Solving early positions is expensive, so the solver should have an
+ * {@link tk.dmanstrator.connectfour.solver.OpeningBook} or the policy should only be used
+ * after a few rounds, see {@link SolverPolicy#SolverPolicy(Solver, int, MovePolicy)}.
+ * Only {@link DefaultConnect4} games on the default field are supported.
+ * @author DManstrator
+ *
+ */
+public class SolverPolicy implements MovePolicy {
+
+    private final Solver solver;
+    private final int minRounds;
+    private final MovePolicy openingPolicy;
+
+    /**
+     * Constructor for a policy which always uses the solver.
+     * @param solver Solver of the policy, must not be shared with other threads
+     */
+    public SolverPolicy(final Solver solver)  {
+        this(solver, 0, null);
+    }
+
+    /**
+     * Constructor for a policy which uses another policy for the first rounds.
+     *
+     * @param solver Solver of the policy, must not be shared with other threads
+     * @param minRounds Amount of played rounds from which on the solver is used
+     * @param openingPolicy Policy used before, possibly null if the solver is always used
+     */
+    public SolverPolicy(final Solver solver, final int minRounds, final MovePolicy openingPolicy)  {
+        this.solver = solver;
+        this.minRounds = minRounds;
+        this.openingPolicy = openingPolicy;
+    }
+
+    /**
+     * Chooses the best column of the solver.
+     * @throws IllegalArgumentException if the game is no {@link DefaultConnect4} game on the default field
+     */
+    @Override
+    public int selectColumn(final Connect4 game, final SplittableRandom random)  {
+        if (openingPolicy != null && game.getPlayedRounds() < minRounds)  {
+            return openingPolicy.selectColumn(game, random);
+        }
+        if (!(game instanceof DefaultConnect4))  {
+            throw new IllegalArgumentException("Solver only supports default games!");
+        }
+        return solver.solve((DefaultConnect4) game).getBestColumn();
+    }
+
+}
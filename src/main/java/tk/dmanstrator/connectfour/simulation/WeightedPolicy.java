@@ -0,0 +1,78 @@
+package tk.dmanstrator.connectfour.simulation;
+
+import java.util.SplittableRandom;
+
+import tk.dmanstrator.connectfour.Connect4;
+
+/**
+ * Policy choosing among all columns which can be played with a fixed weight per column.
+ * @author DManstrator
+ *
+ */
+public class WeightedPolicy implements MovePolicy {
+
+    private final double[] weights;
+
+    /**
+     * Constructor taking the weights of the columns.
+     *
+     * @param weights Positive weight for every column, starting with the left column
+     * @throws IllegalArgumentException if a weight is not positive
+     */
+    public WeightedPolicy(final double... weights)  {
+        for (final double weight : weights)  {
+            if (!(weight > 0))  {
+                throw new IllegalArgumentException("Weights have to be positive!");
+            }
+        }
+        this.weights = weights.clone();
+    }
+
+    /**
+     * Creates a policy preferring the center columns, which are part of the most win lines.
+     * The weight of a column decreases linearly with its distance to the center.
+     *
+     * @param width Amount of columns
+     * @return A policy preferring the center columns
+     */
+    public static WeightedPolicy centerWeighted(final int width)  {
+        final double[] weights = new double[width];
+        for (int c = 0; c < width; c++)  {
+            weights[c] = Math.min(c, width - 1 - c) + 1;
+        }
+        return new WeightedPolicy(weights);
+    }
+
+    /**
+     * Chooses a column with a probability proportional to its weight.
+     * @throws IllegalArgumentException if the amount of weights doesn't match the width of the game
+     */
+    @Override
+    public int selectColumn(final Connect4 game, final SplittableRandom random)  {
+        if (game.getWidth() != weights.length)  {
+            throw new IllegalArgumentException("Expected " + weights.length + " columns, got " + game.getWidth() + "!");
+        }
+        double total = 0;
+        for (int c = 0; c < weights.length; c++)  {
+            if (game.canPlay(c + 1))  {
+                total += weights[c];
+            }
+        }
+        double chosen = random.nextDouble() * total;
+        int last = -1;
+        for (int c = 0; c < weights.length; c++)  {
+            if (game.canPlay(c + 1))  {
+                last = c;
+                chosen -= weights[c];
+                if (chosen < 0)  {
+                    return c + 1;
+                }
+            }
+        }
+        if (last == -1)  {
+            throw new IllegalStateException("No column can be played!");
+        }
+        return last + 1;  // rounding errors
+    }
+
+}
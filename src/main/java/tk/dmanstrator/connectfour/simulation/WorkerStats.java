@@ -0,0 +1,104 @@
+package tk.dmanstrator.connectfour.simulation;
+
+/**
+ * POJO class representing the statistics of a single worker of the {@link SimulationEngine}.
+ * @author DManstrator
+ *
+ */
+public class WorkerStats {
+
+    private final long games;
+    private final long firstPlayerWins;
+    private final long secondPlayerWins;
+    private final long draws;
+    private final long rounds;
+    private final long elapsedNanos;
+
+    /**
+     * Constructor for the statistics of a worker.
+     *
+     * @param games Amount of played games
+     * @param firstPlayerWins Amount of games won by the first player
+     * @param secondPlayerWins Amount of games won by the second player
+     * @param draws Amount of drawn games
+     * @param rounds Amount of played rounds in all games
+     * @param elapsedNanos Elapsed time of the worker in nanoseconds
+     */
+    public WorkerStats(final long games, final long firstPlayerWins, final long secondPlayerWins,
+            final long draws, final long rounds, final long elapsedNanos)  {
+        this.games = games;
+        this.firstPlayerWins = firstPlayerWins;
+        this.secondPlayerWins = secondPlayerWins;
+        this.draws = draws;
+        this.rounds = rounds;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the amount of played games.
+     * @return The amount of played games
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the amount of games won by the first player.
+     * @return The amount of games won by the first player
+     */
+    public long getFirstPlayerWins() {
+        return firstPlayerWins;
+    }
+
+    /**
+     * Returns the amount of games won by the second player.
+     * @return The amount of games won by the second player
+     */
+    public long getSecondPlayerWins() {
+        return secondPlayerWins;
+    }
+
+    /**
+     * Returns the amount of drawn games.
+     * @return The amount of drawn games
+     */
+    public long getDraws() {
+        return draws;
+    }
+
+    /**
+     * Returns the amount of played rounds in all games.
+     * @return The amount of played rounds
+     */
+    public long getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Returns the elapsed time in nanoseconds.
+     * @return The elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the amount of games per second.
+     * @return The amount of games per second
+     */
+    public double getGamesPerSecond()  {
+        return elapsedNanos == 0
+                ? 0
+                : games * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * toString overload returning the statistics.
+     */
+    @Override
+    public String toString() {
+        return String.format("%d games (%d / %d / %d), %d rounds, %.0f games/s",
+                games, firstPlayerWins, secondPlayerWins, draws, rounds, getGamesPerSecond());
+    }
+
+}
@@ -0,0 +1,7 @@
+/**
+ * Package containing the {@link tk.dmanstrator.connectfour.simulation.SimulationEngine}
+ * for playing huge amounts of self-play games in parallel.
+ * @author DManstrator
+ *
+ */
+package tk.dmanstrator.connectfour.simulation;
@@ -0,0 +1,99 @@
+package tk.dmanstrator.connectfour.solver;
+
+/**
+ * POJO class representing a position of an {@link EndgameTable}.
+ * @author DManstrator
+ *
+ */
+public class EndgameResult {
+
+    /**
+     * Represents the outcome of a position for the player to move with perfect play of both players.
+     * @author DManstrator
+     *
+     */
+    public enum Outcome  {
+        /**
+         * The player to move wins.
+         */
+        WIN,
+
+        /**
+         * The game ends in a draw.
+         */
+        DRAW,
+
+        /**
+         * The player to move loses.
+         */
+        LOSS
+    }
+
+    private final Outcome outcome;
+    private final int distance;
+    private final int bestColumn;
+
+    /**
+     * Constructor for a result.
+     *
+     * @param outcome Outcome for the player to move
+     * @param distance Amount of rounds until the game ends with perfect play
+     * @param bestColumn Best column to play, starting with {@code 1} on the left
+     */
+    public EndgameResult(final Outcome outcome, final int distance, final int bestColumn)  {
+        this.outcome = outcome;
+        this.distance = distance;
+        this.bestColumn = bestColumn;
+    }
+
+    /**
+     * Returns the outcome for the player to move.
+     * @return The outcome for the player to move
+     */
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Returns the amount of rounds until the game ends if the winner wins as fast as possible
+     * and the loser loses as late as possible. A won game ends with the round of the winner.
+     * @return The distance to the end of the game in rounds
+     */
+    public int getDistance() {
+        return distance;
+    }
+
+    /**
+     * Returns the best column to play.
+     * @return The best column, starting with {@code 1} on the left
+     */
+    public int getBestColumn() {
+        return bestColumn;
+    }
+
+    /**
+     * Converts the result into the score returned by the {@link Solver}.
+     * @param moves Amount of played moves of the position
+     * @return The exact score of the position
+     */
+    public int getScore(final int moves)  {
+        final int score = (Position.SIZE + 2 - moves - distance) / 2;
+        switch (outcome)  {
+            case WIN:
+                return score;
+            case LOSS:
+                return -score;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * toString overload returning the outcome, the distance and the best column.
+     */
+    @Override
+    public String toString() {
+        return String.format("%s in %d, best column %d", outcome, distance, bestColumn);
+    }
+
+}
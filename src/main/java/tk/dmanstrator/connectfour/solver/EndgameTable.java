@@ -0,0 +1,207 @@
+package tk.dmanstrator.connectfour.solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import tk.dmanstrator.connectfour.DefaultConnect4;
+
+/**
+ * Read-only endgame table of solved late positions, created by the {@link EndgameTableGenerator}.<br><br>
+ *
+ * Like the {@link OpeningBook}, the file is memory-mapped and looked up with a binary search
+ * directly on the mapped file. Every record holds the outcome of a position with the distance
+ * to the end of the game, so a lookup is also the exact {@link Solver} score.<br><br>
+ *
+ * <b>File format (big endian):</b>
+ * <pre>{@code
+ * int  magic     "C4EG"
+ * int  version
+ * int  width
+ * int  height
+ * int  maxEmpty  highest amount of empty positions of a stored position
+ * int  unused
+ * long count     amount of records
+ * long record[]  sorted ascending, key << 12 | bestColumn << 8 | (distance & 0xFF)
+ * }</pre>
+ * The key of a record is the {@link Position#canonicalKey() canonical key} of the position and the best column
+ * starts with {@code 1} on the left. The distance is positive if the player to move wins, negative if the
+ * player to move loses and {@code 0} for a draw.<br><br>
+ *
+ * A table is thread-safe.
+ *
+ * @author DManstrator
+ *
+ */
+public class EndgameTable {
+
+    static final int MAGIC = 0x43344547;  // "C4EG"
+    static final int VERSION = 1;
+
+    private final MappedByteBuffer buffer;
+    private final int maxEmpty;
+    private final long count;
+
+    /**
+     * Constructor taking the mapped file.
+     *
+     * @param buffer Mapped table file
+     * @throws IOException if the file is no valid endgame table for the default field
+     */
+    private EndgameTable(final MappedByteBuffer buffer) throws IOException  {
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        if (buffer.capacity() < OpeningBook.HEADER_BYTES || buffer.getInt(0) != MAGIC)  {
+            throw new IOException("File is no endgame table!");
+        }
+        if (buffer.getInt(4) != VERSION)  {
+            throw new IOException("Unsupported endgame table version " + buffer.getInt(4) + "!");
+        }
+        if (buffer.getInt(8) != Position.WIDTH || buffer.getInt(12) != Position.HEIGHT)  {
+            throw new IOException("Endgame table was created for another field size!");
+        }
+        this.buffer = buffer;
+        this.maxEmpty = buffer.getInt(16);
+        this.count = buffer.getLong(24);
+        if (OpeningBook.HEADER_BYTES + count * OpeningBook.RECORD_BYTES > buffer.capacity())  {
+            throw new IOException("Endgame table is truncated!");
+        }
+    }
+
+    /**
+     * Opens an endgame table by memory-mapping the given file.
+     *
+     * @param file Table file created by the {@link EndgameTableGenerator}
+     * @return The opened table
+     * @throws IOException if the file can't be mapped or is no valid endgame table
+     */
+    public static EndgameTable open(final Path file) throws IOException  {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))  {
+            // the mapping stays valid after the channel is closed
+            return new EndgameTable(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Looks up the current position of the given game.
+     *
+     * @param game Game to look up the current position for
+     * @return Possibly null result if the position is not in the table
+     */
+    public EndgameResult lookup(final DefaultConnect4 game)  {
+        if (game.isGameOver())  {
+            return null;
+        }
+        return lookup(Position.of(game.getBoard(), game.getPlayedRounds()));
+    }
+
+    /**
+     * Looks up the given position.
+     *
+     * @param position Position to look up
+     * @return Possibly null result if the position is not in the table
+     */
+    public EndgameResult lookup(final Position position)  {
+        final long record = find(position);
+        if (record == -1L)  {
+            return null;
+        }
+        final int distance = (byte) record;
+        final EndgameResult.Outcome outcome = distance > 0
+                ? EndgameResult.Outcome.WIN
+                : distance < 0
+                        ? EndgameResult.Outcome.LOSS
+                        : EndgameResult.Outcome.DRAW;
+        final int bestColumn = (int) (record >>> OpeningBook.MOVE_SHIFT) & 0xF;
+        return new EndgameResult(outcome, distance == 0 ? Position.SIZE - position.moves : Math.abs(distance),
+                Position.mirrorColumn(bestColumn - 1, position.mirrorKey() < position.key()) + 1);
+    }
+
+    /**
+     * Looks up the exact {@link Solver} score of the given position without creating a result.
+     *
+     * @param position Position to look up
+     * @param notFound Value returned if the position is not in the table
+     * @return The exact score of the position or {@code notFound}
+     */
+    int getScore(final Position position, final int notFound)  {
+        final long record = find(position);
+        if (record == -1L)  {
+            return notFound;
+        }
+        final int distance = (byte) record;
+        final int score = (Position.SIZE + 2 - position.moves - Math.abs(distance)) / 2;
+        return distance > 0
+                ? score
+                : distance < 0
+                        ? -score
+                        : 0;
+    }
+
+    /**
+     * Returns the highest amount of empty positions of a position in the table.
+     * @return The highest amount of empty positions of a position in the table
+     */
+    public int getMaxEmpty()  {
+        return maxEmpty;
+    }
+
+    /**
+     * Returns the amount of positions in the table.
+     * @return The amount of positions in the table
+     */
+    public long size()  {
+        return count;
+    }
+
+    /**
+     * Binary search for the record of a position.
+     *
+     * @param position Position to find
+     * @return The record or {@code -1} if the position is not in the table
+     */
+    private long find(final Position position)  {
+        if (Position.SIZE - position.moves > maxEmpty)  {
+            return -1L;
+        }
+        final long key = position.canonicalKey();
+        long low = 0, high = count - 1;
+        while (low <= high)  {
+            final long mid = (low + high) >>> 1;
+            final long record = buffer.getLong((int) (OpeningBook.HEADER_BYTES + mid * OpeningBook.RECORD_BYTES));
+            final long midKey = record >>> OpeningBook.KEY_SHIFT;
+            if (midKey < key)  {
+                low = mid + 1;
+            }  else if (midKey > key)  {
+                high = mid - 1;
+            }  else  {
+                return record;
+            }
+        }
+        return -1L;
+    }
+
+    /**
+     * Creates the header of a table file.
+     *
+     * @param maxEmpty Highest amount of empty positions of a stored position
+     * @param count Amount of records
+     * @return The header, ready to be written
+     */
+    static ByteBuffer createHeader(final int maxEmpty, final long count)  {
+        final ByteBuffer header = ByteBuffer.allocate(OpeningBook.HEADER_BYTES).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC)
+            .putInt(VERSION)
+            .putInt(Position.WIDTH)
+            .putInt(Position.HEIGHT)
+            .putInt(maxEmpty)
+            .putInt(0)
+            .putLong(count);
+        header.flip();
+        return header;
+    }
+
+}
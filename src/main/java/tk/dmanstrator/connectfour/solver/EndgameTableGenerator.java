@@ -0,0 +1,261 @@
+package tk.dmanstrator.connectfour.solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import tk.dmanstrator.connectfour.DefaultConnect4;
+import tk.dmanstrator.connectfour.MoveStatus;
+import tk.dmanstrator.connectfour.ReplayResult;
+
+/**
+ * Tool for generating an {@link EndgameTable} by retrograde analysis.<br><br>
+ *
+ * All positions which can be reached from a root position, in which the game is not over yet and
+ * which have at most a given amount of empty positions are collected ply by ply, a position and its mirror
+ * only once. Afterwards, the plies are solved backwards starting with the last one: every position is
+ * derived from its immediate wins, the full field and the already solved positions of the next ply,
+ * so no position is searched. The positions of a ply are solved in parallel.<br><br>
+ *
+ * The amount of positions grows quickly with the amount of empty positions, so the root should be
+ * a position of a real game, e.g. after 26 rounds for an endgame table with 16 empty positions.<br><br>
+ *
+ * <b>Usage:</b> {@code EndgameTableGenerator <file> <moves> <maxEmpty> [threads]} with the columns
+ * of the root position as digits, e.g. {@code 4453}.
+ *
+ * @author DManstrator
+ *
+ */
+public class EndgameTableGenerator {
+
+    private static final int WRITE_BATCH = 8192;
+    private static final long KEY_MASK = (1L << OpeningBook.KEY_SHIFT) - 1;
+
+    private final int threads;
+
+    /**
+     * Constructor for a generator.
+     * @param threads Amount of threads used for solving the positions of a ply
+     */
+    public EndgameTableGenerator(final int threads)  {
+        this.threads = threads;
+    }
+
+    /**
+     * Main method for generating an endgame table from the command line.
+     *
+     * @param args File name, root moves, maximum amount of empty positions and optionally the amount of threads
+     * @throws IOException if the table can't be written
+     */
+    public static void main(final String[] args) throws IOException  {
+        if (args.length < 3)  {
+            System.err.println("Usage: EndgameTableGenerator <file> <moves> <maxEmpty> [threads]");
+            return;
+        }
+        final DefaultConnect4 game = new DefaultConnect4("Player1", "Player2");
+        final ReplayResult replay = game.playAll(args[1], false);
+        if (!replay.isValid() || replay.getStatus() != MoveStatus.OK)  {
+            System.err.println("Invalid root moves " + args[1] + ": " + replay);
+            return;
+        }
+        final int threads = args.length > 3
+                ? Integer.parseInt(args[3])
+                : Runtime.getRuntime().availableProcessors();
+        final long start = System.nanoTime();
+        final long count = new EndgameTableGenerator(threads).generate(Paths.get(args[0]),
+                Position.of(game.getBoard(), game.getPlayedRounds()), Integer.parseInt(args[2]));
+        System.out.printf("Wrote %d positions in %d s%n", count, (System.nanoTime() - start) / 1_000_000_000L);
+    }
+
+    /**
+     * Generates a table with all positions which can be reached from the root position
+     * and have at most {@code maxEmpty} empty positions.
+     *
+     * @param file File to write the table to, an existing file will be replaced
+     * @param root Root position, must not be finished
+     * @param maxEmpty Highest amount of empty positions of a stored position
+     * @return The amount of written positions
+     * @throws IOException if the table can't be written
+     */
+    public long generate(final Path file, final Position root, final int maxEmpty) throws IOException  {
+        final List<long[]> plies = collectPositions(root, Position.SIZE - maxEmpty);
+        long[] solved = new long[0];
+        long[] records = new long[0];
+        for (int i = plies.size() - 1; i >= 0; i--)  {
+            solved = solve(plies.get(i), solved);
+            final long[] merged = Arrays.copyOf(records, records.length + solved.length);
+            System.arraycopy(solved, 0, merged, records.length, solved.length);
+            records = merged;
+        }
+        Arrays.sort(records);  // the key is in the upper bits
+        write(file, maxEmpty, records);
+        return records.length;
+    }
+
+    /**
+     * Collects the canonical keys of all positions which can be reached from the root position
+     * and are not finished, per ply.
+     *
+     * @param root Root position
+     * @param minPly Lowest amount of played moves of a collected position
+     * @return Sorted keys per ply, starting with the lowest collected ply
+     */
+    private static List<long[]> collectPositions(final Position root, final int minPly)  {
+        final List<long[]> plies = new ArrayList<>();
+        long[] level = {root.canonicalKey()};
+        for (int ply = root.moves; ply < Position.SIZE && level.length > 0; ply++)  {
+            if (ply >= minPly)  {
+                plies.add(level);
+            }
+            final long[] next = new long[level.length * Position.WIDTH];
+            int size = 0;
+            for (final long key : level)  {
+                final Position position = OpeningBookGenerator.fromKey(key, ply);
+                for (int c = 0; c < Position.WIDTH; c++)  {
+                    // winning moves lead to finished games
+                    if (position.canPlay(c) && !position.isWinningMove(c))  {
+                        final Position child = new Position(position);
+                        child.playColumn(c);
+                        if (child.moves < Position.SIZE)  {
+                            next[size++] = child.canonicalKey();
+                        }
+                    }
+                }
+            }
+            level = OpeningBookGenerator.unique(next, size);
+        }
+        return plies;
+    }
+
+    /**
+     * Solves all positions of a ply in parallel.
+     *
+     * @param keys Sorted keys of the positions of the ply
+     * @param next Records of the next ply, sorted by key
+     * @return Records of the ply, sorted by key
+     */
+    private long[] solve(final long[] keys, final long[] next)  {
+        final ForkJoinPool pool = new ForkJoinPool(threads);
+        try  {
+            return pool.submit(() -> IntStream.range(0, keys.length)
+                    .parallel()
+                    .mapToLong(i -> solve(keys[i], next))
+                    .toArray()).get();
+        }  catch (final InterruptedException e)  {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Generating the endgame table was interrupted!", e);
+        }  catch (final ExecutionException e)  {
+            throw new IllegalStateException("Solving a position failed!", e.getCause());
+        }  finally  {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Solves a single position from the records of the next ply.
+     *
+     * @param key Canonical key of the position
+     * @param next Records of the next ply, sorted by key
+     * @return Record of the position
+     */
+    private static long solve(final long key, final long[] next)  {
+        final int moves = Long.bitCount(OpeningBookGenerator.getMask(key));
+        final Position position = OpeningBookGenerator.fromKey(key, moves);
+        int bestColumn = -1;
+        int bestDistance = 0;
+        for (int c = 0; c < Position.WIDTH; c++)  {
+            if (!position.canPlay(c))  {
+                continue;
+            }
+            final int distance;
+            if (position.isWinningMove(c))  {
+                distance = 1;
+            }  else if (moves + 1 == Position.SIZE)  {
+                distance = 0;  // the last move fills the field
+            }  else  {
+                final Position child = new Position(position);
+                child.playColumn(c);
+                final int childDistance = (byte) find(next, child.canonicalKey());
+                distance = childDistance > 0
+                        ? -(childDistance + 1)
+                        : childDistance < 0
+                                ? -childDistance + 1
+                                : 0;
+            }
+            if (bestColumn == -1 || rank(distance) > rank(bestDistance))  {
+                bestColumn = c;
+                bestDistance = distance;
+            }
+        }
+        return key << OpeningBook.KEY_SHIFT
+                | (long) (bestColumn + 1) << OpeningBook.MOVE_SHIFT
+                | (bestDistance & 0xFFL);
+    }
+
+    /**
+     * Ranks a distance for the player to move: fast wins first, then draws and slow losses last.
+     *
+     * @param distance Distance to the end, positive for a win, negative for a loss and {@code 0} for a draw
+     * @return The rank, higher is better
+     */
+    private static int rank(final int distance)  {
+        return distance > 0
+                ? 2 * Position.SIZE - distance
+                : distance < 0
+                        ? -2 * Position.SIZE - distance
+                        : 0;
+    }
+
+    /**
+     * Binary search for the record of a key.
+     *
+     * @param records Records sorted by key
+     * @param key Canonical key of the position
+     * @return The record
+     * @throws IllegalStateException if the key was not collected
+     */
+    private static long find(final long[] records, final long key)  {
+        final int index = Arrays.binarySearch(records, key << OpeningBook.KEY_SHIFT);
+        final int insertion = index >= 0 ? index : -index - 1;
+        if (insertion == records.length || (records[insertion] & ~KEY_MASK) != key << OpeningBook.KEY_SHIFT)  {
+            throw new IllegalStateException("Position " + key + " of the next ply was not collected!");
+        }
+        return records[insertion];
+    }
+
+    /**
+     * Writes the table file.
+     *
+     * @param file File to write the table to
+     * @param maxEmpty Highest amount of empty positions of a stored position
+     * @param records Sorted records
+     * @throws IOException if the table can't be written
+     */
+    private static void write(final Path file, final int maxEmpty, final long[] records) throws IOException  {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))  {
+            OpeningBookGenerator.writeFully(channel, EndgameTable.createHeader(maxEmpty, records.length));
+            final ByteBuffer batch = ByteBuffer.allocate(WRITE_BATCH * OpeningBook.RECORD_BYTES)
+                    .order(ByteOrder.BIG_ENDIAN);
+            for (int i = 0; i < records.length; i++)  {
+                batch.putLong(records[i]);
+                if (!batch.hasRemaining() || i == records.length - 1)  {
+                    batch.flip();
+                    OpeningBookGenerator.writeFully(channel, batch);
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,185 @@
+package tk.dmanstrator.connectfour.solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import tk.dmanstrator.connectfour.DefaultConnect4;
+
+/**
+ * Read-only opening book of solved positions, created by the {@link OpeningBookGenerator}.<br><br>
+ *
+ * The book file is memory-mapped and never deserialized. Lookups are a binary search
+ * directly on the mapped file, so opening a book is instant and all JVMs on a host
+ * which open the same file share the pages through the page cache.<br><br>
+ *
+ * <b>File format (big endian):</b>
+ * <pre>{@code
+ * int  magic    "C4OB"
+ * int  version
+ * int  width
+ * int  height
+ * int  maxPly   highest amount of played moves of a stored position
+ * int  unused
+ * long count    amount of records
+ * long record[] sorted ascending, key << 12 | bestColumn << 8 | (score & 0xFF)
+ * }</pre>
+ * The key of a record is the {@link Position#canonicalKey() canonical key} of the position, so a position
+ * and its mirror share a record and the best column, starting with {@code 1} on the left, is mirrored if needed.<br><br>
+ *
+ * A book is thread-safe.
+ *
+ * @author DManstrator
+ *
+ */
+public class OpeningBook {
+
+    static final int MAGIC = 0x43344F42;  // "C4OB"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 32;
+    static final int RECORD_BYTES = Long.BYTES;
+    static final int KEY_SHIFT = 12;
+    static final int MOVE_SHIFT = 8;
+
+    private final MappedByteBuffer buffer;
+    private final int maxPly;
+    private final long count;
+
+    /**
+     * Constructor taking the mapped file.
+     *
+     * @param buffer Mapped book file
+     * @throws IOException if the file is no valid book for the default field
+     */
+    private OpeningBook(final MappedByteBuffer buffer) throws IOException  {
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC)  {
+            throw new IOException("File is no opening book!");
+        }
+        if (buffer.getInt(4) != VERSION)  {
+            throw new IOException("Unsupported opening book version " + buffer.getInt(4) + "!");
+        }
+        if (buffer.getInt(8) != Position.WIDTH || buffer.getInt(12) != Position.HEIGHT)  {
+            throw new IOException("Opening book was created for another field size!");
+        }
+        this.buffer = buffer;
+        this.maxPly = buffer.getInt(16);
+        this.count = buffer.getLong(24);
+        if (HEADER_BYTES + count * RECORD_BYTES > buffer.capacity())  {
+            throw new IOException("Opening book is truncated!");
+        }
+    }
+
+    /**
+     * Opens an opening book by memory-mapping the given file.
+     *
+     * @param file Book file created by the {@link OpeningBookGenerator}
+     * @return The opened book
+     * @throws IOException if the file can't be mapped or is no valid book
+     */
+    public static OpeningBook open(final Path file) throws IOException  {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))  {
+            // the mapping stays valid after the channel is closed
+            return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Looks up the current position of the given game.
+     *
+     * @param game Game to look up the current position for
+     * @return Possibly null result if the position is not in the book
+     */
+    public SolverResult lookup(final DefaultConnect4 game)  {
+        if (game.isGameOver())  {
+            return null;
+        }
+        return lookup(Position.of(game.getBoard(), game.getPlayedRounds()));
+    }
+
+    /**
+     * Looks up the given position.
+     *
+     * @param position Position to look up
+     * @return Possibly null result if the position is not in the book
+     */
+    public SolverResult lookup(final Position position)  {
+        if (position.moves > maxPly)  {
+            return null;
+        }
+        final long start = System.nanoTime();
+        final long key = position.key();
+        final long mirrorKey = position.mirrorKey();
+        final long record = find(Math.min(key, mirrorKey));
+        if (record == -1L)  {
+            return null;
+        }
+        final int bestColumn = (int) (record >>> MOVE_SHIFT) & 0xF;
+        return new SolverResult((byte) record, Position.mirrorColumn(bestColumn - 1, mirrorKey < key) + 1, 0,
+                System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the highest amount of played moves of a position in the book.
+     * @return The highest amount of played moves of a position in the book
+     */
+    public int getMaxPly()  {
+        return maxPly;
+    }
+
+    /**
+     * Returns the amount of positions in the book.
+     * @return The amount of positions in the book
+     */
+    public long size()  {
+        return count;
+    }
+
+    /**
+     * Binary search for the record of a key.
+     *
+     * @param key Key of the position
+     * @return The record or {@code -1} if the key is not in the book
+     */
+    private long find(final long key)  {
+        long low = 0, high = count - 1;
+        while (low <= high)  {
+            final long mid = (low + high) >>> 1;
+            final long record = buffer.getLong((int) (HEADER_BYTES + mid * RECORD_BYTES));
+            final long midKey = record >>> KEY_SHIFT;
+            if (midKey < key)  {
+                low = mid + 1;
+            }  else if (midKey > key)  {
+                high = mid - 1;
+            }  else  {
+                return record;
+            }
+        }
+        return -1L;
+    }
+
+    /**
+     * Creates the header of a book file.
+     *
+     * @param maxPly Highest amount of played moves of a stored position
+     * @param count Amount of records
+     * @return The header, ready to be written
+     */
+    static ByteBuffer createHeader(final int maxPly, final long count)  {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC)
+            .putInt(VERSION)
+            .putInt(Position.WIDTH)
+            .putInt(Position.HEIGHT)
+            .putInt(maxPly)
+            .putInt(0)
+            .putLong(count);
+        header.flip();
+        return header;
+    }
+
+}
@@ -0,0 +1,245 @@
+package tk.dmanstrator.connectfour.solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import tk.dmanstrator.connectfour.board.Zobrist;
+
+/**
+ * Tool for generating an {@link OpeningBook}.<br><br>
+ *
+ * All positions which can be reached from a root position up to a given amount of played moves
+ * and in which the game is not over yet are solved in parallel and written as sorted records.
+ * Solving the early positions of the default field is expensive, so generating a book for
+ * the first 8 to 12 moves is meant to be done once and the file shipped to all hosts.<br><br>
+ *
+ * <b>Usage:</b> {@code OpeningBookGenerator <file> <maxPly> [threads]}
+ *
+ * @author DManstrator
+ *
+ */
+public class OpeningBookGenerator {
+
+    private static final int WRITE_BATCH = 8192;
+
+    private final int threads;
+
+    /**
+     * Constructor for a generator.
+     * @param threads Amount of threads used for solving the positions
+     */
+    public OpeningBookGenerator(final int threads)  {
+        this.threads = threads;
+    }
+
+    /**
+     * Main method for generating an opening book from the command line.
+     *
+     * @param args File name, maximum amount of played moves and optionally the amount of threads
+     * @throws IOException if the book can't be written
+     */
+    public static void main(final String[] args) throws IOException  {
+        if (args.length < 2)  {
+            System.err.println("Usage: OpeningBookGenerator <file> <maxPly> [threads]");
+            return;
+        }
+        final int threads = args.length > 2
+                ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        final long start = System.nanoTime();
+        final long count = new OpeningBookGenerator(threads)
+                .generate(Paths.get(args[0]), new Position(), Integer.parseInt(args[1]));
+        System.out.printf("Wrote %d positions in %d s%n", count, (System.nanoTime() - start) / 1_000_000_000L);
+    }
+
+    /**
+     * Generates a book with all positions which can be reached from the root position
+     * with at most {@code maxPly} played moves in total.
+     *
+     * @param file File to write the book to, an existing file will be replaced
+     * @param root Root position, usually the empty position
+     * @param maxPly Highest amount of played moves of a stored position
+     * @return The amount of written positions
+     * @throws IOException if the book can't be written
+     */
+    public long generate(final Path file, final Position root, final int maxPly) throws IOException  {
+        final long[] keys = collectPositions(root, maxPly);
+        final long[] records = solve(keys);
+        Arrays.sort(records);  // the key is in the upper bits
+        write(file, maxPly, records);
+        return records.length;
+    }
+
+    /**
+     * Collects the unique canonical keys of all positions which can be reached from the root position.
+     * Positions are expanded ply by ply so that transpositions and mirrored positions are only expanded once.
+     *
+     * @param root Root position
+     * @param maxPly Highest amount of played moves of a collected position
+     * @return Keys of all collected positions
+     */
+    private static long[] collectPositions(final Position root, final int maxPly)  {
+        if (root.moves > maxPly)  {
+            return new long[0];
+        }
+        long[] level = {root.canonicalKey()};
+        long[] all = level;
+        for (int ply = root.moves; ply < maxPly; ply++)  {
+            final long[] next = new long[level.length * Position.WIDTH];
+            int size = 0;
+            for (final long key : level)  {
+                final Position position = fromKey(key, ply);
+                for (int c = 0; c < Position.WIDTH; c++)  {
+                    // winning moves lead to finished games
+                    if (position.canPlay(c) && !position.isWinningMove(c))  {
+                        final Position child = new Position(position);
+                        child.playColumn(c);
+                        if (child.moves < Position.SIZE)  {
+                            next[size++] = child.canonicalKey();
+                        }
+                    }
+                }
+            }
+            level = unique(next, size);
+            final long[] merged = Arrays.copyOf(all, all.length + level.length);
+            System.arraycopy(level, 0, merged, all.length, level.length);
+            all = merged;
+        }
+        return all;
+    }
+
+    /**
+     * Solves all positions in parallel.
+     *
+     * @param keys Keys of the positions to solve
+     * @return Unsorted records of the solved positions
+     */
+    private long[] solve(final long[] keys)  {
+        final ThreadLocal<Solver> solvers = ThreadLocal.withInitial(Solver::new);
+        final ForkJoinPool pool = new ForkJoinPool(threads);
+        try  {
+            return pool.submit(() -> IntStream.range(0, keys.length)
+                    .parallel()
+                    .mapToLong(i -> {
+                        final long key = keys[i];
+                        final SolverResult result = solvers.get()
+                                .solve(fromKey(key, Long.bitCount(getMask(key))));
+                        return key << OpeningBook.KEY_SHIFT
+                                | (long) result.getBestColumn() << OpeningBook.MOVE_SHIFT
+                                | (result.getScore() & 0xFFL);
+                    })
+                    .toArray()).get();
+        }  catch (final InterruptedException e)  {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Generating the opening book was interrupted!", e);
+        }  catch (final ExecutionException e)  {
+            throw new IllegalStateException("Solving a position failed!", e.getCause());
+        }  finally  {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Writes the book file.
+     *
+     * @param file File to write the book to
+     * @param maxPly Highest amount of played moves of a stored position
+     * @param records Sorted records
+     * @throws IOException if the book can't be written
+     */
+    private static void write(final Path file, final int maxPly, final long[] records) throws IOException  {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))  {
+            writeFully(channel, OpeningBook.createHeader(maxPly, records.length));
+            final ByteBuffer batch = ByteBuffer.allocate(WRITE_BATCH * OpeningBook.RECORD_BYTES)
+                    .order(ByteOrder.BIG_ENDIAN);
+            for (int i = 0; i < records.length; i++)  {
+                batch.putLong(records[i]);
+                if (!batch.hasRemaining() || i == records.length - 1)  {
+                    batch.flip();
+                    writeFully(channel, batch);
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the whole buffer to the channel.
+     *
+     * @param channel Channel to write to
+     * @param buffer Buffer to write
+     * @throws IOException if writing fails
+     */
+    static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException  {
+        while (buffer.hasRemaining())  {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Sorts the keys and removes duplicates.
+     *
+     * @param keys Keys to sort
+     * @param size Amount of used keys
+     * @return Sorted unique keys
+     */
+    static long[] unique(final long[] keys, final int size)  {
+        Arrays.sort(keys, 0, size);
+        int unique = 0;
+        for (int i = 0; i < size; i++)  {
+            if (unique == 0 || keys[unique - 1] != keys[i])  {
+                keys[unique++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, unique);
+    }
+
+    /**
+     * Extracts the mask of all assigned positions from a key.
+     * In every column, the key is the mask plus the pieces of the player to move,
+     * so the highest bit of the column is the first free position.
+     *
+     * @param key Key of the position
+     * @return Bits of all assigned positions
+     */
+    static long getMask(final long key)  {
+        long mask = 0L;
+        for (int c = 0; c < Position.WIDTH; c++)  {
+            final long column = (key >>> (c * (Position.HEIGHT + 1))) & ((1L << (Position.HEIGHT + 1)) - 1);
+            final long height = 63 - Long.numberOfLeadingZeros(column + 1);
+            mask |= ((1L << height) - 1) << (c * (Position.HEIGHT + 1));
+        }
+        return mask;
+    }
+
+    /**
+     * Restores a position from its key.
+     *
+     * @param key Key of the position
+     * @param moves Amount of played moves
+     * @return The restored position including its Zobrist hash
+     */
+    static Position fromKey(final long key, final int moves)  {
+        final long mask = getMask(key);
+        final long current = key - mask;
+        long hash = 0L;
+        final int currentPlayer = moves & 1;
+        for (long bits = mask; bits != 0L; bits &= bits - 1)  {
+            final long bit = Long.lowestOneBit(bits);
+            final int player = (current & bit) != 0L ? currentPlayer : 1 - currentPlayer;
+            hash ^= Zobrist.getKey(player, Long.numberOfTrailingZeros(bit));
+        }
+        return new Position(current, mask, moves, hash);
+    }
+
+}
@@ -0,0 +1,441 @@
+package tk.dmanstrator.connectfour.solver;
+
+import tk.dmanstrator.connectfour.board.BitBoard;
+import tk.dmanstrator.connectfour.board.Board;
+import tk.dmanstrator.connectfour.board.BoardLayout;
+import tk.dmanstrator.connectfour.board.Zobrist;
+
+/**
+ * Compact position used by the {@link Solver}.
+ * Uses the same bit layout as the {@link BitBoard} but stores the pieces
+ * relative to the player to move, so that playing a move is only a XOR and an OR.
+ * The Zobrist hash is updated with every move and matches the hash of the {@link BitBoard}.
+ * The hash of the left-right mirror is updated as well, so the {@link Position#canonicalHash() canonical hash}
+ * of a position and its mirror is available without looking at the pieces.
+ *
+ * @author DManstrator
+ *
+ */
+public final class Position {
+
+    /**
+     * Amount of columns of the field.
+     */
+    public static final int WIDTH = BitBoard.WIDTH;
+
+    /**
+     * Amount of rows of the field.
+     */
+    public static final int HEIGHT = BitBoard.HEIGHT;
+
+    /**
+     * Amount of positions of the field.
+     */
+    public static final int SIZE = WIDTH * HEIGHT;
+
+    /**
+     * Lowest possible score of a position.
+     */
+    public static final int MIN_SCORE = -SIZE / 2 + 3;
+
+    /**
+     * Highest possible score of a position.
+     */
+    public static final int MAX_SCORE = (SIZE + 1) / 2 - 3;
+
+    private static final int COLUMN_HEIGHT = HEIGHT + 1;
+    private static final long BOTTOM_MASK = createBottomMask();
+    private static final long BOARD_MASK = BOTTOM_MASK * ((1L << HEIGHT) - 1);
+    private static final int[] MIRROR_INDEX = createMirrorIndices();
+
+    long current;
+    long mask;
+    int moves;
+    long hash;
+    long mirrorHash;
+
+    /**
+     * Constructor for an empty position.
+     */
+    public Position()  {
+        this(0L, 0L, 0, 0L);
+    }
+
+    /**
+     * Constructor for a position.
+     *
+     * @param current Bits of the player to move
+     * @param mask Bits of all assigned positions
+     * @param moves Amount of played moves
+     * @param hash Zobrist hash of the position
+     */
+    public Position(final long current, final long mask, final int moves, final long hash)  {
+        this(current, mask, moves, hash, computeMirrorHash(current, mask, moves));
+    }
+
+    /**
+     * Constructor for a position whose mirror hash is already known.
+     *
+     * @param current Bits of the player to move
+     * @param mask Bits of all assigned positions
+     * @param moves Amount of played moves
+     * @param hash Zobrist hash of the position
+     * @param mirrorHash Zobrist hash of the mirrored position
+     */
+    Position(final long current, final long mask, final int moves, final long hash, final long mirrorHash)  {
+        this.current = current;
+        this.mask = mask;
+        this.moves = moves;
+        this.hash = hash;
+        this.mirrorHash = mirrorHash;
+    }
+
+    /**
+     * Copy constructor.
+     * @param other Position to copy
+     */
+    public Position(final Position other)  {
+        this(other.current, other.mask, other.moves, other.hash, other.mirrorHash);
+    }
+
+    /**
+     * Creates a position from the {@link Board} of a default game.
+     *
+     * @param board Board to create the position from
+     * @param moves Amount of played moves
+     * @return The position for the player to move
+     * @throws IllegalArgumentException if the board is not a default field
+     */
+    public static Position of(final Board board, final int moves)  {
+        if (board.getLayout() != BoardLayout.DEFAULT)  {
+            throw new IllegalArgumentException("Only the default field " + BoardLayout.DEFAULT
+                    + " is supported, not " + board.getLayout() + "!");
+        }
+        final BitBoard bitBoard = (BitBoard) board;
+        return new Position(bitBoard.getPieces(moves & 1), bitBoard.getMask(), moves, bitBoard.getHash(),
+                bitBoard.getMirrorHash());
+    }
+
+    /**
+     * Tells if a column still has a free position.
+     *
+     * @param column Column index, starting with {@code 0} on the left
+     * @return {@code true} if the column is not full, else {@code false}
+     */
+    public boolean canPlay(final int column)  {
+        return (mask & topMask(column)) == 0L;
+    }
+
+    /**
+     * Plays the given column for the player to move.
+     * The column has to be playable.
+     *
+     * @param column Column index, starting with {@code 0} on the left
+     */
+    public void playColumn(final int column)  {
+        play((mask + bottomMask(column)) & columnMask(column));
+    }
+
+    /**
+     * Plays the given move for the player to move.
+     *
+     * @param move Bit of the move, has to be a possible move
+     */
+    public void play(final long move)  {
+        final int index = Long.numberOfTrailingZeros(move);
+        hash ^= Zobrist.getKey(moves & 1, index);
+        mirrorHash ^= Zobrist.getKey(moves & 1, MIRROR_INDEX[index]);
+        current ^= mask;
+        mask |= move;
+        moves++;
+    }
+
+    /**
+     * Tells if the player to move wins by playing the given column.
+     *
+     * @param column Column index, starting with {@code 0} on the left
+     * @return {@code true} if the column is a winning move, else {@code false}
+     */
+    public boolean isWinningMove(final int column)  {
+        return (winningPosition() & possible() & columnMask(column)) != 0L;
+    }
+
+    /**
+     * Tells if the player to move can win with the next move.
+     * @return {@code true} if the player to move can win immediately, else {@code false}
+     */
+    public boolean canWinNext()  {
+        return (winningPosition() & possible()) != 0L;
+    }
+
+    /**
+     * Returns all moves which don't give the opponent an immediate win.
+     * Assumes that the player to move can't win with the next move.
+     * @return Bits of all moves which don't lose directly, {@code 0} if every move loses
+     */
+    public long possibleNonLosingMoves()  {
+        long possibleMask = possible();
+        final long opponentWin = opponentWinningPosition();
+        final long forcedMoves = possibleMask & opponentWin;
+        if (forcedMoves != 0L)  {
+            if ((forcedMoves & (forcedMoves - 1)) != 0L)  {
+                return 0L;  // opponent has two winning moves
+            }
+            possibleMask = forcedMoves;
+        }
+        return possibleMask & ~(opponentWin >>> 1);  // don't play below a winning position of the opponent
+    }
+
+    /**
+     * Scores a move by the amount of winning positions it creates. Used for move ordering.
+     *
+     * @param move Bit of the move
+     * @return Amount of winning positions of the player to move after the move
+     */
+    public int moveScore(final long move)  {
+        return Long.bitCount(computeWinningPosition(current | move, mask));
+    }
+
+    /**
+     * Returns a key which is unique for every position.
+     * @return A unique key of the position
+     */
+    public long key()  {
+        return current + mask;
+    }
+
+    /**
+     * Returns the unique key of the left-right mirror of the position.
+     * @return The unique key of the mirrored position
+     */
+    public long mirrorKey()  {
+        return mirror(current + mask);  // the key of a column never carries into the next column
+    }
+
+    /**
+     * Returns the canonical key, the smaller one of the key and the key of the mirrored position.
+     * A position and its mirror have the same canonical key.
+     * @return The canonical key of the position
+     */
+    public long canonicalKey()  {
+        return Math.min(key(), mirrorKey());
+    }
+
+    /**
+     * Returns the Zobrist hash of the position.
+     * @return The Zobrist hash of the position
+     */
+    public long getHash()  {
+        return hash;
+    }
+
+    /**
+     * Returns the Zobrist hash of the mirrored position.
+     * @return The Zobrist hash of the mirrored position
+     */
+    public long getMirrorHash()  {
+        return mirrorHash;
+    }
+
+    /**
+     * Returns the canonical hash, the smaller one of the hash and the hash of the mirrored position.
+     * @return The canonical hash of the position
+     * @see Position#isMirrored()
+     */
+    public long canonicalHash()  {
+        return Math.min(hash, mirrorHash);
+    }
+
+    /**
+     * Tells if the canonical hash belongs to the mirrored position.
+     * @return {@code true} if the canonical hash is the hash of the mirrored position, else {@code false}
+     */
+    public boolean isMirrored()  {
+        return mirrorHash < hash;
+    }
+
+    /**
+     * Mirrors a column index if a value was stored for the other orientation.
+     *
+     * @param column Column index, starting with {@code 0} on the left, or {@code -1} for no column
+     * @param mirrored {@code true} if the column has to be mirrored, else {@code false}
+     * @return The column index in the other orientation if mirrored, else the column index itself
+     */
+    public static int mirrorColumn(final int column, final boolean mirrored)  {
+        return mirrored && column >= 0
+                ? WIDTH - 1 - column
+                : column;
+    }
+
+    /**
+     * Mirrors bits in the layout of a position, e.g. a key or a mask, by swapping the columns.
+     *
+     * @param bits Bits of a position
+     * @return The bits of the mirrored position
+     */
+    public static long mirror(final long bits)  {
+        final long columnBits = (1L << COLUMN_HEIGHT) - 1;
+        long mirrored = 0L;
+        for (int c = 0; c < WIDTH; c++)  {
+            mirrored |= ((bits >>> (c * COLUMN_HEIGHT)) & columnBits) << ((WIDTH - 1 - c) * COLUMN_HEIGHT);
+        }
+        return mirrored;
+    }
+
+    /**
+     * Returns the amount of played moves.
+     * @return The amount of played moves
+     */
+    public int getMoves()  {
+        return moves;
+    }
+
+    /**
+     * Returns the bits of the player to move.
+     * @return The bits of the player to move
+     */
+    public long getCurrent()  {
+        return current;
+    }
+
+    /**
+     * Returns the bits of all assigned positions.
+     * @return The bits of all assigned positions
+     */
+    public long getMask()  {
+        return mask;
+    }
+
+    /**
+     * Returns the bit of the lowest free position of every column which is not full.
+     * @return Bits of all possible moves
+     */
+    long possible()  {
+        return (mask + BOTTOM_MASK) & BOARD_MASK;
+    }
+
+    /**
+     * Returns all free positions which would complete four in a row for the player to move.
+     * @return Bits of the winning positions of the player to move
+     */
+    long winningPosition()  {
+        return computeWinningPosition(current, mask);
+    }
+
+    /**
+     * Returns all free positions which would complete four in a row for the opponent.
+     * @return Bits of the winning positions of the opponent
+     */
+    long opponentWinningPosition()  {
+        return computeWinningPosition(current ^ mask, mask);
+    }
+
+    /**
+     * Returns the bit mask of a column.
+     *
+     * @param column Column index
+     * @return Bits of all positions of the column
+     */
+    static long columnMask(final int column)  {
+        return ((1L << HEIGHT) - 1) << (column * COLUMN_HEIGHT);
+    }
+
+    /**
+     * Returns the bit of the top position of a column.
+     *
+     * @param column Column index
+     * @return Bit of the top position of the column
+     */
+    static long topMask(final int column)  {
+        return 1L << (HEIGHT - 1 + column * COLUMN_HEIGHT);
+    }
+
+    /**
+     * Returns the bit of the bottom position of a column.
+     *
+     * @param column Column index
+     * @return Bit of the bottom position of the column
+     */
+    static long bottomMask(final int column)  {
+        return 1L << (column * COLUMN_HEIGHT);
+    }
+
+    /**
+     * Calculates all free positions which would complete four in a row for the given pieces.
+     *
+     * @param position Bits of a single player
+     * @param mask Bits of all assigned positions
+     * @return Bits of all winning positions
+     */
+    static long computeWinningPosition(final long position, final long mask)  {
+        // vertical
+        long result = (position << 1) & (position << 2) & (position << 3);
+
+        result |= computeWinningPosition(position, COLUMN_HEIGHT);  // horizontal
+        result |= computeWinningPosition(position, COLUMN_HEIGHT - 1);  // diagonal \
+        result |= computeWinningPosition(position, COLUMN_HEIGHT + 1);  // diagonal /
+
+        return result & (BOARD_MASK ^ mask);
+    }
+
+    /**
+     * Calculates all positions which would complete four in a row in one direction,
+     * no matter if they are free or not.
+     *
+     * @param position Bits of a single player
+     * @param shift Distance between two neighbouring bits in the direction
+     * @return Bits of all positions completing four in a row in the direction
+     */
+    private static long computeWinningPosition(final long position, final int shift)  {
+        long pair = (position << shift) & (position << (2 * shift));
+        long result = pair & (position << (3 * shift));
+        result |= pair & (position >>> shift);
+        pair = (position >>> shift) & (position >>> (2 * shift));
+        result |= pair & (position << shift);
+        result |= pair & (position >>> (3 * shift));
+        return result;
+    }
+
+    /**
+     * Calculates the hash of the mirrored position by looking at all pieces.
+     *
+     * @param current Bits of the player to move
+     * @param mask Bits of all assigned positions
+     * @param moves Amount of played moves
+     * @return The Zobrist hash of the mirrored position
+     */
+    private static long computeMirrorHash(final long current, final long mask, final int moves)  {
+        long mirrorHash = 0L;
+        for (long bits = mask; bits != 0L; bits &= bits - 1)  {
+            final long bit = Long.lowestOneBit(bits);
+            final int player = (current & bit) != 0L ? moves & 1 : 1 - (moves & 1);
+            mirrorHash ^= Zobrist.getKey(player, MIRROR_INDEX[Long.numberOfTrailingZeros(bit)]);
+        }
+        return mirrorHash;
+    }
+
+    /**
+     * Creates the bit index of the mirrored position for every bit index.
+     * @return The mirrored bit indices
+     */
+    private static int[] createMirrorIndices()  {
+        final int[] indices = new int[WIDTH * COLUMN_HEIGHT];
+        for (int i = 0; i < indices.length; i++)  {
+            indices[i] = (WIDTH - 1 - i / COLUMN_HEIGHT) * COLUMN_HEIGHT + i % COLUMN_HEIGHT;
+        }
+        return indices;
+    }
+
+    /**
+     * Creates the bit mask with the bottom position of every column.
+     * @return Bits of the bottom positions
+     */
+    private static long createBottomMask()  {
+        long bottom = 0L;
+        for (int c = 0; c < WIDTH; c++)  {
+            bottom |= bottomMask(c);
+        }
+        return bottom;
+    }
+
+}
@@ -0,0 +1,358 @@
+package tk.dmanstrator.connectfour.solver;
+
+import tk.dmanstrator.connectfour.DefaultConnect4;
+
+/**
+ * Solver for positions of a {@link DefaultConnect4} game.<br><br>
+ *
+ * Uses a negamax search with alpha-beta pruning. Moves are ordered by the amount of
+ * winning positions they create and, for equal amounts, from the center to the sides.
+ * The exact score is found by iterative deepening with null window searches,
+ * starting with the scores of early wins and losses since they are found with shallow searches.
+ * Positions reached by different move orders are only searched once thanks to a {@link TranspositionTable}.
+ * The table is keyed by the {@link Position#canonicalHash() canonical hash}, so a position and its mirror
+ * share an entry and the stored best column is mirrored if needed.
+ * If an {@link OpeningBook} is set, early positions are answered from the book without searching.
+ * If an {@link EndgameTable} is set, late positions are answered from the table, also within the search.<br><br>
+ *
+ * A solver is not thread-safe, use one instance per thread.
+ *
+ * @author DManstrator
+ *
+ */
+public class Solver {
+
+    private static final int WIDTH = Position.WIDTH;
+    private static final int SIZE = Position.SIZE;
+    private static final long DEFAULT_TABLE_SIZE = 64L * 1024 * 1024;
+    private static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    private final int[] columnOrder = new int[WIDTH];
+    private final long[][] sortedMoves = new long[SIZE + 1][WIDTH];
+    private final int[][] sortedScores = new int[SIZE + 1][WIDTH];
+
+    private final TranspositionTable table;
+
+    private OpeningBook openingBook;
+    private EndgameTable endgameTable;
+    private long nodeCount;
+
+    /**
+     * Constructor for a solver with a 64 MB {@link TranspositionTable}.
+     */
+    public Solver()  {
+        this(new TranspositionTable(DEFAULT_TABLE_SIZE));
+    }
+
+    /**
+     * Constructor for a solver using the given {@link TranspositionTable}.
+     * @param table Table to store searched positions in
+     */
+    public Solver(final TranspositionTable table)  {
+        this.table = table;
+        for (int i = 0; i < WIDTH; i++)  {
+            // 3, 2, 4, 1, 5, 0, 6 for a width of 7
+            columnOrder[i] = WIDTH / 2 + (1 - 2 * (i % 2)) * (i + 1) / 2;
+        }
+    }
+
+    /**
+     * Solves the current position of the given game.
+     *
+     * @param game Game to solve the current position for
+     * @return A {@link SolverResult} containing the exact score, the best column and the search cost
+     * @throws IllegalStateException if the game is already over
+     * @throws IllegalArgumentException if the game is not played on the default field
+     */
+    public SolverResult solve(final DefaultConnect4 game)  {
+        if (game.isGameOver())  {
+            throw new IllegalStateException("Game is already over!");
+        }
+        return solve(Position.of(game.getBoard(), game.getPlayedRounds()));
+    }
+
+    /**
+     * Solves the given position.
+     *
+     * @param position Position to solve, must not be finished
+     * @return A {@link SolverResult} containing the exact score, the best column and the search cost
+     */
+    public SolverResult solve(final Position position)  {
+        if (openingBook != null)  {
+            final SolverResult bookResult = openingBook.lookup(position);
+            if (bookResult != null)  {
+                return bookResult;
+            }
+        }
+
+        final long start = System.nanoTime();
+        if (endgameTable != null)  {
+            final EndgameResult endgameResult = endgameTable.lookup(position);
+            if (endgameResult != null)  {
+                return new SolverResult(endgameResult.getScore(position.moves), endgameResult.getBestColumn(),
+                        0, System.nanoTime() - start);
+            }
+        }
+        nodeCount = 0;
+        table.newSearch();
+
+        final Position work = new Position(position);
+        final int score = getScore(work);
+        final int bestColumn = getBestColumn(work, score);
+        return new SolverResult(score, bestColumn + 1, nodeCount, System.nanoTime() - start);
+    }
+
+    /**
+     * Calculates the exact score of the given position.
+     *
+     * @param position Position to score
+     * @return The exact score of the position
+     */
+    public int getScore(final Position position)  {
+        if (position.canWinNext())  {
+            return (SIZE + 1 - position.moves) / 2;
+        }
+
+        int min = -(SIZE - position.moves) / 2;
+        int max = (SIZE + 1 - position.moves) / 2;
+        while (min < max)  {
+            int med = min + (max - min) / 2;
+            if (med <= 0 && min / 2 < med)  {
+                med = min / 2;
+            }  else if (med >= 0 && max / 2 > med)  {
+                med = max / 2;
+            }
+            final int result = negamax(position, med, med + 1);  // null window: is the score above med?
+            if (result <= med)  {
+                max = result;
+            }  else  {
+                min = result;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Sets the {@link OpeningBook} which is asked before searching.
+     * @param openingBook Possibly null book, {@code null} disables the book
+     */
+    public void setOpeningBook(final OpeningBook openingBook)  {
+        this.openingBook = openingBook;
+    }
+
+    /**
+     * Sets the {@link EndgameTable} which is asked before searching and for every searched position
+     * with few enough empty positions.
+     * @param endgameTable Possibly null table, {@code null} disables the table
+     */
+    public void setEndgameTable(final EndgameTable endgameTable)  {
+        this.endgameTable = endgameTable;
+    }
+
+    /**
+     * Returns the {@link TranspositionTable} of this solver, e.g. for reading its counters.
+     * @return The TranspositionTable of this solver
+     */
+    public TranspositionTable getTranspositionTable()  {
+        return table;
+    }
+
+    /**
+     * Returns the amount of searched nodes of the last search.
+     * @return The amount of searched nodes
+     */
+    public long getNodeCount()  {
+        return nodeCount;
+    }
+
+    /**
+     * Finds the first column in move order which reaches the given score.
+     *
+     * @param position Position to find the best column for
+     * @param score Exact score of the position
+     * @return Index of the best column
+     */
+    private int getBestColumn(final Position position, final int score)  {
+        for (final int column : columnOrder)  {
+            if (position.canPlay(column) && position.isWinningMove(column))  {
+                return column;
+            }
+        }
+
+        int fallback = -1;
+        final long current = position.current, mask = position.mask;
+        final long hash = position.hash, mirrorHash = position.mirrorHash;
+        final int moves = position.moves;
+        for (final int column : columnOrder)  {
+            if (!position.canPlay(column))  {
+                continue;
+            }
+            if (fallback == -1)  {
+                fallback = column;
+            }
+            position.playColumn(column);
+            // the child reaches the score if its score is at most -score
+            final int childScore = position.canWinNext()
+                    ? (SIZE + 1 - position.moves) / 2
+                    : negamax(position, -score, -score + 1);
+            restore(position, current, mask, moves, hash, mirrorHash);
+            if (-childScore >= score)  {
+                return column;
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Negamax search with alpha-beta pruning.
+     * The player to move must not be able to win with the next move.
+     *
+     * @param position Position to search
+     * @param alpha Lower bound of the search window
+     * @param beta Upper bound of the search window
+     * @return The exact score if it is inside the window,
+     * else an upper bound if it is at most alpha or a lower bound if it is at least beta
+     */
+    private int negamax(final Position position, int alpha, int beta)  {
+        nodeCount++;
+
+        final long next = position.possibleNonLosingMoves();
+        if (next == 0L)  {  // every move lets the opponent win
+            return -(SIZE - position.moves) / 2;
+        }
+        if (position.moves >= SIZE - 2)  {  // no winner in the last two moves
+            return 0;
+        }
+
+        final int min = -(SIZE - 2 - position.moves) / 2;  // opponent can't win with the next move
+        if (alpha < min)  {
+            alpha = min;
+            if (alpha >= beta)  {
+                return alpha;
+            }
+        }
+
+        final int max = (SIZE - 1 - position.moves) / 2;  // we can't win with the next move
+        if (beta > max)  {
+            beta = max;
+            if (alpha >= beta)  {
+                return beta;
+            }
+        }
+
+        if (endgameTable != null)  {
+            final int endgameScore = endgameTable.getScore(position, NOT_FOUND);
+            if (endgameScore != NOT_FOUND)  {
+                return endgameScore;
+            }
+        }
+
+        final long hash = position.hash, mirrorHash = position.mirrorHash;
+        final boolean mirrored = mirrorHash < hash;
+        final long key = mirrored ? mirrorHash : hash;  // the canonical hash
+        final int bound = table.probe(key);
+        final int tableMove = Position.mirrorColumn(table.getMove(), mirrored);
+        if (bound != TranspositionTable.NONE)  {
+            final int tableScore = table.getScore();
+            if (bound == TranspositionTable.EXACT)  {
+                return tableScore;
+            }  else if (bound == TranspositionTable.LOWER && tableScore > alpha)  {
+                alpha = tableScore;
+            }  else if (bound == TranspositionTable.UPPER && tableScore < beta)  {
+                beta = tableScore;
+            }
+            if (alpha >= beta)  {
+                return tableScore;
+            }
+        }
+
+        final int depth = position.moves;
+        final long[] moves = sortedMoves[depth];
+        final int[] scores = sortedScores[depth];
+        int size = 0;
+        for (int i = WIDTH - 1; i >= 0; i--)  {
+            final int column = columnOrder[i];
+            final long move = next & Position.columnMask(column);
+            if (move != 0L)  {
+                final int moveScore = column == tableMove
+                        ? Integer.MAX_VALUE  // best move of an earlier search first
+                        : position.moveScore(move);
+                size = addSorted(moves, scores, size, move, moveScore);
+            }
+        }
+
+        final int alphaBefore = alpha;
+        final long current = position.current, mask = position.mask;
+        int bestMove = -1;
+        for (int i = size - 1; i >= 0; i--)  {
+            position.play(moves[i]);
+            final int score = -negamax(position, -beta, -alpha);
+            restore(position, current, mask, depth, hash, mirrorHash);
+            if (score >= beta)  {
+                table.store(key, TranspositionTable.LOWER, score,
+                        Position.mirrorColumn(getColumn(moves[i]), mirrored), depth);
+                return score;
+            }
+            if (score > alpha)  {
+                alpha = score;
+                bestMove = getColumn(moves[i]);
+            }
+        }
+        table.store(key, alpha > alphaBefore ? TranspositionTable.EXACT : TranspositionTable.UPPER,
+                alpha, Position.mirrorColumn(bestMove, mirrored), depth);
+        return alpha;
+    }
+
+    /**
+     * Returns the column index of a move.
+     *
+     * @param move Bit of the move
+     * @return Column index of the move
+     */
+    private static int getColumn(final long move)  {
+        return Long.numberOfTrailingZeros(move) / (Position.HEIGHT + 1);
+    }
+
+    /**
+     * Inserts a move into a sorted move list. Moves with the same score keep their insertion order
+     * behind each other, so the list is read from the end.
+     *
+     * @param moves Moves sorted by score ascending
+     * @param scores Scores of the moves
+     * @param size Current size of the list
+     * @param move Move to add
+     * @param score Score of the move
+     * @return The new size of the list
+     */
+    private static int addSorted(final long[] moves, final int[] scores,
+            final int size, final long move, final int score)  {
+        int pos = size;
+        for (; pos > 0 && scores[pos - 1] > score; pos--)  {
+            moves[pos] = moves[pos - 1];
+            scores[pos] = scores[pos - 1];
+        }
+        moves[pos] = move;
+        scores[pos] = score;
+        return size + 1;
+    }
+
+    /**
+     * Restores a position after a move has been searched.
+     *
+     * @param position Position to restore
+     * @param current Bits of the player to move before the move
+     * @param mask Bits of all assigned positions before the move
+     * @param moves Amount of played moves before the move
+     * @param hash Zobrist hash before the move
+     * @param mirrorHash Zobrist hash of the mirrored position before the move
+     */
+    private static void restore(final Position position, final long current, final long mask,
+            final int moves, final long hash, final long mirrorHash)  {
+        position.current = current;
+        position.mask = mask;
+        position.moves = moves;
+        position.hash = hash;
+        position.mirrorHash = mirrorHash;
+    }
+
+}
@@ -0,0 +1,74 @@
+package tk.dmanstrator.connectfour.solver;
+
+/**
+ * POJO class representing the result of a {@link Solver} run.
+ * @author DManstrator
+ *
+ */
+public class SolverResult {
+
+    private final int score;
+    private final int bestColumn;
+    private final long nodeCount;
+    private final long elapsedNanos;
+
+    /**
+     * Constructor for a solver result.
+     *
+     * @param score Exact score of the position
+     * @param bestColumn Best column to play, starting with {@code 1} on the left
+     * @param nodeCount Amount of searched nodes
+     * @param elapsedNanos Elapsed time in nanoseconds
+     */
+    public SolverResult(final int score, final int bestColumn,
+            final long nodeCount, final long elapsedNanos)  {
+        this.score = score;
+        this.bestColumn = bestColumn;
+        this.nodeCount = nodeCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the exact score of the position for the player to move.
+     * A positive score means the player to move wins, a negative score means the player to move loses
+     * and {@code 0} means a draw. The earlier the game is won, the higher is the absolute value.
+     * @return The exact score of the position
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the best column to play, as expected by {@code play(int)}.
+     * @return The best column, starting with {@code 1} on the left
+     */
+    public int getBestColumn() {
+        return bestColumn;
+    }
+
+    /**
+     * Returns the amount of searched nodes.
+     * @return The amount of searched nodes
+     */
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Returns the elapsed time in nanoseconds.
+     * @return The elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * toString overload returning the score, the best column and the cost of the search.
+     */
+    @Override
+    public String toString() {
+        return String.format("Score %d, best column %d (%d nodes in %d ms)",
+                score, bestColumn, nodeCount, elapsedNanos / 1_000_000);
+    }
+
+}
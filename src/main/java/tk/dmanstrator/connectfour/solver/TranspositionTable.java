@@ -0,0 +1,255 @@
+package tk.dmanstrator.connectfour.solver;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Fixed-size transposition table keyed by the 64 bit Zobrist hash of a position.<br><br>
+ *
+ * Every entry is packed into a single {@code long} which is stored in direct {@link ByteBuffer}s,
+ * so even tables with hundreds of MB live outside of the heap and put no pressure on the garbage collector.
+ * <pre>{@code
+ * 63            24 23  20 19  16 15   10 9    8 7     0
+ * [  hash check  ][ gen  ][ move ][moves][bound][score ]
+ * }</pre>
+ * Entries are replaced if they are from an older search, if they belong to the same position
+ * or if the new entry is closer to the root and therefore saves more work (depth-preferred).<br><br>
+ *
+ * A table is not thread-safe, use one instance per {@link Solver}.
+ *
+ * @author DManstrator
+ *
+ */
+public class TranspositionTable {
+
+    /**
+     * Bound type if no entry was found.
+     */
+    public static final int NONE = 0;
+
+    /**
+     * Bound type for an exact score.
+     */
+    public static final int EXACT = 1;
+
+    /**
+     * Bound type for a score which is a lower bound.
+     */
+    public static final int LOWER = 2;
+
+    /**
+     * Bound type for a score which is an upper bound.
+     */
+    public static final int UPPER = 3;
+
+    private static final int ENTRY_BYTES = Long.BYTES;
+    private static final int SEGMENT_BITS = 26;  // 512 MB per buffer
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+    private static final int BOUND_SHIFT = 8;
+    private static final int MOVES_SHIFT = 10;
+    private static final int MOVE_SHIFT = 16;
+    private static final int GENERATION_SHIFT = 20;
+    private static final int CHECK_SHIFT = 24;
+    private static final int GENERATIONS = 16;
+
+    private final ByteBuffer[] segments;
+    private final long indexMask;
+
+    private int generation = 0;
+    private long entry;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long stores = 0;
+    private long overwrites = 0;
+    private long rejections = 0;
+
+    /**
+     * Constructor for a table with the given size. The size will be rounded down to a power of two entries.
+     *
+     * @param sizeInBytes Size of the table in bytes, at least 8 bytes
+     * @throws IllegalArgumentException if the size is too small for a single entry
+     */
+    public TranspositionTable(final long sizeInBytes)  {
+        if (sizeInBytes < ENTRY_BYTES)  {
+            throw new IllegalArgumentException("Table has to hold at least one entry!");
+        }
+        final long entries = Long.highestOneBit(sizeInBytes / ENTRY_BYTES);
+        this.indexMask = entries - 1;
+
+        final long segmentEntries = Math.min(entries, 1L << SEGMENT_BITS);
+        this.segments = new ByteBuffer[(int) (entries / segmentEntries)];
+        for (int i = 0; i < segments.length; i++)  {
+            segments[i] = ByteBuffer.allocateDirect((int) (segmentEntries * ENTRY_BYTES))
+                    .order(ByteOrder.nativeOrder());
+        }
+    }
+
+    /**
+     * Marks the start of a new search. Entries from older searches are kept
+     * but are replaced in favour of new entries.
+     */
+    public void newSearch()  {
+        generation = (generation + 1) % GENERATIONS;
+    }
+
+    /**
+     * Looks up the entry for the given hash. The values of a found entry
+     * can be read with {@link TranspositionTable#getScore()} and {@link TranspositionTable#getMove()}.
+     *
+     * @param hash Zobrist hash of the position
+     * @return The bound type of the entry or {@link TranspositionTable#NONE} if no entry was found
+     */
+    public int probe(final long hash)  {
+        final long stored = read(hash);
+        if (stored != 0L && (stored >>> CHECK_SHIFT) == (hash >>> CHECK_SHIFT))  {
+            hits++;
+            entry = stored;
+            return (int) (stored >>> BOUND_SHIFT) & 0x3;
+        }
+        misses++;
+        entry = 0L;
+        return NONE;
+    }
+
+    /**
+     * Returns the score of the last found entry.
+     * @return The score of the last found entry
+     */
+    public int getScore()  {
+        return (byte) entry;
+    }
+
+    /**
+     * Returns the best column of the last found entry.
+     * @return The best column index of the last found entry, {@code -1} if it has none
+     */
+    public int getMove()  {
+        return (int) ((entry >>> MOVE_SHIFT) & 0xF) - 1;
+    }
+
+    /**
+     * Stores an entry for the given hash if the replacement policy allows it.
+     *
+     * @param hash Zobrist hash of the position
+     * @param bound Bound type of the score
+     * @param score Score of the position
+     * @param move Best column index, {@code -1} if unknown
+     * @param moves Amount of played moves of the position, used to prefer entries close to the root
+     */
+    public void store(final long hash, final int bound, final int score, final int move, final int moves)  {
+        final long stored = read(hash);
+        if (stored != 0L)  {
+            final boolean samePosition = (stored >>> CHECK_SHIFT) == (hash >>> CHECK_SHIFT);
+            final boolean oldSearch = ((stored >>> GENERATION_SHIFT) & 0xF) != generation;
+            final boolean closerToRoot = moves <= ((stored >>> MOVES_SHIFT) & 0x3F);
+            if (!samePosition && !oldSearch && !closerToRoot)  {
+                rejections++;
+                return;
+            }
+            if (!samePosition)  {
+                overwrites++;
+            }
+        }
+        stores++;
+        write(hash, (hash >>> CHECK_SHIFT) << CHECK_SHIFT
+                | (long) generation << GENERATION_SHIFT
+                | (long) (move + 1) << MOVE_SHIFT
+                | (long) moves << MOVES_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (score & 0xFFL));
+    }
+
+    /**
+     * Removes all entries and resets the counters.
+     */
+    public void clear()  {
+        for (final ByteBuffer segment : segments)  {
+            for (int i = 0; i < segment.capacity(); i += ENTRY_BYTES)  {
+                segment.putLong(i, 0L);
+            }
+        }
+        hits = misses = stores = overwrites = rejections = 0;
+    }
+
+    /**
+     * Returns the amount of entries the table can hold.
+     * @return The amount of entries
+     */
+    public long getCapacity()  {
+        return indexMask + 1;
+    }
+
+    /**
+     * Returns the amount of lookups which found an entry.
+     * @return The amount of hits
+     */
+    public long getHits()  {
+        return hits;
+    }
+
+    /**
+     * Returns the amount of lookups which didn't find an entry.
+     * @return The amount of misses
+     */
+    public long getMisses()  {
+        return misses;
+    }
+
+    /**
+     * Returns the amount of stored entries.
+     * @return The amount of stored entries
+     */
+    public long getStores()  {
+        return stores;
+    }
+
+    /**
+     * Returns the amount of stored entries which replaced an entry of another position.
+     * @return The amount of overwrites
+     */
+    public long getOverwrites()  {
+        return overwrites;
+    }
+
+    /**
+     * Returns the amount of entries which weren't stored due to the replacement policy.
+     * @return The amount of rejected entries
+     */
+    public long getRejections()  {
+        return rejections;
+    }
+
+    /**
+     * toString overload returning the counters of the table.
+     */
+    @Override
+    public String toString()  {
+        return String.format("TranspositionTable[capacity=%d, hits=%d, misses=%d, stores=%d, overwrites=%d, rejections=%d]",
+                getCapacity(), hits, misses, stores, overwrites, rejections);
+    }
+
+    /**
+     * Reads the raw entry for a hash.
+     *
+     * @param hash Zobrist hash of the position
+     * @return The raw entry, {@code 0} if the slot is empty
+     */
+    private long read(final long hash)  {
+        final long index = hash & indexMask;
+        return segments[(int) (index >>> SEGMENT_BITS)].getLong((int) (index & SEGMENT_MASK) * ENTRY_BYTES);
+    }
+
+    /**
+     * Writes the raw entry for a hash.
+     *
+     * @param hash Zobrist hash of the position
+     * @param value Raw entry to write
+     */
+    private void write(final long hash, final long value)  {
+        final long index = hash & indexMask;
+        segments[(int) (index >>> SEGMENT_BITS)].putLong((int) (index & SEGMENT_MASK) * ENTRY_BYTES, value);
+    }
+
+}
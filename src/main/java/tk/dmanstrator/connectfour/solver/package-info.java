@@ -0,0 +1,6 @@
+/**
+ * Package containing the solver for analysing positions of a Connect4 game.
+ * @author DManstrator
+ *
+ */
+package tk.dmanstrator.connectfour.solver;
@@ -1,7 +1,11 @@
 package tk.dmanstrator.connectfour;
 
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
 import org.junit.Test;
 
+import tk.dmanstrator.connectfour.board.BoardLayout;
 import tk.dmanstrator.connectfour.log.GameLogEntry;
 
 import org.junit.Assert;
@@ -192,4 +196,299 @@ public class DefaultConnect4Test extends Connect4Test  {
         connect4.play(4, 2);
     }
 
+    @Test
+    public void testCustomLayout()  {
+        final Connect4 game = new DefaultConnect4(PLAYER1, PLAYER2, 9, 7, 5);
+        Assert.assertEquals(9, game.getWidth());
+        Assert.assertEquals(7, game.getHeight());
+        for (int c = 1; c <= 4; c++)  {
+            game.play(c);
+            game.play(c);
+        }
+        Assert.assertEquals("Four in a row should not win", false, game.isGameOver());
+        game.play(5);
+        Assert.assertEquals("Five in a row should win", true, game.isGameOver());
+        Assert.assertEquals("[GameOver] Player Test1 has won the game!", game.getGameLog().getLastEntry().getAsString());
+    }
+
+    @Test
+    public void testWideField()  {
+        // 10 columns with 9 bits each don't fit into a long anymore
+        final Connect4 game = new DefaultConnect4(PLAYER1, PLAYER2, 10, 8, 4);
+        Assert.assertEquals(false, game.getLayout().fitsInLong());
+        Assert.assertEquals(false, game.play(11).isValid());
+        final int[] moves = {7, 8, 8, 9, 9, 10, 9, 10, 10, 1, 10};
+        for (final int column : moves)  {
+            Assert.assertEquals(false, game.isGameOver());
+            game.play(column);
+        }
+        Assert.assertEquals("Diagonal four should win", true, game.isGameOver());
+        Assert.assertEquals("[GameOver] Player Test1 has won the game!", game.getGameLog().getLastEntry().getAsString());
+    }
+
+    @Test
+    public void testPlayFast()  {
+        Assert.assertEquals(MoveStatus.INVALID_RANGE, connect4.playFast(0));
+        Assert.assertEquals(MoveStatus.INVALID_RANGE, connect4.playFast(Connect4.WIDTH + 1));
+        for (int c = 0; c < Connect4.HEIGHT; c++)  {
+            Assert.assertEquals(MoveStatus.OK, connect4.playFast(1));
+        }
+        Assert.assertEquals(MoveStatus.COLUMN_FULL, connect4.playFast(1));
+        Assert.assertEquals(PLAYER1, connect4.getCurrentPlayerName());
+        final int[] moves = {2, 3, 2, 3, 2, 3};
+        for (final int column : moves)  {
+            Assert.assertEquals(MoveStatus.OK, connect4.playFast(column));
+        }
+        Assert.assertEquals(MoveStatus.WIN, connect4.playFast(2));
+        Assert.assertEquals(PLAYER1, connect4.getCurrentPlayerName());
+        Assert.assertEquals(MoveStatus.GAME_OVER, connect4.playFast(4));
+        Assert.assertEquals(13, connect4.getPlayedRounds());
+        Assert.assertEquals("Fast rounds should not be logged", 0, connect4.getGameLog().getEntries().size());
+    }
+
+    @Test
+    public void testPlayFastAllocatesNothing()  {
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+        final int[] moves = new int[Connect4.WIDTH * Connect4.HEIGHT];
+        for (int i = 0; i < moves.length; i++)  {
+            moves[i] = "326457326432225776652647731137115443551461".charAt(i) - '0';
+        }
+        // load and initialize everything playFast touches and let the JIT settle before measuring
+        final Connect4 warmUp = new DefaultConnect4(PLAYER1, PLAYER2);
+        for (int i = 0; i < 500; i++)  {
+            for (final int column : moves)  {
+                warmUp.playFast(column);
+            }
+            warmUp.playFast(1);
+            while (warmUp.undo())  {
+                // take the warm up game back
+            }
+        }
+        threads.getThreadAllocatedBytes(threadId);  // warm up the measurement itself
+
+        // a batch may still see a late compilation, only a steady state without allocations counts
+        final Connect4[] games = new Connect4[100];
+        long allocated = Long.MAX_VALUE;
+        int status = MoveStatus.OK;
+        for (int batch = 0; batch < 5 && allocated > 0; batch++)  {
+            for (int i = 0; i < games.length; i++)  {
+                games[i] = new DefaultConnect4(PLAYER1, PLAYER2);
+            }
+            final long before = threads.getThreadAllocatedBytes(threadId);
+            for (final Connect4 game : games)  {
+                for (final int column : moves)  {
+                    status = game.playFast(column);
+                }
+                status = game.playFast(1);
+            }
+            allocated = Math.min(allocated, threads.getThreadAllocatedBytes(threadId) - before);
+        }
+
+        Assert.assertEquals(MoveStatus.GAME_OVER, status);
+        Assert.assertEquals(true, games[0].isDraw());
+        Assert.assertEquals("Playing " + games.length * (moves.length + 1) + " moves should not allocate",
+                0L, allocated);
+    }
+
+    @Test
+    public void testUndoRedo()  {
+        Assert.assertEquals(false, connect4.undo());
+        final int[] moves = {7, 3, 7, 1, 6, 3, 6, 4, 3, 2};  // see testNormalGame
+        final String[] fields = new String[moves.length];
+        final long[] hashes = new long[moves.length];
+        for (int i = 0; i < moves.length; i++)  {
+            fields[i] = connect4.getCurrentField();
+            hashes[i] = connect4.getPositionHash();
+            connect4.play(moves[i]);
+        }
+        connect4.play(1);  // ignored since the game is over
+        final String log = connect4.getGameLog().toString();
+        Assert.assertEquals(true, connect4.isGameOver());
+
+        for (int i = moves.length - 1; i >= 0; i--)  {
+            Assert.assertEquals(true, connect4.undo());
+            Assert.assertEquals(false, connect4.isGameOver());
+            Assert.assertEquals(fields[i], connect4.getCurrentField());
+            Assert.assertEquals(hashes[i], connect4.getPositionHash());
+            Assert.assertEquals(i, connect4.getPlayedRounds());
+            Assert.assertEquals(i % 2 == 0 ? PLAYER1 : PLAYER2, connect4.getCurrentPlayerName());
+        }
+        Assert.assertEquals(false, connect4.undo());
+        Assert.assertEquals(0, connect4.getGameLog().size());
+
+        while (connect4.redo())  {
+            // replay all rounds
+        }
+        Assert.assertEquals(true, connect4.isGameOver());
+        Assert.assertEquals(log, connect4.getGameLog().toString());
+        Assert.assertEquals("[GameOver] Player Test2 has won the game!",
+                connect4.getGameLog().getLastEntry().getAsString());
+    }
+
+    @Test
+    public void testNewRoundClearsRedo()  {
+        connect4.play(4);
+        connect4.play(4);
+        connect4.undo();
+        Assert.assertEquals(MoveStatus.OK, connect4.playFast(3));
+        Assert.assertEquals(false, connect4.redo());
+        connect4.undo();
+        connect4.undo();
+        Assert.assertEquals(true, connect4.redo());
+        Assert.assertEquals("Only the logged round is in the log again", 1, connect4.getGameLog().size());
+        Assert.assertEquals(true, connect4.redo());
+        Assert.assertEquals(1, connect4.getGameLog().size());
+        Assert.assertEquals(2, connect4.getPlayedRounds());
+        for (int c = 0; c < Connect4.HEIGHT - 1; c++)  {
+            connect4.play(4);
+        }
+        Assert.assertEquals("Column should be full again", false, connect4.play(4).isValid());
+    }
+
+    @Test
+    public void testReset()  {
+        final String emptyField = connect4.getCurrentField();
+        for (int c = 0; c < Connect4.HEIGHT; c++)  {
+            connect4.play(2);
+        }
+        Assert.assertEquals(false, connect4.canPlay(2));
+        connect4.reset();
+        Assert.assertEquals(true, connect4.canPlay(2));
+        Assert.assertEquals(emptyField, connect4.getCurrentField());
+        Assert.assertEquals(0L, connect4.getPositionHash());
+        Assert.assertEquals(0, connect4.getGameLog().size());
+        Assert.assertEquals(PLAYER1, connect4.getCurrentPlayerName());
+        Assert.assertEquals(false, connect4.redo());
+    }
+
+    @Test
+    public void testPlayAll()  {
+        final ReplayResult result = connect4.playAll("4453221", false);
+        Assert.assertEquals(true, result.isValid());
+        Assert.assertEquals(MoveStatus.OK, result.getStatus());
+        Assert.assertEquals(7, result.getPlayedRounds());
+        Assert.assertEquals(0, connect4.getGameLog().size());
+
+        final Connect4 won = new DefaultConnect4(PLAYER1, PLAYER2);
+        final ReplayResult winResult = won.playAll("1212121", true);
+        Assert.assertEquals(MoveStatus.WIN, winResult.getStatus());
+        Assert.assertEquals(true, won.isGameOver());
+        final Connect4 played = new DefaultConnect4(PLAYER1, PLAYER2);
+        for (final char move : "1212121".toCharArray())  {
+            played.play(move - '0');
+        }
+        Assert.assertEquals(played.getGameLog().toString(), won.getGameLog().toString());
+    }
+
+    @Test
+    public void testPlayAllInvalid()  {
+        ReplayResult result = connect4.playAll("1111111", true);
+        Assert.assertEquals(false, result.isValid());
+        Assert.assertEquals(MoveStatus.COLUMN_FULL, result.getStatus());
+        Assert.assertEquals(7, result.getFailedPly());
+        Assert.assertEquals(6, result.getPlayedRounds());
+
+        connect4.reset();
+        result = connect4.playAll("12x", false);
+        Assert.assertEquals(MoveStatus.INVALID_RANGE, result.getStatus());
+        Assert.assertEquals(3, result.getFailedPly());
+
+        connect4.reset();
+        result = connect4.playAll("12121213", false);
+        Assert.assertEquals(MoveStatus.GAME_OVER, result.getStatus());
+        Assert.assertEquals(8, result.getFailedPly());
+        Assert.assertEquals(7, result.getPlayedRounds());
+
+        connect4.reset();
+        result = connect4.playAll("4\u06643", false);  // Arabic-Indic four
+        Assert.assertEquals(MoveStatus.INVALID_RANGE, result.getStatus());
+        Assert.assertEquals(2, result.getFailedPly());
+
+        final Connect4 wide = new DefaultConnect4(PLAYER1, PLAYER2, BoardLayout.of(12, 6, 4));
+        result = wide.playAll("4aA3", false);
+        Assert.assertEquals(MoveStatus.INVALID_RANGE, result.getStatus());
+        Assert.assertEquals(3, result.getFailedPly());
+        Assert.assertEquals(10, wide.getColumnOfRound(1));
+    }
+
+    @Test
+    public void testFork()  {
+        connect4.playAll("4453", true);
+        connect4.undo();
+        final String field = connect4.getCurrentField();
+        final String log = connect4.getGameLog().getAllEntriesAsString();
+        final int logSize = connect4.getGameLog().size();
+        final List<GameLogEntry> spectatorView = connect4.getGameLog().getEntries();
+
+        final Connect4 fork = connect4.fork();
+        Assert.assertEquals(true, fork instanceof DefaultConnect4);
+        Assert.assertEquals(field, fork.getCurrentField());
+        Assert.assertEquals(connect4.getPositionHash(), fork.getPositionHash());
+        Assert.assertEquals(true, fork.redo());
+        fork.play(1);
+        Assert.assertEquals(5, fork.getPlayedRounds());
+        Assert.assertEquals(5, fork.getGameLog().getValidEntries().size());
+
+        Assert.assertEquals(field, connect4.getCurrentField());
+        Assert.assertEquals(log, connect4.getGameLog().getAllEntriesAsString());
+        connect4.play(7);
+        Assert.assertEquals("The view of the forked game is still live", logSize + 1, spectatorView.size());
+        Assert.assertEquals(3, fork.getColumnOfRound(3));
+        Assert.assertEquals(7, connect4.getColumnOfRound(3));
+
+        final Connect4 second = fork.fork();
+        second.undo();
+        second.undo();
+        Assert.assertEquals(5, fork.getPlayedRounds());
+        Assert.assertEquals(5, fork.getGameLog().size());
+        Assert.assertEquals(3, second.getGameLog().size());
+    }
+
+    @Test
+    public void testForkFromOtherThread() throws InterruptedException  {
+        connect4.playAll("4453", true);
+        final Connect4 fork = connect4.fork();
+        final long[] forkHashes = new long[1];
+        final Thread thread = new Thread(() ->  {
+            for (int i = 0; i < 10_000; i++)  {
+                fork.play(1 + i % 3);
+                fork.undo();
+            }
+            forkHashes[0] = fork.getPositionHash();
+        });
+        thread.start();
+        for (int i = 0; i < 10_000; i++)  {
+            connect4.play(5 + i % 3);
+            connect4.undo();
+        }
+        thread.join();
+
+        final Connect4 expected = new DefaultConnect4(PLAYER1, PLAYER2);
+        expected.playAll("4453", true);
+        Assert.assertEquals(expected.getPositionHash(), forkHashes[0]);
+        Assert.assertEquals(expected.getPositionHash(), connect4.getPositionHash());
+        Assert.assertEquals(4, fork.getGameLog().size());
+        Assert.assertEquals(4, connect4.getGameLog().size());
+    }
+
+    @Test
+    public void testForkIsCheap()  {
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+        connect4.playAll("326457326432225776652647", true);
+        final Connect4[] forks = new Connect4[100];
+
+        threads.getThreadAllocatedBytes(threadId);  // warm up the measurement itself
+        final long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < forks.length; i++)  {
+            forks[i] = connect4.fork();
+        }
+        final long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        Assert.assertEquals("A fork allocated " + allocated / forks.length + " bytes",
+                true, allocated / forks.length < 384);
+    }
+
 }
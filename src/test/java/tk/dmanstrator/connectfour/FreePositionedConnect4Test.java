@@ -200,4 +200,28 @@ public class FreePositionedConnect4Test extends Connect4Test {
         Assert.assertEquals(PLAYER2, round3.getPlayerName());
     }
 
+    @Test
+    public void testPlayFast()  {
+        Assert.assertEquals(MoveStatus.INVALID_RANGE, connect4.playFast(8, 1));
+        Assert.assertEquals(MoveStatus.OK, connect4.playFast(3, 3));
+        Assert.assertEquals(MoveStatus.POSITION_TAKEN, connect4.playFast(3, 3));
+        Assert.assertEquals(PLAYER2, connect4.getCurrentPlayerName());
+        Assert.assertEquals(0, connect4.getGameLog().getEntries().size());
+    }
+
+    @Test
+    public void testUndoRedo()  {
+        connect4.play(3, 3);
+        connect4.play(5, 1);
+        final String field = connect4.getCurrentField();
+        Assert.assertEquals(true, connect4.undo());
+        Assert.assertEquals(PLAYER2, connect4.getCurrentPlayerName());
+        Assert.assertEquals(true, connect4.play(5, 2).isValid());
+        Assert.assertEquals(false, connect4.redo());
+        connect4.undo();
+        Assert.assertEquals(true, connect4.play(5, 1).isValid());
+        Assert.assertEquals(field, connect4.getCurrentField());
+        Assert.assertEquals(2, connect4.getGameLog().getValidEntries().size());
+    }
+
 }
@@ -0,0 +1,62 @@
+package tk.dmanstrator.connectfour;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GameCodecTest {
+
+    private static final String DRAW_MOVES = "326457326432225776652647731137115443551461";
+
+    @Test
+    public void testFullGameFitsIn24Bytes()  {
+        final Connect4 game = new DefaultConnect4("Test1", "Test2");
+        for (final char move : DRAW_MOVES.toCharArray())  {
+            game.play(move - '0');
+        }
+        Assert.assertEquals(true, game.isDraw());
+        Assert.assertEquals(24, GameCodec.getEncodedSize(game));
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        GameCodec.encode(game, buffer);
+        Assert.assertEquals(24, buffer.position());
+        buffer.flip();
+
+        final Connect4 decoded = GameCodec.decode(buffer, "Test1", "Test2");
+        Assert.assertEquals(false, buffer.hasRemaining());
+        Assert.assertEquals(true, decoded instanceof DefaultConnect4);
+        Assert.assertEquals(true, decoded.isDraw());
+        Assert.assertEquals(game.getCurrentField(), decoded.getCurrentField());
+        Assert.assertEquals(game.getPositionHash(), decoded.getPositionHash());
+        Assert.assertEquals(game.getGameLog().getValidEntries().toString(),
+                decoded.getGameLog().getValidEntries().toString());
+    }
+
+    @Test
+    public void testFreePositionedGame()  {
+        final Connect4 game = new FreePositionedConnect4("Test1", "Test2", 9, 7, 5);
+        game.play(1, 1);
+        game.play(9, 7);
+        game.play(5, 3);
+        game.play(5, 3);  // invalid rounds are not encoded
+        final ByteBuffer buffer = ByteBuffer.allocate(GameCodec.getEncodedSize(game));
+        GameCodec.encode(game, buffer);
+        buffer.flip();
+
+        final Connect4 decoded = GameCodec.decode(buffer, "Test1", "Test2");
+        Assert.assertEquals(true, decoded instanceof FreePositionedConnect4);
+        Assert.assertEquals(3, decoded.getPlayedRounds());
+        Assert.assertEquals("Test2", decoded.getCurrentPlayerName());
+        Assert.assertEquals(game.getCurrentField(), decoded.getCurrentField());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testInvalidRound()  {
+        final ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.put(new byte[] {1, 0, 7, 6, 4, 3, 0, 1, 7});  // column 8 doesn't exist
+        buffer.flip();
+        GameCodec.decode(buffer, "Test1", "Test2");
+    }
+
+}
@@ -0,0 +1,126 @@
+package tk.dmanstrator.connectfour.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import tk.dmanstrator.connectfour.Connect4;
+import tk.dmanstrator.connectfour.DefaultConnect4;
+import tk.dmanstrator.connectfour.FreePositionedConnect4;
+import tk.dmanstrator.connectfour.GameCodec;
+
+public class GameArchiveTest {
+    private static final String DRAW_MOVES = "326457326432225776652647731137115443551461";
+
+    private Path directory;
+    private Path path;
+    private Connect4 draw;
+    private Connect4 win;
+
+    @Before
+    public void setup() throws IOException  {
+        directory = Files.createTempDirectory("archive");
+        path = directory.resolve("games.c4a");
+        draw = new DefaultConnect4("Test1", "Test2");
+        draw.playAll(DRAW_MOVES, true);
+        win = new DefaultConnect4("Test1", "Test2");
+        win.playAll("1212121", true);
+    }
+
+    @After
+    public void cleanup() throws IOException  {
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(directory.resolve("games.c4a" + GameArchive.INDEX_SUFFIX));
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    public void testAppendAndRead() throws IOException  {
+        final Connect4 free = new FreePositionedConnect4("Test1", "Test2", 9, 7, 5);
+        free.play(9, 7);
+        free.play(1, 1);
+
+        try (GameArchive archive = GameArchive.open(path))  {
+            Assert.assertEquals(0, archive.append(draw));
+            Assert.assertEquals(1, archive.append(win));
+            Assert.assertEquals(2, archive.append(free));
+            Assert.assertEquals(3, archive.getGameCount());
+            Assert.assertEquals(GameCodec.getEncodedSize(draw), archive.getRecord(0).remaining());
+            Assert.assertEquals(draw.getCurrentField(), archive.read(0, "Test1", "Test2").getCurrentField());
+        }
+        Assert.assertEquals(8 + 3 * 2 + GameCodec.getEncodedSize(draw) + GameCodec.getEncodedSize(win)
+                + GameCodec.getEncodedSize(free), Files.size(path));
+
+        try (GameArchive archive = GameArchive.open(path))  {
+            Assert.assertEquals(3, archive.getGameCount());
+            Assert.assertEquals(true, archive.read(1, "Test1", "Test2").isGameOver());
+            Assert.assertEquals(free.getCurrentField(), archive.read(2, "Test1", "Test2").getCurrentField());
+            Assert.assertEquals(3, archive.append(win));
+            Assert.assertEquals(7, archive.read(3, "Test1", "Test2").getPlayedRounds());
+        }
+    }
+
+    @Test
+    public void testScan() throws IOException  {
+        final int games = 200_000;  // more than fit into the write buffer
+        try (GameArchive archive = GameArchive.open(path))  {
+            for (int i = 0; i < games; i++)  {
+                archive.append(i % 2 == 0 ? draw : win);
+            }
+            final long[] stats = new long[2];
+            archive.scan((id, record) ->  {
+                Assert.assertEquals(stats[0], id);
+                stats[0]++;
+                stats[1] += record.getShort(record.position() + 6);  // rounds in the header
+            });
+            Assert.assertEquals(games, stats[0]);
+            Assert.assertEquals(games / 2 * (42 + 7), stats[1]);
+            Assert.assertEquals(42, archive.read(games - 2, "Test1", "Test2").getPlayedRounds());
+        }
+    }
+
+    @Test
+    public void testIncompleteRecordIsDropped() throws IOException  {
+        try (GameArchive archive = GameArchive.open(path))  {
+            archive.append(win);
+            archive.append(draw);
+        }
+        final long size = Files.size(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE))  {
+            channel.truncate(size - 1);  // last record is incomplete
+        }
+        try (FileChannel channel = FileChannel.open(directory.resolve("games.c4a" + GameArchive.INDEX_SUFFIX),
+                StandardOpenOption.APPEND))  {
+            channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3}));  // partially written offset
+        }
+        final Connect4 started = new DefaultConnect4("Test1", "Test2");
+        started.playAll("12", true);
+        try (GameArchive archive = GameArchive.open(path))  {
+            Assert.assertEquals(1, archive.getGameCount());
+            Assert.assertEquals(1, archive.append(started));
+            Assert.assertEquals(2, archive.read(1, "Test1", "Test2").getPlayedRounds());
+        }
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testNoArchive() throws IOException  {
+        Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+        GameArchive.open(path).close();
+    }
+
+    @Test(expected=IndexOutOfBoundsException.class)
+    public void testUnknownGame() throws IOException  {
+        try (GameArchive archive = GameArchive.open(path))  {
+            archive.getRecord(0);
+        }
+    }
+
+}
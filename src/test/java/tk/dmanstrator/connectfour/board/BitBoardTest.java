@@ -0,0 +1,87 @@
+package tk.dmanstrator.connectfour.board;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BitBoardTest {
+    private BitBoard board;
+
+    @Before
+    public void setup()  {
+        board = new BitBoard();
+    }
+
+    @Test
+    public void testSetAndGet()  {
+        board.set(0, 3, 0);
+        board.set(1, 3, 1);
+        Assert.assertEquals(0, board.getPlayerAt(3, 0));
+        Assert.assertEquals(1, board.getPlayerAt(3, 1));
+        Assert.assertEquals(BitBoard.EMPTY, board.getPlayerAt(3, 2));
+        Assert.assertEquals(true, board.isOccupied(3, 1));
+        Assert.assertEquals(false, board.isOccupied(4, 0));
+        Assert.assertEquals(board.getPieces(0) | board.getPieces(1), board.getMask());
+    }
+
+    @Test
+    public void testAlignments()  {
+        for (int c = 0; c < 3; c++)  {
+            board.set(0, c, 0);
+        }
+        Assert.assertEquals("Three in a row should not win", false, board.hasWon(0));
+        board.set(0, 3, 0);
+        Assert.assertEquals("Horizontal four should win", true, board.hasWon(0));
+
+        for (int r = 0; r < 4; r++)  {
+            board.set(1, 6, r);
+        }
+        Assert.assertEquals("Vertical four should win", true, board.hasWon(1));
+    }
+
+    @Test
+    public void testDiagonals()  {
+        final BitBoard rising = new BitBoard();
+        final BitBoard falling = new BitBoard();
+        for (int i = 0; i < 4; i++)  {
+            rising.set(0, i + 2, i + 1);
+            falling.set(1, i + 2, 4 - i);
+        }
+        Assert.assertEquals(true, rising.hasWon(0));
+        Assert.assertEquals(true, falling.hasWon(1));
+    }
+
+    @Test
+    public void testNoWrapAround()  {
+        // top of one column and bottom of the next one must not be connected
+        board.set(0, 0, 4);
+        board.set(0, 0, 5);
+        board.set(0, 1, 0);
+        board.set(0, 1, 1);
+        Assert.assertEquals(false, board.hasWon(0));
+    }
+
+    @Test
+    public void testMirrorHash()  {
+        final Board mirror = new BitBoard();
+        board.set(0, 0, 0);
+        board.set(1, 2, 0);
+        mirror.set(0, 6, 0);
+        mirror.set(1, 4, 0);
+        Assert.assertEquals(board.getHash(), mirror.getMirrorHash());
+        Assert.assertEquals(board.getMirrorHash(), mirror.getHash());
+        Assert.assertEquals(board.getCanonicalHash(), mirror.getCanonicalHash());
+        Assert.assertEquals(false, board.isMirrored() == mirror.isMirrored());
+
+        board.unset(1, 2, 0);
+        board.unset(0, 0, 0);
+        Assert.assertEquals(0L, board.getMirrorHash());
+
+        final Board wide = Board.create(BoardLayout.of(12, 10, 4));
+        final Board wideMirror = Board.create(BoardLayout.of(12, 10, 4));
+        wide.set(0, 1, 0);
+        wideMirror.set(0, 10, 0);
+        Assert.assertEquals(wide.getCanonicalHash(), wideMirror.getCanonicalHash());
+    }
+
+}
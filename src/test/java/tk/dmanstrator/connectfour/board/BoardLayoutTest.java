@@ -0,0 +1,68 @@
+package tk.dmanstrator.connectfour.board;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BoardLayoutTest {
+
+    @Test
+    public void testDefaultLayout()  {
+        final BoardLayout layout = BoardLayout.DEFAULT;
+        Assert.assertEquals(7, layout.getWidth());
+        Assert.assertEquals(6, layout.getHeight());
+        Assert.assertEquals(4, layout.getWinAmount());
+        Assert.assertEquals(69, layout.getLineCount());
+        Assert.assertEquals(true, layout.fitsInLong());
+        Assert.assertEquals("7x6, 4 in a row", layout.toString());
+        // the center of the bottom row is part of 7 lines
+        Assert.assertEquals(7, layout.getLinesThrough(layout.getBitIndex(3, 0)).length);
+    }
+
+    @Test
+    public void testLayoutsAreShared()  {
+        Assert.assertSame(BoardLayout.DEFAULT, BoardLayout.of(7, 6, 4));
+        Assert.assertSame(BoardLayout.of(9, 7, 5), BoardLayout.of(9, 7, 5));
+        Assert.assertEquals(false, BoardLayout.of(10, 8, 4).fitsInLong());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testTooLargeField()  {
+        BoardLayout.of(BoardLayout.MAX_SIZE + 1, 6, 4);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testUnreachableWinAmount()  {
+        BoardLayout.of(3, 3, 4);
+    }
+
+    @Test
+    public void testWideBoardMatchesBitBoard()  {
+        // a layout which fits into a long can be used by both representations
+        final BoardLayout layout = BoardLayout.of(8, 7, 4);
+        final Random random = new Random(6);
+        for (int game = 0; game < 100; game++)  {
+            final BitBoard narrow = new BitBoard(layout);
+            final WideBitBoard wide = new WideBitBoard(layout);
+            final int[] heights = new int[layout.getWidth()];
+            for (int move = 0; move < layout.getSize(); move++)  {
+                final int column = random.nextInt(layout.getWidth());
+                if (heights[column] == layout.getHeight())  {
+                    continue;
+                }
+                final int player = move & 1;
+                final int row = heights[column]++;
+                narrow.set(player, column, row);
+                wide.set(player, column, row);
+                Assert.assertEquals(narrow.getHash(), wide.getHash());
+                Assert.assertEquals(narrow.hasWonAt(player, column, row), wide.hasWonAt(player, column, row));
+                Assert.assertEquals(narrow.hasWon(player), wide.hasWon(player));
+                if (narrow.hasWon(player))  {
+                    break;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,121 @@
+package tk.dmanstrator.connectfour.eval;
+
+import java.util.SplittableRandom;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tk.dmanstrator.connectfour.Connect4;
+import tk.dmanstrator.connectfour.DefaultConnect4;
+import tk.dmanstrator.connectfour.MoveStatus;
+import tk.dmanstrator.connectfour.board.Board;
+import tk.dmanstrator.connectfour.board.BoardLayout;
+import tk.dmanstrator.connectfour.simulation.RandomPolicy;
+
+public class PositionEvaluatorTest {
+
+    @Test
+    public void testOpenWindows()  {
+        final Connect4 game = new DefaultConnect4("Test1", "Test2");
+        final PositionEvaluator evaluator = game.getEvaluator();
+        Assert.assertEquals(0, evaluator.getScore());
+
+        game.play(4);
+        Assert.assertEquals(7, evaluator.getOpenWindows(0, 1));  // 4 horizontal, 1 vertical, 2 diagonal
+        Assert.assertEquals(7, evaluator.getScore());
+        Assert.assertEquals(-7, evaluator.getScore(1));
+
+        game.play(4);
+        Assert.assertEquals(6, evaluator.getOpenWindows(0, 1));  // the vertical window is blocked
+        Assert.assertEquals(0, evaluator.getOpenWindows(0, 2));
+
+        game.undo();
+        Assert.assertEquals(7, evaluator.getOpenWindows(0, 1));
+        game.reset();
+        Assert.assertEquals(0, evaluator.getOpenWindows(0, 1));
+        Assert.assertEquals(0, evaluator.getScore());
+    }
+
+    @Test
+    public void testThreats()  {
+        final Connect4 game = new DefaultConnect4("Test1", "Test2");
+        for (final char move : "12121".toCharArray())  {
+            game.play(move - '0');
+        }
+        final PositionEvaluator evaluator = game.getEvaluator();  // created after the rounds
+        Assert.assertEquals(true, evaluator.isThreat(0, 0, 3));
+        Assert.assertEquals(1, evaluator.getThreatCount(0));
+        Assert.assertEquals(1, evaluator.getEvenThreats(0));
+        Assert.assertEquals(0, evaluator.getOddThreats(0));
+        Assert.assertEquals(1L << 3, evaluator.getThreatMask(0));
+        Assert.assertEquals(0, evaluator.getThreatCount(1));
+
+        game.play(1);  // blocked
+        Assert.assertEquals(0, evaluator.getThreatCount(0));
+        Assert.assertEquals(0L, evaluator.getThreatMask(0));
+
+        game.reset();
+        for (final char move : "21314".toCharArray())  {  // three in the bottom row, left end taken
+            game.play(move - '0');
+        }
+        Assert.assertEquals(false, evaluator.isThreat(0, 0, 0));
+        Assert.assertEquals(true, evaluator.isThreat(0, 4, 0));
+        Assert.assertEquals(1, evaluator.getThreatCount(0));
+        Assert.assertEquals(1, evaluator.getOddThreats(0));
+    }
+
+    @Test
+    public void testIncrementalMatchesRecomputed()  {
+        final SplittableRandom random = new SplittableRandom(42);
+        final RandomPolicy policy = new RandomPolicy();
+        for (final BoardLayout layout : new BoardLayout[] {BoardLayout.DEFAULT, BoardLayout.of(9, 7, 5),
+                BoardLayout.of(12, 10, 4)})  {
+            final Connect4 game = new DefaultConnect4("Test1", "Test2", layout);
+            final PositionEvaluator evaluator = game.getEvaluator();
+            for (int g = 0; g < 50; g++)  {
+                game.reset();
+                int status = MoveStatus.OK;
+                while (status == MoveStatus.OK)  {
+                    status = game.playFast(policy.selectColumn(game, random));
+                    if (random.nextInt(4) == 0)  {
+                        game.undo();
+                        status = MoveStatus.OK;
+                    }
+                    assertSameEvaluation(recompute(game), evaluator);
+                }
+            }
+        }
+    }
+
+    private static PositionEvaluator recompute(final Connect4 game)  {
+        final Board board = game.getBoard();
+        final PositionEvaluator evaluator = new PositionEvaluator(game.getLayout());
+        for (int column = game.getWidth() - 1; column >= 0; column--)  {
+            for (int row = game.getHeight() - 1; row >= 0; row--)  {
+                final int player = board.getPlayerAt(column, row);
+                if (player != Board.EMPTY)  {
+                    evaluator.add(player, column, row);
+                }
+            }
+        }
+        return evaluator;
+    }
+
+    private static void assertSameEvaluation(final PositionEvaluator expected, final PositionEvaluator actual)  {
+        final BoardLayout layout = expected.getLayout();
+        Assert.assertEquals(expected.getScore(), actual.getScore());
+        for (int player = 0; player < 2; player++)  {
+            for (int pieces = 1; pieces <= layout.getWinAmount(); pieces++)  {
+                Assert.assertEquals(expected.getOpenWindows(player, pieces), actual.getOpenWindows(player, pieces));
+            }
+            Assert.assertEquals(expected.getThreatCount(player), actual.getThreatCount(player));
+            Assert.assertEquals(expected.getOddThreats(player), actual.getOddThreats(player));
+            for (int column = 0; column < layout.getWidth(); column++)  {
+                for (int row = 0; row < layout.getHeight(); row++)  {
+                    Assert.assertEquals(expected.isThreat(player, column, row), actual.isThreat(player, column, row));
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,126 @@
+package tk.dmanstrator.connectfour.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tk.dmanstrator.connectfour.Connect4;
+import tk.dmanstrator.connectfour.DefaultConnect4;
+
+public class MoveEventDispatcherTest {
+
+    @Test
+    public void testEvents()  {
+        final Connect4 game = new DefaultConnect4("Test1", "Test2");
+        final List<MoveEvent> events = new ArrayList<>();
+        game.setMoveListener(events::add);
+        for (final char move : "12121281".toCharArray())  {
+            game.play(move - '0');
+        }
+        game.play(2);  // game is over
+        Assert.assertEquals(7, events.size());
+        final MoveEvent first = events.get(0);
+        Assert.assertEquals(MoveEvent.Type.MOVE, first.getType());
+        Assert.assertEquals(1, first.getRoundNumber());
+        Assert.assertEquals(1, first.getPlayerNumber());
+        Assert.assertEquals("Test1", first.getPlayerName());
+        Assert.assertEquals(1, first.getX());
+        Assert.assertEquals(6, first.getY());
+        Assert.assertSame(game, first.getGame());
+
+        final MoveEvent last = events.get(6);
+        Assert.assertEquals(MoveEvent.Type.WIN, last.getType());
+        Assert.assertEquals(7, last.getRoundNumber());
+        Assert.assertEquals(3, last.getY());
+        Assert.assertEquals(game.getPositionHash(), last.getPositionHash());
+
+        game.undo();
+        game.redo();
+        Assert.assertEquals(8, events.size());
+    }
+
+    @Test
+    public void testDispatch() throws InterruptedException  {
+        final List<MoveEvent> received = Collections.synchronizedList(new ArrayList<>());
+        final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        final Subscription subscription;
+        try (MoveEventDispatcher dispatcher = new MoveEventDispatcher(1000, 16,
+                MoveEventDispatcher.Backpressure.BLOCK))  {
+            subscription = dispatcher.subscribe(new MoveListener()  {
+                @Override
+                public void onMove(final MoveEvent event)  {
+                    received.add(event);
+                }
+
+                @Override
+                public void onMoves(final List<MoveEvent> events)  {
+                    batchSizes.add(events.size());
+                    MoveListener.super.onMoves(events);
+                }
+            });
+            for (int g = 0; g < 100; g++)  {
+                final Connect4 game = new DefaultConnect4("Test1", "Test2");
+                game.setMoveListener(dispatcher);
+                for (final char move : "326457326432225776652647731137115443551461".toCharArray())  {
+                    game.play(move - '0');
+                }
+            }
+        }
+        Assert.assertEquals(4200, received.size());
+        Assert.assertEquals(4200, subscription.getDelivered());
+        Assert.assertEquals(0, subscription.getDropped());
+        Assert.assertEquals(batchSizes.size(), subscription.getBatches());
+        for (final int size : batchSizes)  {
+            Assert.assertEquals(true, size >= 1 && size <= 16);
+        }
+        Assert.assertEquals(MoveEvent.Type.DRAW, received.get(41).getType());
+    }
+
+    @Test
+    public void testSlowListenerDropsOldest() throws InterruptedException  {
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Integer> rounds = Collections.synchronizedList(new ArrayList<>());
+        final Subscription slow;
+        final Subscription fast;
+        final List<MoveEvent> fastEvents = Collections.synchronizedList(new ArrayList<>());
+        try (MoveEventDispatcher dispatcher = new MoveEventDispatcher(4, 4,
+                MoveEventDispatcher.Backpressure.DROP_OLDEST))  {
+            slow = dispatcher.subscribe(event ->  {
+                try  {
+                    release.await(5, TimeUnit.SECONDS);
+                }  catch (final InterruptedException e)  {
+                    Thread.currentThread().interrupt();
+                }
+                rounds.add(event.getRoundNumber());
+            });
+            fast = dispatcher.subscribe(fastEvents::add);
+            final Connect4 game = new DefaultConnect4("Test1", "Test2");
+            game.setMoveListener(dispatcher);
+            final long start = System.nanoTime();
+            for (final char move : "326457326432225776652647731137115443551461".toCharArray())  {
+                game.play(move - '0');
+            }
+            Assert.assertEquals("Slow listener shouldn't delay the game",
+                    true, System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+            release.countDown();
+        }
+        Assert.assertEquals(true, slow.getDropped() > 0);
+        Assert.assertEquals(42, slow.getDelivered() + slow.getDropped());
+        Assert.assertEquals(Integer.valueOf(42), rounds.get(rounds.size() - 1));
+        Assert.assertEquals(42, fast.getDelivered() + fast.getDropped());
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void testSubscribeAfterClose()  {
+        final MoveEventDispatcher dispatcher = new MoveEventDispatcher(1, 1,
+                MoveEventDispatcher.Backpressure.DROP_NEWEST);
+        dispatcher.close();
+        dispatcher.subscribe(event ->  { });
+    }
+
+}
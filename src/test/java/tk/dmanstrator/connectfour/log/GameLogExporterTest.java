@@ -0,0 +1,108 @@
+package tk.dmanstrator.connectfour.log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import tk.dmanstrator.connectfour.Connect4;
+import tk.dmanstrator.connectfour.DefaultConnect4;
+import tk.dmanstrator.connectfour.log.GameLogEntry.RoundTitle;
+
+public class GameLogExporterTest {
+    private GameLog gameLog;
+
+    @Before
+    public void setup()  {
+        final Connect4 game = new DefaultConnect4("Test \"1\"", "Test\u00e42");
+        for (final char move : "12121281".toCharArray())  {
+            game.play(move - '0');
+        }
+        gameLog = game.getGameLog();
+        gameLog.addEntry(new GameLogEntry("Custom \ud83d\ude00\n", -1, 0, false, RoundTitle.UNKNOWN));
+    }
+
+    @Test
+    public void testText() throws IOException  {
+        final StringWriter writer = new StringWriter();
+        GameLogExporter.export(gameLog, GameLogExporter.Format.TEXT, writer);
+        Assert.assertEquals(gameLog.getAllEntriesAsString() + System.lineSeparator(), writer.toString());
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        GameLogExporter.export(gameLog, GameLogExporter.Format.TEXT, Channels.newChannel(bytes));
+        Assert.assertEquals(writer.toString(), new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testTextMatchesRenderedEntries() throws IOException  {
+        for (final GameLogEntry entry : gameLog.getEntries())  {
+            final StringBuilder builder = new StringBuilder();
+            entry.writeTo(builder);
+            Assert.assertEquals(entry.getAsString(), builder.toString());
+        }
+    }
+
+    @Test
+    public void testJson() throws IOException  {
+        final StringBuilder builder = new StringBuilder();
+        GameLogExporter.export(gameLog, GameLogExporter.Format.NDJSON, builder);
+        final String[] lines = builder.toString().split("\n");
+        Assert.assertEquals(gameLog.size(), lines.length);
+        Assert.assertEquals("{\"round\":1,\"player\":1,\"title\":\"DEFAULT\",\"valid\":true,"
+                + "\"message\":\"Position (1, 6) belongs now to player Test \\\"1\\\"\"}", lines[0]);
+        Assert.assertEquals("{\"round\":-1,\"player\":0,\"title\":\"UNKNOWN\",\"valid\":false,"
+                + "\"message\":\"Custom \ud83d\ude00\\n\"}", lines[lines.length - 1]);
+    }
+
+    @Test
+    public void testJsonWithoutMessage() throws IOException  {
+        final GameLog log = new GameLog();
+        log.addEntry(new GameLogEntryBuilder().setTitle(RoundTitle.DEFAULT).setMessage(null).setRoundNumber(1).build());
+        log.addEntry(new GameLogEntryBuilder().setTitle(RoundTitle.DEFAULT).setMessage("null").setRoundNumber(2).build());
+        final StringBuilder builder = new StringBuilder();
+        GameLogExporter.export(log, GameLogExporter.Format.NDJSON, builder);
+        final String[] lines = builder.toString().split("\n");
+        Assert.assertEquals(true, lines[0].endsWith(",\"message\":null}"));
+        Assert.assertEquals(true, lines[1].endsWith(",\"message\":\"null\"}"));
+    }
+
+    @Test
+    public void testBinary() throws IOException  {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        GameLogExporter.export(gameLog, GameLogExporter.Format.BINARY, Channels.newChannel(bytes));
+        final GameLog restored = GameLogExporter.readBinary(ByteBuffer.wrap(bytes.toByteArray()));
+        Assert.assertEquals(gameLog.getAllEntriesAsString(), restored.getAllEntriesAsString());
+        Assert.assertEquals(gameLog.getValidEntries().size(), restored.getValidEntries().size());
+        Assert.assertEquals(true, restored.getEntryFromRound(7).isPresent());
+    }
+
+    @Test
+    public void testLongLog() throws IOException  {
+        final GameLog longLog = new GameLog();
+        for (int round = 1; round <= 5000; round++)  {
+            longLog.addEntry(new GameLogEntry(MessageTemplate.POSITION_ASSIGNED, round % 7 + 1, 1, "Player",
+                    round, round % 2 + 1, true, RoundTitle.DEFAULT));
+        }
+        final ByteArrayOutputStream text = new ByteArrayOutputStream();
+        GameLogExporter.export(longLog, GameLogExporter.Format.TEXT, Channels.newChannel(text));
+        Assert.assertEquals(longLog.getAllEntriesAsString() + System.lineSeparator(),
+                new String(text.toByteArray(), StandardCharsets.UTF_8));
+
+        final ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        GameLogExporter.export(longLog, GameLogExporter.Format.BINARY, Channels.newChannel(binary));
+        Assert.assertEquals(longLog.getAllEntriesAsString(),
+                GameLogExporter.readBinary(ByteBuffer.wrap(binary.toByteArray())).getAllEntriesAsString());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testBinaryToAppendable() throws IOException  {
+        GameLogExporter.export(gameLog, GameLogExporter.Format.BINARY, new StringBuilder());
+    }
+
+}
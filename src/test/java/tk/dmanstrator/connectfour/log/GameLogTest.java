@@ -0,0 +1,153 @@
+package tk.dmanstrator.connectfour.log;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import tk.dmanstrator.connectfour.log.GameLogEntry.RoundTitle;
+
+public class GameLogTest {
+    private GameLog gameLog;
+
+    @Before
+    public void setup()  {
+        gameLog = new GameLog();
+    }
+
+    @Test
+    public void testDuplicatedRound()  {
+        final GameLogEntry first = createEntry(1, RoundTitle.DEFAULT);
+        Assert.assertEquals(true, gameLog.addEntry(first));
+        Assert.assertEquals(false, gameLog.addEntry(createEntry(1, RoundTitle.DEFAULT)));
+        Assert.assertEquals(true, gameLog.addEntry(createEntry(-1, RoundTitle.INVALID)));
+        Assert.assertEquals(true, gameLog.addEntry(createEntry(-1, RoundTitle.INVALID)));
+        Assert.assertEquals(3, gameLog.getEntries().size());
+        Assert.assertSame(first, gameLog.getEntryFromRound(1).get());
+        Assert.assertEquals(false, gameLog.getEntryFromRound(2).isPresent());
+        Assert.assertEquals(RoundTitle.INVALID, gameLog.getEntryFromRound(-1).get().getRoundTitle());
+    }
+
+    @Test
+    public void testRemoveEntries()  {
+        for (int round = 1; round <= 200; round++)  {
+            gameLog.addEntry(createEntry(round, RoundTitle.DEFAULT));
+        }
+        Assert.assertEquals(true, gameLog.removeEntryFromRound(100));
+        Assert.assertEquals(false, gameLog.removeEntryFromRound(100));
+        Assert.assertEquals(false, gameLog.getEntryFromRound(100).isPresent());
+        Assert.assertEquals(true, gameLog.addEntry(createEntry(100, RoundTitle.DEFAULT)));
+        Assert.assertEquals(200, gameLog.getEntries().size());
+        Assert.assertSame(gameLog.getLastEntry(), gameLog.getEntryFromRound(100).get());
+    }
+
+    @Test
+    public void testSameRoundWithOtherTitles()  {
+        final GameLogEntry gameOver = createEntry(5, RoundTitle.GAME_OVER);
+        final GameLogEntry round = createEntry(5, RoundTitle.DEFAULT);
+        Assert.assertEquals(true, gameLog.addEntry(round));
+        Assert.assertEquals(true, gameLog.addEntry(gameOver));
+        Assert.assertSame(round, gameLog.getEntryFromRound(5).get());
+        gameLog.removeEntry(round);
+        Assert.assertSame(gameOver, gameLog.getEntryFromRound(5).get());
+        Assert.assertEquals("Round is still taken by the other entry",
+                false, gameLog.addEntry(createEntry(5, RoundTitle.DEFAULT)));
+    }
+
+    @Test
+    public void testHighRoundNumbers()  {
+        final GameLogEntry entry = createEntry(Integer.MAX_VALUE, RoundTitle.DEFAULT);
+        Assert.assertEquals(false, gameLog.getEntryFromRound(Integer.MAX_VALUE).isPresent());
+        Assert.assertEquals(true, gameLog.addEntry(entry));
+        Assert.assertEquals(false, gameLog.addEntry(createEntry(Integer.MAX_VALUE, RoundTitle.DEFAULT)));
+        Assert.assertSame(entry, gameLog.getEntryFromRound(Integer.MAX_VALUE).get());
+        Assert.assertEquals(true, gameLog.removeEntryFromRound(Integer.MAX_VALUE));
+        Assert.assertEquals(false, gameLog.getEntryFromRound(Integer.MAX_VALUE).isPresent());
+    }
+
+    @Test
+    public void testLazyMessages()  {
+        final GameLogEntry entry = new GameLogEntry(MessageTemplate.POSITION_ASSIGNED, 1, 6, "Test1",
+                1, 1, true, RoundTitle.DEFAULT);
+        Assert.assertEquals("Position (1, 6) belongs now to player Test1", entry.getMessage());
+        Assert.assertSame(entry.getMessage(), entry.getMessage());
+        Assert.assertEquals("[Round 01] [Player 1]: Position (1, 6) belongs now to player Test1", entry.getAsString());
+        Assert.assertSame(entry.getAsString(), entry.toString());
+
+        Assert.assertEquals("Chosen position (8, 6) is not in range!", MessageTemplate.NOT_IN_RANGE.render(8, 6, "Test1"));
+        Assert.assertEquals("Chosen position (3, 3) is already taken!", MessageTemplate.POSITION_TAKEN.render(3, 3, null));
+        Assert.assertEquals("Player Test2 has won the game!", MessageTemplate.PLAYER_WON.render(4, 2, "Test2"));
+        Assert.assertEquals("Draw, nobody won!", MessageTemplate.DRAW.render(1, 1, null));
+        Assert.assertEquals("Game is already over!", MessageTemplate.GAME_ALREADY_OVER.render(1, 1, null));
+    }
+
+    @Test
+    public void testRenderToMatchesRender() throws IOException  {
+        final Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("th-TH-u-nu-thai"));  // native digits
+        try  {
+            for (final MessageTemplate template : MessageTemplate.values())  {
+                final StringBuilder rendered = new StringBuilder();
+                template.renderTo(rendered, 12, 6, "Test1");
+                Assert.assertEquals(template.name(), template.render(12, 6, "Test1"), rendered.toString());
+            }
+            final GameLogEntry entry = new GameLogEntry(MessageTemplate.POSITION_ASSIGNED, 1, 6, "Test1",
+                    12, 1, true, RoundTitle.DEFAULT);
+            final StringBuilder written = new StringBuilder();
+            entry.writeTo(written);
+            Assert.assertEquals(entry.getAsString(), written.toString());
+        }  finally  {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void testGrowingIndex()  {
+        final GameLogEntry far = createEntry(150, RoundTitle.DEFAULT);
+        Assert.assertEquals(true, gameLog.addEntry(far));  // scanned until the log grows towards it
+        for (int round = 1; round < 150; round++)  {
+            Assert.assertEquals(true, gameLog.addEntry(createEntry(round, RoundTitle.DEFAULT)));
+        }
+        Assert.assertEquals(false, gameLog.addEntry(createEntry(150, RoundTitle.DEFAULT)));
+        Assert.assertSame(far, gameLog.getEntryFromRound(150).get());
+        Assert.assertEquals(true, gameLog.removeEntry(far));
+        Assert.assertEquals(false, gameLog.getEntryFromRound(150).isPresent());
+        Assert.assertEquals(true, gameLog.addEntry(createEntry(150, RoundTitle.DEFAULT)));
+        Assert.assertEquals(150, gameLog.size());
+    }
+
+    @Test
+    public void testFork()  {
+        for (int round = 1; round <= 10; round++)  {
+            gameLog.addEntry(createEntry(round, RoundTitle.DEFAULT));
+        }
+        final List<GameLogEntry> view = gameLog.getEntries();
+        final GameLog fork = gameLog.fork();
+        Assert.assertEquals(10, fork.size());
+        Assert.assertEquals(true, gameLog.addEntry(createEntry(11, RoundTitle.DEFAULT)));
+        Assert.assertEquals("The view of the forked log is still live", 11, view.size());
+        Assert.assertEquals(10, fork.size());
+        Assert.assertEquals(false, fork.getEntryFromRound(11).isPresent());
+        gameLog.truncate(10);
+        Assert.assertSame(gameLog.getEntryFromRound(5).get(), fork.getEntryFromRound(5).get());
+
+        fork.truncate(5);
+        Assert.assertEquals(true, fork.addEntry(createEntry(6, RoundTitle.DEFAULT)));
+        Assert.assertEquals(10, gameLog.size());
+        Assert.assertEquals(true, gameLog.removeEntryFromRound(2));
+        Assert.assertEquals(false, gameLog.addEntry(createEntry(6, RoundTitle.DEFAULT)));
+        Assert.assertEquals(true, fork.getEntryFromRound(2).isPresent());
+        Assert.assertEquals(false, fork.getEntryFromRound(7).isPresent());
+        Assert.assertEquals(6, fork.size());
+        Assert.assertEquals(9, gameLog.size());
+        Assert.assertEquals(9, view.size());
+    }
+
+    private static GameLogEntry createEntry(final int roundNumber, final RoundTitle title)  {
+        return new GameLogEntry("Message", roundNumber, 1, true, title);
+    }
+
+}
@@ -0,0 +1,76 @@
+package tk.dmanstrator.connectfour.mcts;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tk.dmanstrator.connectfour.Connect4;
+import tk.dmanstrator.connectfour.DefaultConnect4;
+import tk.dmanstrator.connectfour.FreePositionedConnect4;
+import tk.dmanstrator.connectfour.board.BoardLayout;
+
+public class MctsPlayerTest {
+
+    @Test
+    public void testImmediateWin()  {
+        for (final MctsPlayer.Parallelism parallelism : MctsPlayer.Parallelism.values())  {
+            try (MctsPlayer player = new MctsPlayer(4, parallelism))  {
+                final Connect4 game = new DefaultConnect4("Test1", "Test2");
+                game.playAll("121212", true);
+                final MctsResult result = player.search(game, 20_000);
+                Assert.assertEquals(parallelism.name(), 1, result.getBestColumn());
+                Assert.assertEquals(20_000, result.getPlayouts());
+                Assert.assertEquals(true, result.getWinRate() > 0.9);
+                Assert.assertEquals("Search shouldn't change the game", 6, game.getPlayedRounds());
+            }
+        }
+    }
+
+    @Test
+    public void testBlockLoss()  {
+        final Connect4 game = new DefaultConnect4("Test1", "Test2");
+        game.playAll("45454", true);
+        try (MctsPlayer player = new MctsPlayer(2, MctsPlayer.Parallelism.TREE))  {
+            Assert.assertEquals(4, player.search(game, 20_000).getBestColumn());
+        }
+    }
+
+    @Test
+    public void testConnectFive()  {
+        final Connect4 game = new DefaultConnect4("Test1", "Test2", BoardLayout.of(9, 7, 5));
+        game.playAll("23232323", true);
+        try (MctsPlayer player = new MctsPlayer(2, MctsPlayer.Parallelism.ROOT))  {
+            final MctsResult result = player.search(game, 50, 1, TimeUnit.MINUTES);
+            Assert.assertEquals(2, result.getBestColumn());
+            Assert.assertEquals(50, result.getPlayouts());
+        }
+    }
+
+    @Test
+    public void testTimeBudget()  {
+        try (MctsPlayer player = new MctsPlayer(2, MctsPlayer.Parallelism.TREE))  {
+            final MctsResult result = player.search(new DefaultConnect4("Test1", "Test2"), 50, TimeUnit.MILLISECONDS);
+            Assert.assertEquals(true, result.getPlayouts() > 0);
+            Assert.assertEquals(true, result.getPlayoutsPerSecond() > 0);
+            Assert.assertEquals(true, result.getBestColumn() >= 1 && result.getBestColumn() <= 7);
+        }
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void testGameOver()  {
+        final Connect4 game = new DefaultConnect4("Test1", "Test2");
+        game.playAll("1212121", true);
+        try (MctsPlayer player = new MctsPlayer(1, MctsPlayer.Parallelism.TREE))  {
+            player.search(game, 10);
+        }
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testFreePositioned()  {
+        try (MctsPlayer player = new MctsPlayer(1, MctsPlayer.Parallelism.TREE))  {
+            player.search(new FreePositionedConnect4("Test1", "Test2"), 10);
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package tk.dmanstrator.connectfour.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tk.dmanstrator.connectfour.Connect4;
+import tk.dmanstrator.connectfour.DefaultConnect4;
+import tk.dmanstrator.connectfour.FreePositionedConnect4;
+import tk.dmanstrator.connectfour.MoveStatus;
+
+public class StripedGameMetricsTest {
+
+    @Test
+    public void testRecordGames() throws InterruptedException  {
+        final StripedGameMetrics metrics = new StripedGameMetrics();
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++)  {
+            threads.add(new Thread(() ->  {
+                for (int g = 0; g < 250; g++)  {
+                    final Connect4 game = new DefaultConnect4("Test1", "Test2");
+                    game.setMetrics(metrics);
+                    for (final char move : "12121281".toCharArray())  {  // 7 valid, 1 out of range
+                        game.play(move - '0');
+                    }
+                    game.play(3);  // game over
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (final Thread thread : threads)  {
+            thread.join();
+        }
+
+        Assert.assertEquals(7000, metrics.getValidMoves());
+        Assert.assertEquals(2000, metrics.getInvalidMoves());
+        Assert.assertEquals(1000, metrics.getMoves(MoveStatus.INVALID_RANGE));
+        Assert.assertEquals(1000, metrics.getMoves(MoveStatus.GAME_OVER));
+        Assert.assertEquals(1000, metrics.getWins());
+        Assert.assertEquals(0, metrics.getDraws());
+        Assert.assertEquals(9000, metrics.getMoveLatency().getCount());
+        Assert.assertEquals(1000, metrics.getGameLength().getCount());
+        Assert.assertEquals(7.0, metrics.getGameLength().getMean(), 0.0);
+        Assert.assertEquals(9, metrics.getMaxLogSize());  // 7 rounds, 1 invalid round and the win
+    }
+
+    @Test
+    public void testPositionTaken()  {
+        final StripedGameMetrics metrics = new StripedGameMetrics();
+        final Connect4 game = new FreePositionedConnect4("Test1", "Test2");
+        game.setMetrics(metrics);
+        game.play(1, 1);
+        game.play(1, 1);
+        Assert.assertEquals(1, metrics.getMoves(MoveStatus.POSITION_TAKEN));
+        Assert.assertEquals(1, metrics.getValidMoves());
+    }
+
+    @Test
+    public void testPlayFastIsNotRecorded()  {
+        final StripedGameMetrics metrics = new StripedGameMetrics();
+        final Connect4 game = new DefaultConnect4("Test1", "Test2");
+        game.setMetrics(metrics);
+        game.playFast(1);
+        Assert.assertEquals(0, metrics.getMoveLatency().getCount());
+    }
+
+    @Test
+    public void testHistogram()  {
+        final Histogram histogram = new Histogram();
+        for (int value = 0; value < 100; value++)  {
+            histogram.record(value);
+        }
+        Assert.assertEquals(100, histogram.getCount());
+        Assert.assertEquals(4950, histogram.getSum());
+        Assert.assertEquals(63, histogram.getPercentile(50));  // 32 to 63
+        Assert.assertEquals(127, histogram.getPercentile(99));
+        Assert.assertEquals(0, new Histogram().getPercentile(50));
+        histogram.record(Long.MAX_VALUE);
+        Assert.assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+    }
+
+}
@@ -0,0 +1,61 @@
+package tk.dmanstrator.connectfour.perft;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tk.dmanstrator.connectfour.board.BoardLayout;
+
+public class PerftTest {
+
+    @Test
+    public void testDefaultField()  {
+        final Perft perft = new Perft(4);
+        final PerftResult reference = perft.run(new ReferenceEngine(BoardLayout.DEFAULT), 5);
+        final PerftResult logged = perft.run(new Connect4Engine(BoardLayout.DEFAULT, Connect4Engine.Mode.LOGGED), 5);
+        final PerftResult fast = perft.run(new Connect4Engine(BoardLayout.DEFAULT, Connect4Engine.Mode.FAST), 5);
+
+        long expected = 1;
+        for (int ply = 1; ply <= 5; ply++)  {
+            expected *= 7;  // no column is full and nobody can win yet
+            Assert.assertEquals(expected, reference.getNodes(ply));
+            Assert.assertEquals(expected, fast.getNodes(ply));
+            Assert.assertEquals(0, fast.getWins(ply));
+        }
+        Assert.assertEquals(0, fast.findMismatch(reference));
+        Assert.assertEquals(0, logged.findMismatch(reference));
+        Assert.assertEquals(7 + 49 + 343 + 2401 + 16807, fast.getTotalNodes());
+    }
+
+    @Test
+    public void testFirstWins()  {
+        final PerftResult reference = new Perft(4).run(new ReferenceEngine(BoardLayout.DEFAULT), 7);
+        final PerftResult fast = new Perft(2).run(new Connect4Engine(BoardLayout.DEFAULT, Connect4Engine.Mode.FAST), 7);
+        Assert.assertEquals(823536, reference.getNodes(7));  // 7^7 minus the sequences filling a column with 7 pieces
+        Assert.assertEquals(0, fast.findMismatch(reference));
+        Assert.assertEquals(true, fast.getWins(7) > 0);
+        Assert.assertEquals(0, fast.getWins(6));
+    }
+
+    @Test
+    public void testWholeGame()  {
+        final BoardLayout layout = BoardLayout.of(3, 3, 3);
+        final PerftResult reference = new Perft(1).run(new ReferenceEngine(layout), 12);
+        final PerftResult fast = new Perft(3).run(new Connect4Engine(layout, Connect4Engine.Mode.FAST), 12);
+
+        Assert.assertEquals(12, fast.getDepth());
+        Assert.assertEquals(0, fast.findMismatch(reference));
+        Assert.assertEquals(78, fast.getNodes(4));  // 81 sequences minus the three filling a column first
+        Assert.assertEquals(0, fast.getNodes(10));
+        Assert.assertEquals(fast.getNodes(9), fast.getWins(9) + fast.getDraws(9));
+        Assert.assertEquals(true, fast.getWins(5) > 0);
+    }
+
+    @Test
+    public void testMismatch()  {
+        final PerftResult first = new PerftResult(new long[] {0, 7, 49}, new long[3], new long[3], 1);
+        final PerftResult second = new PerftResult(new long[] {0, 7, 48}, new long[3], new long[3], 1);
+        Assert.assertEquals(2, first.findMismatch(second));
+        Assert.assertEquals(0, first.findMismatch(first));
+    }
+
+}
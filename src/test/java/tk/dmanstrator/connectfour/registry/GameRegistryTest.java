@@ -0,0 +1,99 @@
+package tk.dmanstrator.connectfour.registry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import tk.dmanstrator.connectfour.RoundResult;
+
+public class GameRegistryTest {
+    private final AtomicLong time = new AtomicLong();
+    private GameRegistry registry;
+
+    @Before
+    public void setup()  {
+        registry = new GameRegistry(10, TimeUnit.SECONDS, time::get);
+    }
+
+    @Test
+    public void testCreateAndPlay()  {
+        Assert.assertEquals(true, registry.createGame("game", "Test1", "Test2"));
+        Assert.assertEquals(false, registry.createGame("game", "Test3", "Test4"));
+        final RoundResult result = registry.play("game", 4).get();
+        Assert.assertEquals("Position (4, 6) belongs now to player Test1", result.getMessage());
+        Assert.assertEquals("Test2", registry.withGame("game", game -> game.getCurrentPlayerName()).get());
+        Assert.assertEquals(false, registry.play("unknown", 4).isPresent());
+
+        Assert.assertEquals(true, registry.removeGame("game"));
+        Assert.assertEquals(false, registry.play("game", 4).isPresent());
+        Assert.assertEquals(false, registry.removeGame("game"));
+
+        final RegistryMetrics metrics = registry.getMetrics();
+        Assert.assertEquals(0, metrics.getActiveGames());
+        Assert.assertEquals(1, metrics.getCreatedGames());
+        Assert.assertEquals(1, metrics.getRemovedGames());
+        Assert.assertEquals(1, metrics.getMoves());
+        Assert.assertEquals(2, metrics.getAccesses());
+    }
+
+    @Test
+    public void testIdleEviction()  {
+        registry.createGame("idle", "Test1", "Test2");
+        registry.createGame("active", "Test1", "Test2");
+        time.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        registry.play("active", 1);
+        Assert.assertEquals(0, registry.evictIdleGames());
+
+        time.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        Assert.assertEquals(1, registry.evictIdleGames());
+        Assert.assertEquals(false, registry.containsGame("idle"));
+        Assert.assertEquals(true, registry.containsGame("active"));
+        Assert.assertEquals(1, registry.getMetrics().getEvictedGames());
+    }
+
+    @Test
+    public void testConcurrentGames() throws Exception  {
+        final int games = 64;
+        final int threads = 8;
+        for (int g = 0; g < games; g++)  {
+            registry.createGame("game" + g, "Test1", "Test2");
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try  {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++)  {
+                futures.add(executor.submit(() -> {
+                    // every thread plays one piece in every column of every game
+                    for (int column = 1; column <= 7; column++)  {
+                        for (int g = 0; g < games; g++)  {
+                            registry.play("game" + g, column);
+                        }
+                    }
+                }));
+            }
+            for (final Future<?> future : futures)  {
+                future.get();
+            }
+        }  finally  {
+            executor.shutdown();
+        }
+        for (int g = 0; g < games; g++)  {
+            final int rounds = registry.withGame("game" + g, game -> game.getPlayedRounds()
+                    + game.getGameLog().getInvalidEntries().size()).get();
+            final boolean over = registry.withGame("game" + g, game -> game.isGameOver()).get();
+            if (!over)  {
+                Assert.assertEquals("Every move should be either valid or invalid", threads * 7, rounds);
+            }
+        }
+        Assert.assertEquals(games * threads * 7, registry.getMetrics().getMoves());
+    }
+
+}
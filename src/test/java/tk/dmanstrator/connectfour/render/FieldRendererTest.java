@@ -0,0 +1,93 @@
+package tk.dmanstrator.connectfour.render;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tk.dmanstrator.connectfour.Connect4;
+import tk.dmanstrator.connectfour.DefaultConnect4;
+import tk.dmanstrator.connectfour.board.BoardLayout;
+
+public class FieldRendererTest {
+
+    private static final String NEWLINE = System.lineSeparator();
+
+    @Test
+    public void testJson()  {
+        final Connect4 game = new DefaultConnect4("Test1", "Test2");
+        game.play(3);
+        game.play(3);
+        game.play(4);
+        final String expected = "{\"width\":7,\"height\":6,\"rows\":"
+                + "[\"       \",\"       \",\"       \",\"       \",\"  y    \",\"  rr   \"]}";
+        Assert.assertEquals(expected, decode(game.getRenderedField(RenderFormat.JSON)));
+    }
+
+    @Test
+    public void testAnsi()  {
+        final FieldRenderer renderer = new FieldRenderer(BoardLayout.of(2, 2, 2), RenderFormat.ANSI);
+        renderer.set(0, 0, 0);
+        renderer.set(1, 1, 0);
+        final String empty = "\u001B[90m\u25CB\u001B[0m";
+        final String red = "\u001B[31m\u25CF\u001B[0m";
+        final String yellow = "\u001B[33m\u25CF\u001B[0m";
+        final String expected =
+                "\u2502" + empty + empty + "\u2502" + NEWLINE
+                + "\u2502" + red + yellow + "\u2502" + NEWLINE
+                + "\u2514\u2500\u2500\u2518";
+        Assert.assertEquals(expected, renderer.toString());
+    }
+
+    @Test
+    public void testReturnedDocumentsAreNotChanged()  {
+        final Connect4 game = new DefaultConnect4("Test1", "Test2");
+        game.play(1);
+        final byte[] before = game.getRenderedField(RenderFormat.PLAIN);
+        final ByteBuffer buffer = game.getRenderedFieldBuffer(RenderFormat.PLAIN);
+        final String beforeText = decode(before);
+
+        game.play(2);
+        Assert.assertEquals(beforeText, decode(before));
+        Assert.assertEquals(true, buffer.isReadOnly());
+        Assert.assertEquals(beforeText, StandardCharsets.UTF_8.decode(buffer).toString());
+        Assert.assertEquals(game.toString(), decode(game.getRenderedField(RenderFormat.PLAIN)));
+        Assert.assertEquals(false, beforeText.equals(game.toString()));
+    }
+
+    @Test
+    public void testUndoAndReset()  {
+        final Connect4 game = new DefaultConnect4("Test1", "Test2");
+        final String empty = game.getCurrentField();
+        final String emptyJson = decode(game.getRenderedField(RenderFormat.JSON));
+        game.play(4);
+        final String oneRound = game.getCurrentField();
+        game.play(5);
+
+        game.undo();
+        Assert.assertEquals(oneRound, game.getCurrentField());
+        game.redo();
+        game.reset();
+        Assert.assertEquals(empty, game.getCurrentField());
+        Assert.assertEquals(emptyJson, decode(game.getRenderedField(RenderFormat.JSON)));
+    }
+
+    @Test
+    public void testCreatedFromPlayedRounds()  {
+        final Connect4 game = new DefaultConnect4("Test1", "Test2", BoardLayout.of(11, 10, 4));
+        game.play(1);
+        game.play(11);
+        game.play(11);
+        final String[] lines = game.getCurrentField().split(NEWLINE);
+        Assert.assertEquals(11, lines.length);
+        Assert.assertEquals("  1234567891011", lines[0]);
+        Assert.assertEquals("9[          r]", lines[9]);
+        Assert.assertEquals("10[r         y]", lines[10]);
+    }
+
+    private static String decode(final byte[] bytes)  {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
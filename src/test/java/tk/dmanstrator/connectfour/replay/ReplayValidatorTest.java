@@ -0,0 +1,75 @@
+package tk.dmanstrator.connectfour.replay;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tk.dmanstrator.connectfour.MoveStatus;
+import tk.dmanstrator.connectfour.ReplayResult;
+import tk.dmanstrator.connectfour.board.BoardLayout;
+
+public class ReplayValidatorTest {
+
+    @Test
+    public void testValidate() throws IOException  {
+        final StringBuilder records = new StringBuilder();
+        for (int i = 0; i < 10_000; i++)  {
+            records.append("1212121\n")  // first player wins
+                .append("12121232\n")  // second player wins
+                .append("4453221\n")  // unfinished
+                .append('\n')  // skipped
+                .append("1111111\n");  // column full
+        }
+        records.append("12x");
+
+        final Map<Long, ReplayResult> invalid = new ConcurrentHashMap<>();
+        final ValidationResult result = new ReplayValidator(4, BoardLayout.DEFAULT)
+                .validate(new StringReader(records.toString()), (record, line) -> invalid.put(line, record));
+        Assert.assertEquals(40_001, result.getRecords());
+        Assert.assertEquals(10_000, result.getFirstPlayerWins());
+        Assert.assertEquals(10_000, result.getSecondPlayerWins());
+        Assert.assertEquals(10_000, result.getUnfinished());
+        Assert.assertEquals(0, result.getDraws());
+        Assert.assertEquals(10_001, result.getInvalid());
+        Assert.assertEquals(10_000, result.getInvalid(MoveStatus.COLUMN_FULL));
+        Assert.assertEquals(1, result.getInvalid(MoveStatus.INVALID_RANGE));
+        Assert.assertEquals(10_000L * (7 + 8 + 7), result.getRounds());
+
+        Assert.assertEquals(10_001, invalid.size());
+        Assert.assertEquals(7, invalid.get(5L).getFailedPly());
+        Assert.assertEquals(MoveStatus.INVALID_RANGE, invalid.get(50_001L).getStatus());
+    }
+
+    @Test
+    public void testValidateStream() throws IOException  {
+        final byte[] records = "1212121\r\n326457326432225776652647731137115443551461\r\n"
+                .getBytes(StandardCharsets.US_ASCII);
+        final ValidationResult result = new ReplayValidator(1, BoardLayout.DEFAULT)
+                .validate(new ByteArrayInputStream(records));
+        Assert.assertEquals(2, result.getRecords());
+        Assert.assertEquals(1, result.getFirstPlayerWins());
+        Assert.assertEquals(1, result.getDraws());
+        Assert.assertEquals(0, result.getInvalid());
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void testFailingConsumer() throws IOException  {
+        new ReplayValidator(2, BoardLayout.DEFAULT).validate(new StringReader("0\n"), (record, line) ->  {
+            throw new IllegalStateException("Test");
+        });
+    }
+
+    @Test(expected=StackOverflowError.class)
+    public void testFailingConsumerError() throws IOException  {
+        new ReplayValidator(2, BoardLayout.DEFAULT).validate(new StringReader("1\n0\n"), (record, line) ->  {
+            throw new StackOverflowError("Test");
+        });
+    }
+
+}
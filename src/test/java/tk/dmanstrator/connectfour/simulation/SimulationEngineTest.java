@@ -0,0 +1,56 @@
+package tk.dmanstrator.connectfour.simulation;
+
+import java.util.SplittableRandom;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tk.dmanstrator.connectfour.Connect4;
+import tk.dmanstrator.connectfour.DefaultConnect4;
+import tk.dmanstrator.connectfour.board.BoardLayout;
+import tk.dmanstrator.connectfour.solver.Solver;
+
+public class SimulationEngineTest {
+
+    @Test
+    public void testRandomGames()  {
+        final SimulationResult result = new SimulationEngine(4)
+                .run(10_001, BoardLayout.DEFAULT, RandomPolicy::new, RandomPolicy::new, 13);
+        Assert.assertEquals(10_001, result.getGames());
+        Assert.assertEquals(4, result.getWorkers().size());
+        Assert.assertEquals(result.getGames(),
+                result.getFirstPlayerWins() + result.getSecondPlayerWins() + result.getDraws());
+        Assert.assertEquals("First player should win more random games",
+                true, result.getFirstPlayerWins() > result.getSecondPlayerWins());
+        Assert.assertEquals(true, result.getAverageRounds() >= 7 && result.getAverageRounds() <= 42);
+
+        final SimulationResult repeated = new SimulationEngine(4)
+                .run(10_001, BoardLayout.DEFAULT, RandomPolicy::new, RandomPolicy::new, 13);
+        Assert.assertEquals("Same seed should play the same games", result.getRounds(), repeated.getRounds());
+    }
+
+    @Test
+    public void testWeightedAgainstRandom()  {
+        final BoardLayout layout = BoardLayout.of(9, 7, 5);
+        final SimulationResult result = new SimulationEngine(2).run(2000, layout,
+                () -> WeightedPolicy.centerWeighted(9), RandomPolicy::new, 5);
+        Assert.assertEquals(2000, result.getGames());
+        Assert.assertEquals(true, result.getFirstPlayerWins() > result.getSecondPlayerWins());
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void testInvalidPolicy()  {
+        new SimulationEngine(1).run(1, BoardLayout.DEFAULT, () -> (game, random) -> 0, RandomPolicy::new, 1);
+    }
+
+    @Test
+    public void testSolverPolicy()  {
+        final Connect4 game = new DefaultConnect4("Test1", "Test2");
+        for (final char move : "121212".toCharArray())  {
+            game.play(move - '0');
+        }
+        final MovePolicy policy = new SolverPolicy(new Solver());
+        Assert.assertEquals(1, policy.selectColumn(game, new SplittableRandom(1)));
+    }
+
+}
@@ -0,0 +1,94 @@
+package tk.dmanstrator.connectfour.solver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tk.dmanstrator.connectfour.DefaultConnect4;
+
+public class EndgameTableTest {
+    private static final String MOVES = "22525762534622441115633653436713";
+
+    private final Solver plainSolver = new Solver();
+
+    @Test
+    public void testGenerateAndLookup() throws IOException  {
+        final DefaultConnect4 connect4 = new DefaultConnect4("Test1", "Test2");
+        connect4.playAll(MOVES, true);
+        final Position root = Position.of(connect4.getBoard(), connect4.getPlayedRounds());
+        final int maxEmpty = Position.SIZE - root.getMoves();
+
+        final Path file = Files.createTempFile("connect4", ".endgame");
+        try  {
+            final long count = new EndgameTableGenerator(2).generate(file, root, maxEmpty);
+            final EndgameTable table = EndgameTable.open(file);
+            Assert.assertEquals(count, table.size());
+            Assert.assertEquals(maxEmpty, table.getMaxEmpty());
+
+            final Random random = new Random(7);
+            for (int game = 0; game < 20; game++)  {
+                final DefaultConnect4 current = connect4.fork();
+                while (!current.isGameOver())  {
+                    final EndgameResult result = table.lookup(current);
+                    final SolverResult expected = plainSolver.solve(current);
+                    Assert.assertEquals(expected.getScore(), result.getScore(current.getPlayedRounds()));
+                    Assert.assertEquals(expected.getScore(), scoreAfter(current, result.getBestColumn()));
+
+                    int column = random.nextInt(Position.WIDTH) + 1;
+                    while (!current.canPlay(column))  {
+                        column = random.nextInt(Position.WIDTH) + 1;
+                    }
+                    current.play(column);
+                }
+            }
+
+            final Solver solver = new Solver();
+            solver.setEndgameTable(table);
+            final SolverResult fromTable = solver.solve(connect4);
+            Assert.assertEquals("Table positions must not be searched", 0, fromTable.getNodeCount());
+            Assert.assertEquals(plainSolver.solve(connect4).getScore(), fromTable.getScore());
+
+            final DefaultConnect4 earlier = connect4.fork();
+            earlier.undo();
+            earlier.undo();
+            Assert.assertEquals(null, table.lookup(earlier));
+            Assert.assertEquals(plainSolver.solve(earlier).getScore(), solver.solve(earlier).getScore());
+        }  finally  {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testScore()  {
+        final EndgameResult win = new EndgameResult(EndgameResult.Outcome.WIN, 1, 1);
+        final EndgameResult loss = new EndgameResult(EndgameResult.Outcome.LOSS, 2, 1);
+        Assert.assertEquals((Position.SIZE + 1 - 40) / 2, win.getScore(40));
+        Assert.assertEquals(-(Position.SIZE + 1 - 40) / 2, loss.getScore(39));  // the opponent wins with move 41
+        Assert.assertEquals(0, new EndgameResult(EndgameResult.Outcome.DRAW, 3, 1).getScore(39));
+    }
+
+    @Test(expected=IOException.class)
+    public void testInvalidFile() throws IOException  {
+        final Path file = Files.createTempFile("connect4", ".endgame");
+        try  {
+            Files.write(file, new byte[64]);
+            EndgameTable.open(file);
+        }  finally  {
+            Files.delete(file);
+        }
+    }
+
+    private int scoreAfter(final DefaultConnect4 game, final int column)  {
+        final DefaultConnect4 copy = game.fork();
+        copy.play(column);
+        if (copy.isGameOver())  {
+            return copy.isDraw() ? 0 : (Position.SIZE + 2 - copy.getPlayedRounds()) / 2;
+        }
+        return -plainSolver.solve(copy).getScore();
+    }
+
+}
@@ -0,0 +1,69 @@
+package tk.dmanstrator.connectfour.solver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tk.dmanstrator.connectfour.DefaultConnect4;
+
+public class OpeningBookTest {
+    private static final String MOVES = "2252576253462244111563365";
+
+    @Test
+    public void testGenerateAndLookup() throws IOException  {
+        final DefaultConnect4 connect4 = new DefaultConnect4("Test1", "Test2");
+        for (final char move : MOVES.toCharArray())  {
+            connect4.play(move - '0');
+        }
+        final Position root = Position.of(connect4.getBoard(), connect4.getPlayedRounds());
+
+        final Path file = Files.createTempFile("connect4", ".book");
+        try  {
+            final long count = new OpeningBookGenerator(2).generate(file, root, root.getMoves() + 2);
+            final OpeningBook book = OpeningBook.open(file);
+            Assert.assertEquals(count, book.size());
+            Assert.assertEquals(root.getMoves() + 2, book.getMaxPly());
+
+            final SolverResult expected = new Solver().solve(connect4);
+            final SolverResult fromBook = book.lookup(connect4);
+            Assert.assertEquals(expected.getScore(), fromBook.getScore());
+            Assert.assertEquals(expected.getBestColumn(), fromBook.getBestColumn());
+
+            for (int c = 1; c <= Position.WIDTH; c++)  {
+                final DefaultConnect4 child = new DefaultConnect4("Test1", "Test2");
+                for (final char move : (MOVES + c).toCharArray())  {
+                    child.play(move - '0');
+                }
+                if (!child.isGameOver() && child.getPlayedRounds() == MOVES.length() + 1)  {
+                    Assert.assertEquals(new Solver().solve(child).getScore(), book.lookup(child).getScore());
+                }
+            }
+
+            final Solver solver = new Solver();
+            solver.setOpeningBook(book);
+            Assert.assertEquals("Book positions must not be searched", 0, solver.solve(connect4).getNodeCount());
+
+            connect4.play(1);
+            connect4.play(1);
+            connect4.play(1);
+            Assert.assertEquals(null, book.lookup(connect4));
+        }  finally  {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected=IOException.class)
+    public void testInvalidFile() throws IOException  {
+        final Path file = Files.createTempFile("connect4", ".book");
+        try  {
+            Files.write(file, new byte[64]);
+            OpeningBook.open(file);
+        }  finally  {
+            Files.delete(file);
+        }
+    }
+
+}
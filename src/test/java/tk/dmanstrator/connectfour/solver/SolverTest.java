@@ -0,0 +1,121 @@
+package tk.dmanstrator.connectfour.solver;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import tk.dmanstrator.connectfour.DefaultConnect4;
+import tk.dmanstrator.connectfour.board.BitBoard;
+
+public class SolverTest {
+    private static final String PLAYER1 = "Test1";
+    private static final String PLAYER2 = "Test2";
+
+    private Solver solver;
+
+    @Before
+    public void setup()  {
+        solver = new Solver();
+    }
+
+    @Test
+    public void testImmediateWin()  {
+        final DefaultConnect4 connect4 = new DefaultConnect4(PLAYER1, PLAYER2);
+        connect4.playAll("121212", true);
+        final SolverResult result = solver.solve(connect4);
+        Assert.assertEquals(1, result.getBestColumn());
+        Assert.assertEquals((Position.SIZE + 1 - 6) / 2, result.getScore());
+    }
+
+    @Test
+    public void testKnownPosition()  {
+        final DefaultConnect4 connect4 = new DefaultConnect4(PLAYER1, PLAYER2);
+        connect4.playAll("2252576253462244111563365343671351441", true);
+        final SolverResult result = solver.solve(connect4);
+        Assert.assertEquals(-1, result.getScore());
+        Assert.assertEquals(true, result.getNodeCount() > 0);
+    }
+
+    @Test
+    public void testMirroredPosition()  {
+        final String moves = "2252576253462244111563365343671351441";
+        final StringBuilder mirroredMoves = new StringBuilder();
+        for (final char move : moves.toCharArray())  {
+            mirroredMoves.append((char) ('8' - move + '0'));
+        }
+        final DefaultConnect4 connect4 = new DefaultConnect4(PLAYER1, PLAYER2);
+        connect4.playAll(moves, true);
+        final DefaultConnect4 mirrored = new DefaultConnect4(PLAYER1, PLAYER2);
+        mirrored.playAll(mirroredMoves.toString(), true);
+        final Position position = Position.of(connect4.getBoard(), connect4.getPlayedRounds());
+        final Position mirroredPosition = Position.of(mirrored.getBoard(), mirrored.getPlayedRounds());
+
+        Assert.assertEquals(position.canonicalKey(), mirroredPosition.canonicalKey());
+        Assert.assertEquals(position.key(), mirroredPosition.mirrorKey());
+        Assert.assertEquals(position.canonicalHash(), mirroredPosition.canonicalHash());
+        Assert.assertEquals(connect4.getCanonicalHash(), mirrored.getCanonicalHash());
+        Assert.assertEquals(false, connect4.isPositionMirrored() == mirrored.isPositionMirrored());
+        Assert.assertEquals(position.getMirrorHash(), new Position(position.getCurrent(), position.getMask(),
+                position.getMoves(), position.getHash()).getMirrorHash());
+        Assert.assertEquals(solver.solve(connect4).getScore(), solver.solve(mirrored).getScore());
+    }
+
+    @Test
+    public void testAgainstMinimax()  {
+        final Random random = new Random(4);
+        int solved = 0;
+        while (solved < 50)  {
+            final DefaultConnect4 connect4 = new DefaultConnect4(PLAYER1, PLAYER2);
+            while (connect4.getPlayedRounds() < 32 && !connect4.isGameOver())  {
+                connect4.play(random.nextInt(Position.WIDTH) + 1);
+            }
+            if (connect4.isGameOver())  {
+                continue;
+            }
+            final Position position = Position.of(connect4.getBoard(), connect4.getPlayedRounds());
+            final SolverResult result = solver.solve(connect4);
+            Assert.assertEquals(minimax(position), result.getScore());
+
+            position.playColumn(result.getBestColumn() - 1);
+            final int childScore = position.getMoves() == Position.SIZE || isLost(position)
+                    ? -result.getScore()
+                    : minimax(position);
+            Assert.assertEquals("Best column has to reach the score", -result.getScore(), childScore);
+            solved++;
+        }
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void testGameOver()  {
+        final DefaultConnect4 connect4 = new DefaultConnect4(PLAYER1, PLAYER2);
+        connect4.playAll("1212121", true);
+        solver.solve(connect4);
+    }
+
+    private static boolean isLost(final Position position)  {
+        return BitBoard.isAlignment(position.getCurrent() ^ position.getMask());
+    }
+
+    private static int minimax(final Position position)  {
+        if (position.getMoves() == Position.SIZE)  {
+            return 0;
+        }
+        for (int c = 0; c < Position.WIDTH; c++)  {
+            if (position.canPlay(c) && position.isWinningMove(c))  {
+                return (Position.SIZE + 1 - position.getMoves()) / 2;
+            }
+        }
+        int best = -Position.SIZE;
+        for (int c = 0; c < Position.WIDTH; c++)  {
+            if (position.canPlay(c))  {
+                final Position child = new Position(position);
+                child.playColumn(c);
+                best = Math.max(best, -minimax(child));
+            }
+        }
+        return best;
+    }
+
+}
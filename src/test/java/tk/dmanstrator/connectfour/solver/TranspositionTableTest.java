@@ -0,0 +1,62 @@
+package tk.dmanstrator.connectfour.solver;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tk.dmanstrator.connectfour.DefaultConnect4;
+
+public class TranspositionTableTest {
+
+    @Test
+    public void testStoreAndProbe()  {
+        final TranspositionTable table = new TranspositionTable(1024);
+        Assert.assertEquals(128, table.getCapacity());
+
+        final long hash = 0x1234_5678_9ABC_DEF0L;
+        Assert.assertEquals(TranspositionTable.NONE, table.probe(hash));
+        table.store(hash, TranspositionTable.LOWER, -7, 3, 10);
+        Assert.assertEquals(TranspositionTable.LOWER, table.probe(hash));
+        Assert.assertEquals(-7, table.getScore());
+        Assert.assertEquals(3, table.getMove());
+        Assert.assertEquals(1, table.getHits());
+        Assert.assertEquals(1, table.getMisses());
+    }
+
+    @Test
+    public void testReplacement()  {
+        final TranspositionTable table = new TranspositionTable(1024);
+        final long hash = 5L;
+        final long sameSlot = hash + (1L << 40);
+        table.store(hash, TranspositionTable.EXACT, 1, -1, 10);
+
+        table.store(sameSlot, TranspositionTable.EXACT, 2, -1, 20);
+        Assert.assertEquals("Deeper entry must not replace entry closer to the root",
+                1, table.getRejections());
+        Assert.assertEquals(TranspositionTable.EXACT, table.probe(hash));
+
+        table.newSearch();
+        table.store(sameSlot, TranspositionTable.EXACT, 2, -1, 20);
+        Assert.assertEquals("Entries of an older search can be replaced",
+                1, table.getOverwrites());
+        Assert.assertEquals(TranspositionTable.NONE, table.probe(hash));
+        Assert.assertEquals(TranspositionTable.EXACT, table.probe(sameSlot));
+    }
+
+    @Test
+    public void testIncrementalHash()  {
+        final DefaultConnect4 first = new DefaultConnect4("Test1", "Test2");
+        final DefaultConnect4 second = new DefaultConnect4("Test1", "Test2");
+        final Position position = new Position();
+        for (final char move : "4433".toCharArray())  {
+            first.play(move - '0');
+            position.playColumn(move - '1');
+        }
+        for (final char move : "3344".toCharArray())  {
+            second.play(move - '0');
+        }
+        Assert.assertEquals(first.getPositionHash(), position.getHash());
+        Assert.assertEquals("Transpositions must have the same hash",
+                first.getPositionHash(), second.getPositionHash());
+    }
+
+}